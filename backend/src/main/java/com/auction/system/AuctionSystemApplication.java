@@ -1,5 +1,6 @@
 package com.auction.system;
 
+import com.auction.system.network.ssl.TlsSessionTicketSettings;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -22,7 +23,9 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 public class AuctionSystemApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(AuctionSystemApplication.class, args);
+        SpringApplication application = new SpringApplication(AuctionSystemApplication.class);
+        application.addListeners(new TlsSessionTicketSettings());
+        application.run(args);
         System.out.println("\n" +
                 "╔═══════════════════════════════════════════════════════════╗\n" +
                 "║     Real-Time Auction System - Backend Started           ║\n" +
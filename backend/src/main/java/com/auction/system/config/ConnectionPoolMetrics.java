@@ -0,0 +1,177 @@
+package com.auction.system.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Connection Pool Metrics
+ * Hikari metrics tracker recording connection acquire/usage times per pool.
+ *
+ * Registered on every HikariDataSource before the pool starts, so the admin
+ * pool monitor can show active/idle/pending counts plus acquire-time
+ * histograms without pulling in Micrometer.
+ */
+@Component
+@Slf4j
+public class ConnectionPoolMetrics implements MetricsTrackerFactory, BeanPostProcessor {
+
+    /** Histogram bucket upper bounds in microseconds; the last bucket is open-ended */
+    private static final long[] BUCKET_BOUNDS_MICROS = {100, 500, 1_000, 5_000, 10_000, 50_000, 100_000, 500_000, 1_000_000};
+    private static final String[] BUCKET_LABELS = {"<100us", "<500us", "<1ms", "<5ms", "<10ms", "<50ms", "<100ms", "<500ms", "<1s", ">=1s"};
+
+    private final Map<String, PoolMetrics> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null) {
+            hikari.setMetricsTrackerFactory(this);
+            log.info("Connection pool metrics attached to datasource '{}'", beanName);
+        }
+        return bean;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        PoolMetrics metrics = new PoolMetrics(poolName, poolStats);
+        pools.put(poolName, metrics);
+        return metrics;
+    }
+
+    /**
+     * Snapshot of every tracked pool, keyed by pool name
+     */
+    public Map<String, Map<String, Object>> getSnapshot() {
+        Map<String, Map<String, Object>> snapshot = new LinkedHashMap<>();
+        pools.forEach((name, metrics) -> snapshot.put(name, metrics.toMap()));
+        return snapshot;
+    }
+
+    /**
+     * Reset histograms and counters (pool gauges are live and unaffected)
+     */
+    public void reset() {
+        pools.values().forEach(PoolMetrics::reset);
+    }
+
+    /**
+     * Per-pool tracker: gauges come from Hikari's PoolStats, timings from the callbacks
+     */
+    static class PoolMetrics implements IMetricsTracker {
+
+        private final String poolName;
+        private final PoolStats poolStats;
+
+        private final Histogram acquire = new Histogram();
+        private final Histogram usage = new Histogram();
+        private final AtomicLong connectionsCreated = new AtomicLong(0);
+        private final AtomicLong timeouts = new AtomicLong(0);
+
+        PoolMetrics(String poolName, PoolStats poolStats) {
+            this.poolName = poolName;
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquire.record(TimeUnit.NANOSECONDS.toMicros(elapsedAcquiredNanos));
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usage.record(TimeUnit.MILLISECONDS.toMicros(elapsedBorrowedMillis));
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            connectionsCreated.incrementAndGet();
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.incrementAndGet();
+        }
+
+        void reset() {
+            acquire.reset();
+            usage.reset();
+            timeouts.set(0);
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("poolName", poolName);
+            map.put("activeConnections", poolStats.getActiveConnections());
+            map.put("idleConnections", poolStats.getIdleConnections());
+            map.put("pendingThreads", poolStats.getPendingThreads());
+            map.put("totalConnections", poolStats.getTotalConnections());
+            map.put("maxConnections", poolStats.getMaxConnections());
+            map.put("minConnections", poolStats.getMinConnections());
+            map.put("connectionsCreated", connectionsCreated.get());
+            map.put("connectionTimeouts", timeouts.get());
+            map.put("acquireTime", acquire.toMap());
+            map.put("usageTime", usage.toMap());
+            return map;
+        }
+    }
+
+    /**
+     * Fixed-bucket latency histogram (lock-free)
+     */
+    static class Histogram {
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_LABELS.length);
+        private final AtomicLong count = new AtomicLong(0);
+        private final AtomicLong totalMicros = new AtomicLong(0);
+        private final AtomicLong maxMicros = new AtomicLong(0);
+
+        void record(long micros) {
+            int bucket = BUCKET_BOUNDS_MICROS.length;
+            for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++) {
+                if (micros < BUCKET_BOUNDS_MICROS[i]) {
+                    bucket = i;
+                    break;
+                }
+            }
+            buckets.incrementAndGet(bucket);
+            count.incrementAndGet();
+            totalMicros.addAndGet(micros);
+            maxMicros.accumulateAndGet(micros, Math::max);
+        }
+
+        void reset() {
+            for (int i = 0; i < buckets.length(); i++) {
+                buckets.set(i, 0);
+            }
+            count.set(0);
+            totalMicros.set(0);
+            maxMicros.set(0);
+        }
+
+        Map<String, Object> toMap() {
+            long samples = count.get();
+            Map<String, Long> distribution = new LinkedHashMap<>();
+            for (int i = 0; i < BUCKET_LABELS.length; i++) {
+                distribution.put(BUCKET_LABELS[i], buckets.get(i));
+            }
+
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", samples);
+            map.put("avgMicros", samples > 0 ? totalMicros.get() / samples : 0);
+            map.put("maxMicros", maxMicros.get());
+            map.put("buckets", distribution);
+            return map;
+        }
+    }
+}
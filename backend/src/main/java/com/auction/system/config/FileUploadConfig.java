@@ -7,6 +7,9 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 /**
  * File Upload Configuration
  * Configures static resource handlers for uploaded files
+ *
+ * Auction images (/uploads/auction-images/**) are served by
+ * ImageServingController, which takes precedence over this handler.
  */
 @Configuration
 public class FileUploadConfig implements WebMvcConfigurer {
@@ -0,0 +1,111 @@
+package com.auction.system.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replica Lag Monitor
+ * Polls the read replica's replay lag and decides whether reads may use it.
+ *
+ * Lag is 0 when the replica has replayed everything it received (an idle
+ * primary does not count as lag), otherwise the age of the last replayed
+ * transaction. The replica is usable while the lag is at most
+ * datasource.replica.max-lag-ms and the last check succeeded; an unreachable
+ * replica is treated as infinitely behind.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final DataSource replicaDataSource;
+    private final long maxLagMillis;
+
+    private volatile boolean usable = false;
+    private volatile long lagMillis = -1;
+    private volatile long lastCheckedAt = 0;
+    private volatile String lastError;
+
+    // Monitoring fields
+    private final AtomicLong checks = new AtomicLong(0);
+    private final AtomicLong failedChecks = new AtomicLong(0);
+    private final AtomicLong lagExceeded = new AtomicLong(0);
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagMillis) {
+        this.replicaDataSource = replicaDataSource;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    /**
+     * Measure replica lag
+     * Runs every 2 seconds (datasource.replica.lag-check-interval-ms)
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:2000}")
+    public void check() {
+        checks.incrementAndGet();
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(2);
+            try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                lagMillis = rs.getLong(1);
+            }
+            lastError = null;
+            setUsable(lagMillis <= maxLagMillis);
+            if (!usable) {
+                lagExceeded.incrementAndGet();
+            }
+        } catch (Exception e) {
+            failedChecks.incrementAndGet();
+            lagMillis = -1;
+            lastError = e.getMessage();
+            setUsable(false);
+        }
+        lastCheckedAt = System.currentTimeMillis();
+    }
+
+    private void setUsable(boolean nowUsable) {
+        if (usable != nowUsable) {
+            if (nowUsable) {
+                log.info("Read replica usable (lag {} ms)", lagMillis);
+            } else {
+                log.warn("Read replica unusable, reads fall back to the primary (lag {} ms{})", lagMillis,
+                        lastError != null ? ", " + lastError : "");
+            }
+        }
+        usable = nowUsable;
+    }
+
+    /**
+     * Whether read-only transactions may be sent to the replica right now
+     */
+    public boolean isUsable() {
+        return usable;
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("usable", usable);
+        stats.put("lagMillis", lagMillis);
+        stats.put("maxLagMillis", maxLagMillis);
+        stats.put("lastCheckedAt", lastCheckedAt);
+        stats.put("lastError", lastError);
+        stats.put("checks", checks.get());
+        stats.put("failedChecks", failedChecks.get());
+        stats.put("lagExceeded", lagExceeded.get());
+        return stats;
+    }
+}
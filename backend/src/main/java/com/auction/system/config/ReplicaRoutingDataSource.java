@@ -0,0 +1,75 @@
+package com.auction.system.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replica Routing DataSource
+ * Sends connections for @Transactional(readOnly = true) service methods to the
+ * read replica and everything else to the primary.
+ *
+ * Read-only transactions that Spring Data opens on its own (a repository
+ * called outside any service transaction) stay on the primary, so code that
+ * reads and then writes without a transaction never sees replica lag. When
+ * the lag monitor marks the replica unusable, reads fall back to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the key is only known once
+ * the transaction is set up, after the transaction manager asks for a connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private static final String REPOSITORY_TRANSACTION_PREFIX = "org.springframework.data.";
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    // Monitoring fields
+    private final AtomicLong primaryConnections = new AtomicLong(0);
+    private final AtomicLong replicaConnections = new AtomicLong(0);
+    private final AtomicLong fallbacks = new AtomicLong(0);
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!isReadOnlyServiceTransaction()) {
+            primaryConnections.incrementAndGet();
+            return PRIMARY;
+        }
+        if (!lagMonitor.isUsable()) {
+            fallbacks.incrementAndGet();
+            primaryConnections.incrementAndGet();
+            return PRIMARY;
+        }
+        replicaConnections.incrementAndGet();
+        return REPLICA;
+    }
+
+    private static boolean isReadOnlyServiceTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name == null || !name.startsWith(REPOSITORY_TRANSACTION_PREFIX);
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("primaryConnections", primaryConnections.get());
+        stats.put("replicaConnections", replicaConnections.get());
+        stats.put("fallbacksToPrimary", fallbacks.get());
+        stats.put("replica", lagMonitor.getStats());
+        return stats;
+    }
+}
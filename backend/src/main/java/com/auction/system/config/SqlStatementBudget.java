@@ -0,0 +1,113 @@
+package com.auction.system.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * SQL Statement Budget
+ * Counts the SQL statements Hibernate issues for each HTTP request and
+ * flags requests that exceed the configured budget (catches N+1 regressions)
+ * Budget: sql.statement.budget (default 10)
+ */
+@Configuration
+@Slf4j
+public class SqlStatementBudget {
+
+    private static final ThreadLocal<int[]> STATEMENT_COUNT = new ThreadLocal<>();
+
+    @Value("${sql.statement.budget:10}")
+    private int budget;
+
+    /**
+     * Register the counting inspector with Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        StatementInspector inspector = sql -> {
+            int[] count = STATEMENT_COUNT.get();
+            if (count != null) {
+                count[0]++;
+            }
+            return sql;
+        };
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    /**
+     * Per-request counting window
+     */
+    @Bean
+    public OncePerRequestFilter sqlStatementBudgetFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request,
+                                            HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                int[] count = new int[1];
+                STATEMENT_COUNT.set(count);
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    STATEMENT_COUNT.remove();
+                }
+
+                if (count[0] > budget) {
+                    log.warn("SQL budget exceeded: {} {} issued {} statements (budget {})",
+                            request.getMethod(), request.getRequestURI(), count[0], budget);
+                } else {
+                    log.debug("{} {} issued {} SQL statements", request.getMethod(),
+                            request.getRequestURI(), count[0]);
+                }
+            }
+        };
+    }
+
+    /**
+     * Run an action in its own counting window and return the statements it issued
+     * (lets tests hold endpoints to the budget)
+     */
+    public static int measure(CountedAction action) throws Exception {
+        int[] outer = STATEMENT_COUNT.get();
+        int[] count = new int[1];
+        STATEMENT_COUNT.set(count);
+        try {
+            action.run();
+        } finally {
+            if (outer != null) {
+                outer[0] += count[0];
+                STATEMENT_COUNT.set(outer);
+            } else {
+                STATEMENT_COUNT.remove();
+            }
+        }
+        return count[0];
+    }
+
+    /**
+     * Statements counted so far on the current request thread (-1 outside a request)
+     */
+    public static int currentCount() {
+        int[] count = STATEMENT_COUNT.get();
+        return count != null ? count[0] : -1;
+    }
+
+    /**
+     * Work measured by {@link #measure}
+     */
+    @FunctionalInterface
+    public interface CountedAction {
+        void run() throws Exception;
+    }
+}
@@ -4,6 +4,7 @@ import com.auction.system.dto.AuctionCreateRequest;
 import com.auction.system.entity.Auction;
 import com.auction.system.entity.User;
 import com.auction.system.repository.UserRepository;
+import com.auction.system.security.AuthenticatedUser;
 import com.auction.system.service.AuctionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -292,12 +294,13 @@ public class AuctionController {
      * GET /api/auctions/my-auctions
      */
     @GetMapping("/my-auctions")
-    public ResponseEntity<List<Auction>> getMyAuctions(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<List<Auction>> getMyAuctions(@AuthenticationPrincipal AuthenticatedUser principal) {
         log.info("REST API: Get my auctions");
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
         try {
-            // Extract user ID from JWT token
-            Long userId = extractUserIdFromToken(token);
-            List<Auction> auctions = auctionService.getAuctionsBySeller(userId);
+            List<Auction> auctions = auctionService.getAuctionsBySellerId(principal.getUserId());
             return ResponseEntity.ok(auctions);
         } catch (Exception e) {
             log.error("Error fetching my auctions", e);
@@ -342,15 +345,4 @@ public class AuctionController {
                     .body(java.util.Map.of("error", e.getMessage()));
         }
     }
-
-    // Helper method to extract user ID from JWT token
-    private Long extractUserIdFromToken(String token) {
-        // Remove "Bearer " prefix
-        if (token != null && token.startsWith("Bearer ")) {
-            token = token.substring(7);
-        }
-        // In real implementation, decode JWT and extract userId
-        // For now, returning a placeholder
-        return 1L;
-    }
 }
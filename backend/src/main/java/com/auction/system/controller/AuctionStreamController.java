@@ -0,0 +1,89 @@
+package com.auction.system.controller;
+
+import com.auction.system.service.AuctionStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Auction Stream Controller
+ * Read-only Server-Sent Events streams of auction events (NEW_BID,
+ * AUCTION_UPDATE, AUCTION_ENDED) for viewers that do not need STOMP.
+ * Reconnecting clients resume via the Last-Event-ID header.
+ */
+@Tag(name = "3. Auction Management", description = "Auction CRUD operations and management")
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class AuctionStreamController {
+
+    private static final int MAX_WATCHLIST_SIZE = 50;
+
+    private final AuctionStreamService auctionStreamService;
+
+    /**
+     * Stream events for one auction
+     * GET /api/stream/auctions/{id}
+     */
+    @Operation(summary = "Stream auction events (SSE)")
+    @GetMapping(value = "/auctions/{id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAuction(@PathVariable Long id,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                    HttpServletResponse response) {
+        log.debug("SSE: Stream auction {} from {}", id, lastEventId);
+        return open(List.of(id), lastEventId, response);
+    }
+
+    /**
+     * Stream events for several auctions over one connection
+     * GET /api/stream/watchlist?ids=1,2,3
+     */
+    @Operation(summary = "Stream events for a watchlist of auctions (SSE)")
+    @GetMapping(value = "/watchlist", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamWatchlist(@RequestParam String ids,
+                                      @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                      HttpServletResponse response) {
+        List<Long> auctionIds;
+        try {
+            auctionIds = Arrays.stream(ids.split(","))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .map(Long::valueOf)
+                    .distinct()
+                    .toList();
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must be a comma-separated list of auction IDs");
+        }
+
+        if (auctionIds.isEmpty() || auctionIds.size() > MAX_WATCHLIST_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Watchlist must contain 1 to " + MAX_WATCHLIST_SIZE + " auctions");
+        }
+
+        log.debug("SSE: Stream watchlist {} from {}", auctionIds, lastEventId);
+        return open(auctionIds, lastEventId, response);
+    }
+
+    private SseEmitter open(List<Long> auctionIds, Long lastEventId, HttpServletResponse response) {
+        // Stop proxies (nginx) from buffering the stream
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");
+        try {
+            return auctionStreamService.subscribe(auctionIds, lastEventId);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
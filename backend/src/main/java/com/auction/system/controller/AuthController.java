@@ -5,6 +5,7 @@ import com.auction.system.dto.LoginRequest;
 import com.auction.system.dto.RegisterRequest;
 import com.auction.system.entity.User;
 import com.auction.system.entity.UserRole;
+import com.auction.system.security.AuthenticatedUser;
 import com.auction.system.security.JwtUtil;
 import com.auction.system.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,6 +19,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -136,12 +138,13 @@ public class AuthController {
      * GET /api/auth/me
      */
     @GetMapping("/me")
-    public ResponseEntity<?> getCurrentUser(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponse("Invalid token"));
+        }
         try {
-            String token = authHeader.substring(7); // Remove "Bearer " prefix
-            String username = jwtUtil.extractUsername(token);
-
-            User user = userService.getUserByUsername(username)
+            User user = userService.getUserById(principal.getUserId())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
             return ResponseEntity.ok(user);
@@ -3,12 +3,14 @@ package com.auction.system.controller;
 import com.auction.system.dto.BidRequest;
 import com.auction.system.dto.BidResponse;
 import com.auction.system.entity.Bid;
+import com.auction.system.security.AuthenticatedUser;
 import com.auction.system.service.BidService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
@@ -88,11 +90,13 @@ public class BidController {
      * GET /api/bids/my-bids
      */
     @GetMapping("/my-bids")
-    public ResponseEntity<List<Bid>> getMyBids(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<List<Bid>> getMyBids(@AuthenticationPrincipal AuthenticatedUser principal) {
         log.info("REST API: Get my bids");
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
         try {
-            Long userId = extractUserIdFromToken(token);
-            List<Bid> bids = bidService.getBidsByUser(userId);
+            List<Bid> bids = bidService.getBidsByBidderId(principal.getUserId());
             return ResponseEntity.ok(bids);
         } catch (Exception e) {
             log.error("Error fetching my bids", e);
@@ -119,13 +123,4 @@ public class BidController {
                     .body(java.util.Map.of("error", "Bid not found"));
         }
     }
-
-    // Helper method to extract user ID from JWT token
-    private Long extractUserIdFromToken(String token) {
-        if (token != null && token.startsWith("Bearer ")) {
-            token = token.substring(7);
-        }
-        // In real implementation, decode JWT and extract userId
-        return 1L;
-    }
 }
@@ -1,35 +1,51 @@
 package com.auction.system.controller;
 
+import com.auction.system.service.ImageBlobStore;
+import com.auction.system.service.ImageBlobStore.ImageTooLargeException;
+import com.auction.system.service.ImageBlobStore.InvalidImageException;
+import com.auction.system.service.ImageBlobStore.StoredBlob;
+import com.auction.system.service.ImageProcessingService;
+import com.auction.system.util.ImageVariants;
+import com.auction.system.util.ImageVariants.Variant;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * File Upload Controller
  * Handles image uploads for auctions
+ *
+ * Images go into the content-addressed ImageBlobStore, so the same photo
+ * uploaded twice is stored once. Thumbnail and medium variants are generated
+ * in the background by ImageProcessingService.
  */
 @Tag(name = "8. File Upload", description = "Upload and manage auction images")
 @RestController
 @RequestMapping("/api/upload")
+@RequiredArgsConstructor
 @Slf4j
 @CrossOrigin(origins = "*")
 public class FileUploadController {
 
-    private static final String UPLOAD_DIR = "uploads/auction-images/";
+    private static final String UPLOAD_DIR = ImageVariants.UPLOAD_DIR;
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
 
+    private final ImageBlobStore imageBlobStore;
+    private final ImageProcessingService imageProcessingService;
+
     /**
      * Upload auction image
      * POST /api/upload/auction-image
@@ -54,35 +70,47 @@ public class FileUploadController {
                 return ResponseEntity.badRequest().body(Map.of("error", "Only image files are allowed"));
             }
 
-            // Create upload directory if not exists
-            Path uploadPath = Paths.get(UPLOAD_DIR);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+            // Stream into the content-addressed store: identical uploads share one file
+            try (InputStream in = file.getInputStream()) {
+                return stored(imageBlobStore.store(in, MAX_FILE_SIZE));
             }
 
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = originalFilename != null && originalFilename.contains(".")
-                    ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                    : ".jpg";
-            String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
-
-            // Save file
-            Path filePath = uploadPath.resolve(uniqueFilename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-            // Generate URL (adjust this based on your deployment)
-            String fileUrl = "/uploads/auction-images/" + uniqueFilename;
-
-            log.info("File uploaded successfully: {}", uniqueFilename);
+        } catch (ImageTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("error", e.getMessage()));
+        } catch (InvalidImageException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            log.error("Error uploading file", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to upload file: " + e.getMessage()));
+        }
+    }
 
-            return ResponseEntity.ok(Map.of(
-                    "message", "File uploaded successfully",
-                    "filename", uniqueFilename,
-                    "url", fileUrl,
-                    "size", file.getSize()
-            ));
+    /**
+     * Upload auction image as a raw request body (no multipart parsing or buffering)
+     * POST /api/upload/auction-image/stream  (Content-Type: image/*)
+     *
+     * The body is read straight from the socket: the format is checked from the
+     * first bytes, the size limit is enforced as bytes arrive, and the image is
+     * hashed and written to disk in the same pass.
+     */
+    @PostMapping(value = "/auction-image/stream", consumes = {"image/*", "application/octet-stream"})
+    public ResponseEntity<?> streamAuctionImage(HttpServletRequest request) {
+        log.info("Streaming upload received - Content-Type: {}, Length: {}",
+                request.getContentType(), request.getContentLengthLong());
+
+        // Reject declared oversize bodies before reading anything
+        if (request.getContentLengthLong() > MAX_FILE_SIZE) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("error", "File size exceeds 5MB limit"));
+        }
 
+        try (InputStream in = request.getInputStream()) {
+            return stored(imageBlobStore.store(in, MAX_FILE_SIZE));
+        } catch (ImageTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("error", e.getMessage()));
+        } catch (InvalidImageException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (IOException e) {
             log.error("Error uploading file", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -90,6 +118,27 @@ public class FileUploadController {
         }
     }
 
+    /**
+     * Queue variant generation and describe a stored upload
+     */
+    private ResponseEntity<?> stored(StoredBlob blob) {
+        String filename = blob.path().getFileName().toString();
+        imageProcessingService.submit(blob.hash(), blob.path());
+
+        log.info("File uploaded successfully: {}{}", filename, blob.duplicate() ? " (duplicate)" : "");
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("message", "File uploaded successfully");
+        response.put("filename", filename);
+        response.put("url", blob.url());
+        response.put("thumbnailUrl", ImageVariants.variantUrl(blob.url(), Variant.THUMB));
+        response.put("mediumUrl", ImageVariants.variantUrl(blob.url(), Variant.MEDIUM));
+        response.put("hash", blob.hash());
+        response.put("size", blob.size());
+        response.put("duplicate", blob.duplicate());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Delete auction image
      * DELETE /api/upload/auction-image/{filename}
@@ -99,13 +148,24 @@ public class FileUploadController {
         log.info("Delete request for file: {}", filename);
 
         try {
-            Path filePath = Paths.get(UPLOAD_DIR + filename);
-
-            if (!Files.exists(filePath)) {
-                return ResponseEntity.notFound().build();
+            String hash = ImageVariants.hashOfOriginalFile(filename);
+            if (hash != null) {
+                // Shared content: only delete once no auction uses it
+                long references = imageBlobStore.countReferences(hash);
+                if (references > 0) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT)
+                            .body(Map.of("error", "Image is still used by " + references + " auction(s)"));
+                }
+                if (!imageBlobStore.delete(hash)) {
+                    return ResponseEntity.notFound().build();
+                }
+            } else {
+                Path filePath = Paths.get(UPLOAD_DIR).resolve(filename).normalize();
+                if (!filePath.startsWith(Paths.get(UPLOAD_DIR).normalize()) || !Files.exists(filePath)) {
+                    return ResponseEntity.notFound().build();
+                }
+                Files.delete(filePath);
             }
-
-            Files.delete(filePath);
             log.info("File deleted successfully: {}", filename);
 
             return ResponseEntity.ok(Map.of("message", "File deleted successfully"));
@@ -0,0 +1,260 @@
+package com.auction.system.controller;
+
+import com.auction.system.util.ImageVariants;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Image Serving Controller
+ * Serves uploaded auction images with HTTP caching and zero-copy transfer.
+ *
+ * Content-addressed files never change, so they get a strong ETag derived
+ * from their hash and a one-year immutable Cache-Control; legacy files get a
+ * size/mtime ETag and a short max-age. Conditional GETs answer 304, and a
+ * single byte range is honoured (multi-range requests get the full body).
+ * Bodies go out through Tomcat's sendfile when available and through
+ * FileChannel.transferTo otherwise, so file bytes are not copied through the heap.
+ */
+@Tag(name = "8. File Upload", description = "Upload and manage auction images")
+@RestController
+@Slf4j
+@CrossOrigin(origins = "*")
+public class ImageServingController {
+
+    private static final Pattern SAFE_FILE_NAME = Pattern.compile("^[A-Za-z0-9_-][A-Za-z0-9._-]*$");
+    private static final Pattern BYTE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    // Tomcat sendfile request attributes
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Value("${image.serving.legacy-max-age-seconds:3600}")
+    private long legacyMaxAgeSeconds;
+
+    @Value("${image.serving.sendfile-min-bytes:49152}")
+    private long sendfileMinBytes;
+
+    // Monitoring fields
+    private final AtomicLong fullResponses = new AtomicLong(0);
+    private final AtomicLong notModifiedResponses = new AtomicLong(0);
+    private final AtomicLong rangeResponses = new AtomicLong(0);
+    private final AtomicLong sendfileResponses = new AtomicLong(0);
+    private final AtomicLong bytesServed = new AtomicLong(0);
+
+    /**
+     * Serve an auction image (original or variant)
+     * GET /uploads/auction-images/{ab}/{cd}/{filename} (sharded) or /uploads/auction-images/{filename}
+     */
+    @RequestMapping(value = {
+            ImageVariants.URL_PATH + "{filename:.+}",
+            ImageVariants.URL_PATH + "{shard1:[0-9a-f]{2}}/{shard2:[0-9a-f]{2}}/{filename:.+}"
+    }, method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serveImage(@PathVariable(required = false) String shard1,
+                           @PathVariable(required = false) String shard2,
+                           @PathVariable String filename, HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        if (!SAFE_FILE_NAME.matcher(filename).matches()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Path directory = shard1 != null && shard2 != null
+                ? Paths.get(ImageVariants.UPLOAD_DIR, shard1, shard2)
+                : Paths.get(ImageVariants.UPLOAD_DIR);
+        Path file = directory.resolve(filename);
+        String etag;
+        String cacheControl;
+
+        String variantHash = ImageVariants.hashOfVariantFile(filename);
+        String originalHash = ImageVariants.hashOf(ImageVariants.URL_PATH + filename);
+
+        if (Files.isRegularFile(file)) {
+            if (variantHash != null || originalHash != null) {
+                etag = "\"" + filename.substring(0, filename.lastIndexOf('.')) + "\"";
+                cacheControl = IMMUTABLE;
+            } else {
+                etag = "W/\"" + Files.size(file) + "-" + Files.getLastModifiedTime(file).toMillis() + "\"";
+                cacheControl = "public, max-age=" + legacyMaxAgeSeconds;
+            }
+        } else if (variantHash != null && (file = findOriginal(directory, variantHash)) != null) {
+            // Variant not generated yet: serve the original briefly, then let the client retry
+            etag = "\"" + variantHash + "\"";
+            cacheControl = "public, max-age=60";
+        } else {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+
+        if (notModified(request, etag, lastModified)) {
+            notModifiedResponses.incrementAndGet();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        long start = 0;
+        long end = length - 1;
+        boolean partial = false;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && length > 0 && ifRangeMatches(request, etag)) {
+            Matcher matcher = BYTE_RANGE.matcher(range.trim());
+            if (matcher.matches()) {
+                String first = matcher.group(1);
+                String last = matcher.group(2);
+                boolean valid = !(first.isEmpty() && last.isEmpty());
+                try {
+                    if (first.isEmpty() && !last.isEmpty()) {
+                        start = Math.max(0, length - Long.parseLong(last)); // suffix range
+                    } else if (!first.isEmpty()) {
+                        start = Long.parseLong(first);
+                        end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+                    }
+                } catch (NumberFormatException e) {
+                    valid = false; // Positions past Long.MAX_VALUE
+                }
+                if (!valid || start > end || start >= length) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                partial = true;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        (partial ? rangeResponses : fullResponses).incrementAndGet();
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (count >= sendfileMinBytes && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file straight from the page cache to the socket
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            sendfileResponses.incrementAndGet();
+        } else {
+            transfer(file, start, count, response.getOutputStream());
+        }
+        bytesServed.addAndGet(count);
+    }
+
+    private void transfer(Path file, long start, long count, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, target);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    private boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String opaque = stripWeak(etag);
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || stripWeak(tag).equals(opaque)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * If-Range needs a strong ETag match; otherwise the full body is sent
+     */
+    private boolean ifRangeMatches(HttpServletRequest request, String etag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || (!etag.startsWith("W/") && ifRange.trim().equals(etag));
+    }
+
+    private String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private Path findOriginal(Path directory, String hash) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+        try (DirectoryStream<Path> originals = Files.newDirectoryStream(directory, hash + ".*")) {
+            for (Path original : originals) {
+                return original;
+            }
+        }
+        return null;
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public long getFullResponses() {
+        return fullResponses.get();
+    }
+
+    public long getNotModifiedResponses() {
+        return notModifiedResponses.get();
+    }
+
+    public long getRangeResponses() {
+        return rangeResponses.get();
+    }
+
+    public long getSendfileResponses() {
+        return sendfileResponses.get();
+    }
+
+    public long getBytesServed() {
+        return bytesServed.get();
+    }
+}
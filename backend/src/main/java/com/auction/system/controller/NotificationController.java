@@ -1,13 +1,16 @@
 package com.auction.system.controller;
 
 import com.auction.system.entity.Notification;
+import com.auction.system.security.AuthenticatedUser;
 import com.auction.system.service.NotificationService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +25,8 @@ import java.util.Map;
 @Slf4j
 public class NotificationController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationService notificationService;
 
     /**
@@ -29,11 +34,13 @@ public class NotificationController {
      * GET /api/notifications
      */
     @GetMapping
-    public ResponseEntity<List<Notification>> getNotifications(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<List<Notification>> getNotifications(@AuthenticationPrincipal AuthenticatedUser principal) {
         log.info("REST API: Get notifications");
+        if (principal == null) {
+            return ResponseEntity.status(401).build();
+        }
         try {
-            Long userId = extractUserIdFromToken(token);
-            List<Notification> notifications = notificationService.getUserNotifications(userId);
+            List<Notification> notifications = notificationService.getNotificationsForUserId(principal.getUserId());
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
             log.error("Error getting notifications", e);
@@ -41,6 +48,57 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Get one page of the user's notifications, newest first
+     * GET /api/notifications/page?before={notificationId}&size=20
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getNotificationPage(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                 @RequestParam(required = false) Long before,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        log.info("REST API: Get notification page before {}", before);
+        if (principal == null) {
+            return ResponseEntity.status(401).build();
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Notification> notifications =
+                notificationService.getNotificationPage(principal.getUserId(), before, pageSize);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("notifications", notifications);
+        response.put("hasMore", notifications.size() == pageSize);
+        response.put("nextCursor", notifications.isEmpty()
+                ? null : notifications.get(notifications.size() - 1).getNotificationId());
+        response.put("unreadCount", notificationService.getUnreadCount(principal.getUserId()));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get the user's unread notification count
+     * GET /api/notifications/unread-count
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<?> getUnreadCount(@AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok(Map.of("unreadCount", notificationService.getUnreadCount(principal.getUserId())));
+    }
+
+    /**
+     * Mark all of the user's notifications as read
+     * PUT /api/notifications/read-all
+     */
+    @PutMapping("/read-all")
+    public ResponseEntity<?> markAllAsRead(@AuthenticationPrincipal AuthenticatedUser principal) {
+        log.info("REST API: Mark all notifications as read");
+        if (principal == null) {
+            return ResponseEntity.status(401).build();
+        }
+        int updated = notificationService.markAllAsRead(principal.getUserId());
+        return ResponseEntity.ok(Map.of("updated", updated, "unreadCount", 0));
+    }
+
     /**
      * Get user notifications by user ID
      * GET /api/notifications/user/{userId}
@@ -98,8 +156,8 @@ public class NotificationController {
     public ResponseEntity<?> clearAllNotifications(@PathVariable Long userId) {
         log.info("REST API: Clear all notifications for user - {}", userId);
         try {
-            notificationService.clearAllNotifications(userId);
-            return ResponseEntity.ok(Map.of("message", "All notifications cleared successfully"));
+            int deleted = notificationService.clearAllNotifications(userId);
+            return ResponseEntity.ok(Map.of("message", "All notifications cleared successfully", "deleted", deleted));
         } catch (Exception e) {
             log.error("Error clearing notifications", e);
             return ResponseEntity.status(500)
@@ -107,12 +165,17 @@ public class NotificationController {
         }
     }
 
-    // Helper method to extract user ID from JWT token
-    private Long extractUserIdFromToken(String token) {
-        if (token != null && token.startsWith("Bearer ")) {
-            token = token.substring(7);
+    /**
+     * Clear all of the authenticated user's notifications
+     * DELETE /api/notifications/clear
+     */
+    @DeleteMapping("/clear")
+    public ResponseEntity<?> clearMyNotifications(@AuthenticationPrincipal AuthenticatedUser principal) {
+        log.info("REST API: Clear all notifications");
+        if (principal == null) {
+            return ResponseEntity.status(401).build();
         }
-        // In real implementation, decode JWT and extract userId
-        return 1L;
+        int deleted = notificationService.clearAllNotifications(principal.getUserId());
+        return ResponseEntity.ok(Map.of("message", "All notifications cleared successfully", "deleted", deleted));
     }
 }
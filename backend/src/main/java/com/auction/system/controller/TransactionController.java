@@ -1,6 +1,7 @@
 package com.auction.system.controller;
 
 import com.auction.system.entity.Transaction;
+import com.auction.system.service.IdempotencyCache;
 import com.auction.system.service.TransactionService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -29,9 +30,12 @@ public class TransactionController {
      * Process payment for auction (SSL/TLS secure)
      * POST /api/transactions/payment
      * Required fields: auctionId, buyerId, cardNumber, cvv
+     * Optional Idempotency-Key header (or idempotencyKey field): retries with the same key
+     * return the original transaction instead of paying again
      */
     @PostMapping("/payment")
-    public ResponseEntity<?> processPayment(@RequestBody Map<String, Object> paymentRequest) {
+    public ResponseEntity<?> processPayment(@RequestBody Map<String, Object> paymentRequest,
+                                            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         log.info("REST API: Process payment");
         try {
             // Validate required fields
@@ -52,9 +56,15 @@ public class TransactionController {
             Long buyerId = Long.valueOf(paymentRequest.get("buyerId").toString());
             String cardNumber = paymentRequest.get("cardNumber").toString();
             String cvv = paymentRequest.get("cvv").toString();
+            if (idempotencyKey == null && paymentRequest.get("idempotencyKey") != null) {
+                idempotencyKey = paymentRequest.get("idempotencyKey").toString();
+            }
 
-            Transaction transaction = transactionService.processPayment(auctionId, buyerId, cardNumber, cvv);
+            Transaction transaction = transactionService.processPayment(auctionId, buyerId, cardNumber, cvv, idempotencyKey);
             return ResponseEntity.ok(transaction);
+        } catch (IdempotencyCache.IdempotencyKeyConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", e.getMessage()));
         } catch (IllegalStateException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
@@ -1,12 +1,14 @@
 package com.auction.system.controller;
 
 import com.auction.system.entity.User;
+import com.auction.system.security.AuthenticatedUser;
 import com.auction.system.service.UserService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -109,10 +111,14 @@ public class UserController {
      * GET /api/users/me/auctions
      */
     @GetMapping("/me/auctions")
-    public ResponseEntity<?> getMyAuctions(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<?> getMyAuctions(@AuthenticationPrincipal AuthenticatedUser principal) {
         log.info("REST API: Get my auctions");
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(java.util.Map.of("error", "Unauthorized"));
+        }
         try {
-            Long userId = extractUserIdFromToken(token);
+            Long userId = principal.getUserId();
             List<?> auctions = userService.getUserAuctions(userId);
             return ResponseEntity.ok(auctions);
         } catch (Exception e) {
@@ -126,10 +132,14 @@ public class UserController {
      * GET /api/users/me/bids
      */
     @GetMapping("/me/bids")
-    public ResponseEntity<?> getMyBids(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<?> getMyBids(@AuthenticationPrincipal AuthenticatedUser principal) {
         log.info("REST API: Get my bids");
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(java.util.Map.of("error", "Unauthorized"));
+        }
         try {
-            Long userId = extractUserIdFromToken(token);
+            Long userId = principal.getUserId();
             List<?> bids = userService.getUserBids(userId);
             return ResponseEntity.ok(bids);
         } catch (Exception e) {
@@ -143,11 +153,15 @@ public class UserController {
      * POST /api/users/me/balance
      */
     @PostMapping("/me/balance")
-    public ResponseEntity<?> addBalance(@RequestHeader("Authorization") String token,
+    public ResponseEntity<?> addBalance(@AuthenticationPrincipal AuthenticatedUser principal,
                                        @RequestBody java.util.Map<String, Object> request) {
         log.info("REST API: Add balance");
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(java.util.Map.of("error", "Unauthorized"));
+        }
         try {
-            Long userId = extractUserIdFromToken(token);
+            Long userId = principal.getUserId();
             java.math.BigDecimal amount = new java.math.BigDecimal(request.get("amount").toString());
             User updated = userService.addBalance(userId, amount);
             return ResponseEntity.ok(updated);
@@ -157,14 +171,6 @@ public class UserController {
         }
     }
 
-    // Helper method to extract user ID from JWT token
-    private Long extractUserIdFromToken(String token) {
-        if (token != null && token.startsWith("Bearer ")) {
-            token = token.substring(7);
-        }
-        // In real implementation, decode JWT and extract userId
-        return 1L;
-    }
 
     /**
      * Login Request DTO
@@ -1,11 +1,13 @@
 package com.auction.system.controller;
 
 import com.auction.system.entity.WalletTransaction;
+import com.auction.system.security.AuthenticatedUser;
 import com.auction.system.service.WalletService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -54,11 +56,13 @@ public class WalletController {
      * GET /api/wallet/history
      */
     @GetMapping("/history")
-    public ResponseEntity<List<WalletTransaction>> getHistory(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<List<WalletTransaction>> getHistory(@AuthenticationPrincipal AuthenticatedUser principal) {
         log.info("REST API: Get wallet history");
+        if (principal == null) {
+            return ResponseEntity.status(401).build();
+        }
         try {
-            Long userId = extractUserIdFromToken(token);
-            List<WalletTransaction> history = walletService.getWalletHistory(userId);
+            List<WalletTransaction> history = walletService.getWalletHistoryForUserId(principal.getUserId());
             return ResponseEntity.ok(history);
         } catch (Exception e) {
             log.error("Error fetching wallet history", e);
@@ -121,11 +125,13 @@ public class WalletController {
      * GET /api/wallet/summary
      */
     @GetMapping("/summary")
-    public ResponseEntity<Map<String, Object>> getSummary(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<Map<String, Object>> getSummary(@AuthenticationPrincipal AuthenticatedUser principal) {
         log.info("REST API: Get wallet summary");
+        if (principal == null) {
+            return ResponseEntity.status(401).build();
+        }
         try {
-            Long userId = extractUserIdFromToken(token);
-            Map<String, Object> summary = walletService.getWalletSummary(userId);
+            Map<String, Object> summary = walletService.getWalletSummary(principal.getUserId());
             return ResponseEntity.ok(summary);
         } catch (Exception e) {
             log.error("Error fetching wallet summary", e);
@@ -133,6 +139,24 @@ public class WalletController {
         }
     }
 
+    /**
+     * Get a page of a user's wallet ledger (keyset pagination)
+     * GET /api/wallet/ledger/{userId}?before={cursor}&size=20
+     */
+    @GetMapping("/ledger/{userId}")
+    public ResponseEntity<?> getLedger(@PathVariable Long userId,
+                                       @RequestParam(required = false) Long before,
+                                       @RequestParam(defaultValue = "20") int size) {
+        log.info("REST API: Get wallet ledger for user {} before {}", userId, before);
+        try {
+            return ResponseEntity.ok(walletService.getLedgerPage(userId, before, size));
+        } catch (Exception e) {
+            log.error("Error fetching wallet ledger", e);
+            return ResponseEntity.status(500)
+                    .body(Map.of("error", "Failed to fetch ledger"));
+        }
+    }
+
     /**
      * Withdraw money from wallet
      * POST /api/wallet/withdraw
@@ -156,13 +180,4 @@ public class WalletController {
                     .body(Map.of("error", "Withdrawal failed: " + e.getMessage()));
         }
     }
-
-    // Helper method to extract user ID from JWT token
-    private Long extractUserIdFromToken(String token) {
-        if (token != null && token.startsWith("Bearer ")) {
-            token = token.substring(7);
-        }
-        // In real implementation, decode JWT and extract userId
-        return 1L;
-    }
 }
@@ -81,4 +81,16 @@ public class AdminController {
         List<WalletTransaction> transactions = walletService.getAllWalletTransactions();
         return ResponseEntity.ok(transactions);
     }
+
+    /**
+     * Get a page of the full wallet ledger (keyset pagination)
+     * GET /api/admin/wallet/ledger?before={cursor}&size=50
+     */
+    @GetMapping("/wallet/ledger")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getWalletLedger(@RequestParam(required = false) Long before,
+                                                               @RequestParam(defaultValue = "50") int size) {
+        log.info("Admin: Get wallet ledger page before {}", before);
+        return ResponseEntity.ok(walletService.getAllLedgerPage(before, size));
+    }
 }
@@ -0,0 +1,61 @@
+package com.auction.system.controller.admin;
+
+import com.auction.system.service.BidArchiveService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bid Archive Controller
+ * Admin endpoints for bid history archiving status and manual runs
+ */
+@Tag(name = "15. Data Retention", description = "Notification TTLs, purge runs and archival")
+@RestController
+@RequestMapping("/api/admin/retention/bids")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class BidArchiveController {
+
+    private final BidArchiveService bidArchiveService;
+
+    /**
+     * Get archive settings, rows per storage tier and last run result
+     * GET /api/admin/retention/bids/stats
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> getArchiveStats() {
+        log.info("Admin: Get bid archive stats");
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", bidArchiveService.isEnabled());
+        stats.put("settings", bidArchiveService.getSettings());
+        stats.put("storage", bidArchiveService.getStorageCounts());
+        stats.put("totalPartitioned", bidArchiveService.getTotalPartitioned());
+        stats.put("totalCompacted", bidArchiveService.getTotalCompacted());
+        stats.put("coldReads", bidArchiveService.getColdReads());
+        stats.put("lastRun", bidArchiveService.getLastRun());
+        stats.put("timestamp", System.currentTimeMillis());
+        return stats;
+    }
+
+    /**
+     * Run both archive stages now
+     * POST /api/admin/retention/bids/archive
+     */
+    @PostMapping("/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> archiveNow() {
+        log.info("Admin: Archive closed auction bids");
+
+        Map<String, Object> response = new HashMap<>(bidArchiveService.archiveClosedAuctions());
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
+}
@@ -0,0 +1,63 @@
+package com.auction.system.controller.admin;
+
+import com.auction.system.config.ConnectionPoolMetrics;
+import com.auction.system.config.ReplicaRoutingDataSource;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connection Pool Monitor Controller
+ * Admin endpoints for monitoring the JDBC connection pool
+ */
+@Tag(name = "14. Connection Pool Monitoring", description = "Monitor database connection pool usage and acquire latency")
+@RestController
+@RequestMapping("/api/admin/db-pool")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class ConnectionPoolMonitorController {
+
+    private final ConnectionPoolMetrics connectionPoolMetrics;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRouting;
+
+    /**
+     * Get connection pool status, acquire/usage histograms and read replica routing
+     * GET /api/admin/db-pool/stats
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> getPoolStats() {
+        log.info("Admin: Get connection pool stats");
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("pools", connectionPoolMetrics.getSnapshot());
+        ReplicaRoutingDataSource routing = replicaRouting.getIfAvailable();
+        stats.put("replicaRouting", routing != null ? routing.getStats() : Map.of("enabled", false));
+        stats.put("timestamp", System.currentTimeMillis());
+        return stats;
+    }
+
+    /**
+     * Reset acquire/usage histograms
+     * POST /api/admin/db-pool/reset
+     */
+    @PostMapping("/reset")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> resetPoolStats() {
+        log.info("Admin: Reset connection pool stats");
+
+        connectionPoolMetrics.reset();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Connection pool histograms reset");
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
+}
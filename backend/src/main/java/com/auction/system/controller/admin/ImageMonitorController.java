@@ -0,0 +1,77 @@
+package com.auction.system.controller.admin;
+
+import com.auction.system.controller.ImageServingController;
+import com.auction.system.service.ImageBlobStore;
+import com.auction.system.service.ImageProcessingService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Image Monitor Controller
+ * Admin endpoints for the image processing and serving pipeline
+ */
+@Tag(name = "16. Image Pipeline Monitoring", description = "Monitor image storage, variant generation, serving and GC")
+@RestController
+@RequestMapping("/api/admin/images")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class ImageMonitorController {
+
+    private final ImageProcessingService imageProcessingService;
+    private final ImageServingController imageServingController;
+    private final ImageBlobStore imageBlobStore;
+
+    /**
+     * Get variant generation and serving statistics
+     * GET /api/admin/images/stats
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> getImageStats() {
+        log.info("Admin: Get image pipeline stats");
+
+        Map<String, Object> processing = new HashMap<>();
+        processing.put("submitted", imageProcessingService.getSubmitted());
+        processing.put("processed", imageProcessingService.getProcessed());
+        processing.put("failed", imageProcessingService.getFailed());
+        processing.put("rejected", imageProcessingService.getRejected());
+        processing.put("oversized", imageProcessingService.getOversized());
+        processing.put("queueSize", imageProcessingService.getQueueSize());
+        processing.put("avgProcessingMs", imageProcessingService.getAverageProcessingMillis());
+
+        Map<String, Object> serving = new HashMap<>();
+        serving.put("fullResponses", imageServingController.getFullResponses());
+        serving.put("notModifiedResponses", imageServingController.getNotModifiedResponses());
+        serving.put("rangeResponses", imageServingController.getRangeResponses());
+        serving.put("sendfileResponses", imageServingController.getSendfileResponses());
+        serving.put("bytesServed", imageServingController.getBytesServed());
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("processing", processing);
+        stats.put("serving", serving);
+        stats.put("store", imageBlobStore.getStats());
+        stats.put("timestamp", System.currentTimeMillis());
+        return stats;
+    }
+
+    /**
+     * Run the image garbage collector now
+     * POST /api/admin/images/gc
+     */
+    @PostMapping("/gc")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> runImageGc() {
+        log.info("Admin: Run image GC");
+
+        Map<String, Object> response = new HashMap<>(imageBlobStore.sweep());
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
+}
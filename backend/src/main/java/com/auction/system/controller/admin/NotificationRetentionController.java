@@ -0,0 +1,63 @@
+package com.auction.system.controller.admin;
+
+import com.auction.system.repository.NotificationRepository;
+import com.auction.system.service.NotificationRetentionService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Notification Retention Controller
+ * Admin endpoints for notification retention status and manual purges
+ */
+@Tag(name = "15. Data Retention", description = "Notification TTLs, purge runs and archival")
+@RestController
+@RequestMapping("/api/admin/retention/notifications")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class NotificationRetentionController {
+
+    private final NotificationRetentionService retentionService;
+    private final NotificationRepository notificationRepository;
+
+    /**
+     * Get retention settings, table size and last purge result
+     * GET /api/admin/retention/notifications/stats
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> getRetentionStats() {
+        log.info("Admin: Get notification retention stats");
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", retentionService.isEnabled());
+        stats.put("archiveEnabled", retentionService.isArchiveEnabled());
+        stats.put("ttlDays", retentionService.getTtlDays());
+        stats.put("rowCount", notificationRepository.count());
+        stats.put("totalDeleted", retentionService.getTotalDeleted());
+        stats.put("totalArchived", retentionService.getTotalArchived());
+        stats.put("lastRun", retentionService.getLastRun());
+        stats.put("timestamp", System.currentTimeMillis());
+        return stats;
+    }
+
+    /**
+     * Run a purge now
+     * POST /api/admin/retention/notifications/purge
+     */
+    @PostMapping("/purge")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> purgeNow() {
+        log.info("Admin: Purge expired notifications");
+
+        Map<String, Object> response = new HashMap<>(retentionService.purgeExpired());
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
+}
@@ -1,11 +1,20 @@
 package com.auction.system.controller.admin;
 
+import com.auction.system.network.ssl.NioSSLPaymentServer;
+import com.auction.system.network.ssl.PaymentRequestHandler;
+import com.auction.system.network.ssl.SslContextProvider;
+import com.auction.system.network.ssl.SslHandshakeMetrics;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.RSAPublicKey;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -22,6 +31,55 @@ import java.util.*;
 @CrossOrigin(origins = "*")
 public class SslMonitorController {
 
+    private final SslHandshakeMetrics handshakeMetrics;
+    private final SslContextProvider sslContextProvider;
+    private final PaymentRequestHandler paymentRequestHandler;
+    private final ObjectProvider<NioSSLPaymentServer> nioSslPaymentServer;
+
+    @Value("${ssl.server.mode:blocking}")
+    private String serverMode;
+
+    @Value("${ssl.server.port:8443}")
+    private int serverPort;
+
+    @Value("${ssl.keep-alive.timeout-ms:30000}")
+    private long keepAliveTimeoutMs;
+
+    @Value("${ssl.keep-alive.max-requests:100}")
+    private int keepAliveMaxRequests;
+
+    /**
+     * Get TLS handshake metrics (rate, latency, full vs resumed)
+     * GET /api/admin/ssl/handshakes
+     */
+    @GetMapping("/handshakes")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> getHandshakeMetrics() {
+        log.info("Admin: Get SSL handshake metrics");
+
+        Map<String, Object> response = new HashMap<>(handshakeMetrics.getStats());
+        response.put("serverMode", serverMode);
+
+        Map<String, Object> sessionCache = new HashMap<>();
+        sessionCache.put("initialized", sslContextProvider.isInitialized());
+        sessionCache.put("cacheSize", sslContextProvider.getSessionCacheSize());
+        sessionCache.put("cachedSessions", sslContextProvider.getCachedSessionCount());
+        sessionCache.put("timeoutSeconds", sslContextProvider.getSessionTimeoutSeconds());
+        response.put("sessionCache", sessionCache);
+
+        NioSSLPaymentServer nioServer = nioSslPaymentServer.getIfAvailable();
+        if (nioServer != null) {
+            Map<String, Object> connections = new HashMap<>();
+            connections.put("active", nioServer.getActiveConnections());
+            connections.put("total", nioServer.getTotalConnections());
+            connections.put("idleTimeouts", nioServer.getIdleTimeouts());
+            response.put("connections", connections);
+        }
+
+        response.put("timestamp", LocalDateTime.now().toString());
+        return response;
+    }
+
     /**
      * Get SSL transactions
      * GET /api/admin/ssl/transactions
@@ -31,24 +89,12 @@ public class SslMonitorController {
     public Map<String, Object> getSslTransactions() {
         log.info("Admin: Get SSL transactions");
 
-        List<Map<String, Object>> transactions = new ArrayList<>();
-
-        // Simulated recent transactions
-        for (int i = 0; i < 10; i++) {
-            Map<String, Object> transaction = new HashMap<>();
-            transaction.put("id", "TXN-" + (1000 + i));
-            transaction.put("clientIp", "192.168.1." + (100 + i));
-            transaction.put("amount", 100 + (i * 50));
-            transaction.put("status", i % 5 == 0 ? "FAILED" : "SUCCESS");
-            transaction.put("encrypted", true);
-            transaction.put("cipher", "TLS_AES_256_GCM_SHA384");
-            transaction.put("timestamp", LocalDateTime.now().minusMinutes(i).toString());
-            transactions.add(transaction);
-        }
+        List<Map<String, Object>> transactions = paymentRequestHandler.getRecentTransactions();
 
         Map<String, Object> response = new HashMap<>();
         response.put("transactions", transactions);
         response.put("count", transactions.size());
+        response.put("timestamp", LocalDateTime.now().toString());
 
         return response;
     }
@@ -63,13 +109,27 @@ public class SslMonitorController {
         log.info("Admin: Get certificate info");
 
         Map<String, Object> certInfo = new HashMap<>();
-        certInfo.put("issuer", "CN=Auction System CA");
-        certInfo.put("subject", "CN=localhost");
-        certInfo.put("validFrom", "2024-01-01");
-        certInfo.put("validTo", "2025-12-31");
-        certInfo.put("algorithm", "RSA");
-        certInfo.put("keySize", 2048);
-        certInfo.put("status", "VALID");
+        X509Certificate certificate = sslContextProvider.getServerCertificate();
+        if (certificate == null) {
+            certInfo.put("status", "NOT_LOADED");
+            return certInfo;
+        }
+
+        certInfo.put("issuer", certificate.getIssuerX500Principal().getName());
+        certInfo.put("subject", certificate.getSubjectX500Principal().getName());
+        certInfo.put("validFrom", certificate.getNotBefore().toInstant().toString());
+        certInfo.put("validTo", certificate.getNotAfter().toInstant().toString());
+        certInfo.put("algorithm", certificate.getPublicKey().getAlgorithm());
+        certInfo.put("signatureAlgorithm", certificate.getSigAlgName());
+        if (certificate.getPublicKey() instanceof RSAPublicKey rsaKey) {
+            certInfo.put("keySize", rsaKey.getModulus().bitLength());
+        }
+        try {
+            certificate.checkValidity();
+            certInfo.put("status", "VALID");
+        } catch (CertificateException e) {
+            certInfo.put("status", "EXPIRED_OR_NOT_YET_VALID");
+        }
 
         return certInfo;
     }
@@ -83,23 +143,47 @@ public class SslMonitorController {
     public Map<String, Object> getSslStats() {
         log.info("Admin: Get SSL stats");
 
+        long completedHandshakes = handshakeMetrics.getFullHandshakes() + handshakeMetrics.getResumedHandshakes();
+        NioSSLPaymentServer nioServer = nioSslPaymentServer.getIfAvailable();
+
         Map<String, Object> stats = new HashMap<>();
-        stats.put("serverPort", 8443);
-        stats.put("protocol", "TLS 1.3");
-        stats.put("encryptionStatus", "ACTIVE");
-        stats.put("cipherSuite", "TLS_AES_256_GCM_SHA384");
-        stats.put("totalSecureTransactions", new Random().nextInt(500) + 1000);
-        stats.put("successfulTransactions", new Random().nextInt(400) + 950);
-        stats.put("failedTransactions", new Random().nextInt(20) + 5);
+        stats.put("serverPort", serverPort);
+        stats.put("port", serverPort);
+        stats.put("serverMode", serverMode);
+        stats.put("status", sslContextProvider.isInitialized() ? "ENABLED" : "STARTING");
+        stats.put("encryptionStatus", sslContextProvider.isInitialized() ? "ACTIVE" : "INACTIVE");
+        stats.put("secureConnections", nioServer != null ? nioServer.getTotalConnections() : completedHandshakes);
+        stats.put("handshakes", completedHandshakes);
+        stats.put("resumptionRatio", handshakeMetrics.getResumptionRatio());
+        stats.put("handshakesPerSecond", handshakeMetrics.getHandshakesPerSecond());
+        stats.put("totalSecureTransactions", paymentRequestHandler.getTotalRequests());
+        stats.put("successfulTransactions", paymentRequestHandler.getSuccessfulPayments());
+        stats.put("failedTransactions", paymentRequestHandler.getFailedPayments());
+
+        // Session reuse policy
+        Map<String, Object> sessions = new HashMap<>();
+        sessions.put("cacheSize", sslContextProvider.getSessionCacheSize());
+        sessions.put("cachedSessions", sslContextProvider.getCachedSessionCount());
+        sessions.put("timeoutSeconds", sslContextProvider.getSessionTimeoutSeconds());
+        sessions.put("ticketsEnabled", Boolean.parseBoolean(
+                System.getProperty("jdk.tls.server.enableSessionTicketExtension", "true")));
+        sessions.put("ticketKeyRotationSeconds", System.getProperty("jdk.tls.server.statelessKeyTimeout"));
+        sessions.put("keepAliveTimeoutMs", keepAliveTimeoutMs);
+        sessions.put("keepAliveMaxRequests", keepAliveMaxRequests);
+        stats.put("sessions", sessions);
 
         // Security dashboard
+        X509Certificate certificate = sslContextProvider.getServerCertificate();
         Map<String, Object> security = new HashMap<>();
         security.put("encryptedTraffic", "100%");
-        security.put("certificateValid", true);
-        security.put("tlsVersion", "1.3");
-        security.put("weakCiphersBlocked", true);
+        security.put("certificateValid", certificate != null
+                && certificate.getNotAfter().after(new Date()) && certificate.getNotBefore().before(new Date()));
+        Map<String, Object> handshakeStats = handshakeMetrics.getStats();
+        security.put("protocols", handshakeStats.get("protocols"));
+        security.put("cipherSuites", handshakeStats.get("cipherSuites"));
         stats.put("security", security);
 
+        stats.put("timestamp", LocalDateTime.now().toString());
         return stats;
     }
 }
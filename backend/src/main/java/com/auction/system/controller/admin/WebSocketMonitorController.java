@@ -0,0 +1,127 @@
+package com.auction.system.controller.admin;
+
+import com.auction.system.service.AuctionStreamService;
+import com.auction.system.websocket.ClusterBrokerFanout;
+import com.auction.system.websocket.ConflatingDispatcher;
+import com.auction.system.websocket.SessionOutboundQueues;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WebSocket Monitor Controller
+ * Admin endpoints for monitoring the STOMP broker setup
+ */
+@Tag(name = "11. Network Monitoring - WebSocket", description = "Monitor WebSocket broker mode and cluster fan-out")
+@RestController
+@RequestMapping("/api/admin/websocket")
+@Slf4j
+@CrossOrigin(origins = "*")
+public class WebSocketMonitorController {
+
+    private final ObjectProvider<ClusterBrokerFanout> clusterFanout;
+    private final ConflatingDispatcher conflatingDispatcher;
+    private final SessionOutboundQueues sessionOutboundQueues;
+    private final AuctionStreamService auctionStreamService;
+
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    public WebSocketMonitorController(ObjectProvider<ClusterBrokerFanout> clusterFanout,
+                                      ConflatingDispatcher conflatingDispatcher,
+                                      SessionOutboundQueues sessionOutboundQueues,
+                                      AuctionStreamService auctionStreamService) {
+        this.clusterFanout = clusterFanout;
+        this.conflatingDispatcher = conflatingDispatcher;
+        this.sessionOutboundQueues = sessionOutboundQueues;
+        this.auctionStreamService = auctionStreamService;
+    }
+
+    /**
+     * Get broker mode and cluster fan-out statistics
+     * GET /api/admin/websocket/broker
+     */
+    @GetMapping("/broker")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> getBrokerStats() {
+        log.info("Admin: Get WebSocket broker stats");
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("brokerMode", brokerMode);
+
+        ClusterBrokerFanout fanout = clusterFanout.getIfAvailable();
+        if (fanout != null) {
+            stats.put("nodeId", fanout.getNodeId());
+            stats.put("listenPort", fanout.getListenPort());
+            stats.put("peers", fanout.getPeers());
+            stats.put("connectedPeers", fanout.getConnectedPeers());
+            stats.put("knownPeers", fanout.getKnownPeers());
+            stats.put("framesSent", fanout.getFramesSent());
+            stats.put("framesReceived", fanout.getFramesReceived());
+            stats.put("framesReplayed", fanout.getFramesReplayed());
+            stats.put("duplicatesSkipped", fanout.getDuplicatesSkipped());
+            stats.put("gapsDetected", fanout.getGapsDetected());
+            stats.put("reconnects", fanout.getReconnects());
+            stats.put("authFailures", fanout.getAuthFailures());
+        }
+
+        stats.put("timestamp", System.currentTimeMillis());
+        return stats;
+    }
+
+    /**
+     * Get conflation statistics (events in vs frames out)
+     * GET /api/admin/websocket/conflation
+     */
+    @GetMapping("/conflation")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> getConflationStats() {
+        log.info("Admin: Get WebSocket conflation stats");
+
+        long events = conflatingDispatcher.getEventsSubmitted();
+        long frames = conflatingDispatcher.getFramesSent();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("eventsSubmitted", events);
+        stats.put("framesSent", frames);
+        stats.put("pendingDestinations", conflatingDispatcher.getPendingDestinations());
+        stats.put("conflationRatio", frames > 0 ? (double) events / frames : 0.0);
+        stats.put("timestamp", System.currentTimeMillis());
+        return stats;
+    }
+
+    /**
+     * Get per-session outbound queue statistics
+     * GET /api/admin/websocket/outbound?top=10
+     */
+    @GetMapping("/outbound")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> getOutboundStats(@RequestParam(defaultValue = "10") int top) {
+        log.info("Admin: Get WebSocket outbound queue stats");
+
+        Map<String, Object> stats = new HashMap<>(sessionOutboundQueues.getStats());
+        stats.put("deepestQueues", sessionOutboundQueues.getDeepestQueues(Math.max(1, Math.min(top, 100))));
+        stats.put("timestamp", System.currentTimeMillis());
+        return stats;
+    }
+
+    /**
+     * Get Server-Sent Events stream statistics
+     * GET /api/admin/websocket/sse
+     */
+    @GetMapping("/sse")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> getSseStats() {
+        log.info("Admin: Get SSE stream stats");
+
+        Map<String, Object> stats = new HashMap<>(auctionStreamService.getStats());
+        stats.put("timestamp", System.currentTimeMillis());
+        return stats;
+    }
+}
@@ -1,5 +1,6 @@
 package com.auction.system.entity;
 
+import com.auction.system.util.ImageVariants;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
@@ -83,6 +84,19 @@ public class Auction {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Where this auction's bid history is stored (moved by BidArchiveService)
+     */
+    @JsonIgnore
+    @Enumerated(EnumType.STRING)
+    @Column(name = "bid_storage", length = 20)
+    @Builder.Default
+    private BidStorage bidStorage = BidStorage.LIVE;
+
+    @JsonIgnore
+    @Column(name = "archived_bid_count")
+    private Integer archivedBidCount;
+
     // Relationships
     @JsonIgnore
     @OneToMany(mappedBy = "auction", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -103,6 +117,15 @@ public class Auction {
         CANCELLED       // Cancelled by seller
     }
 
+    /**
+     * Bid Storage Enum
+     */
+    public enum BidStorage {
+        LIVE,           // Bids in the bids table
+        PARTITION,      // Bids moved to the bids_archive table
+        COLD            // Bids compacted into a gzip JSON-lines file
+    }
+
     /**
      * Calculate and update the current deadline based on the last bid time
      * @param lastBidTime Time when the last bid was placed
@@ -118,6 +141,20 @@ public class Auction {
         }
     }
 
+    /**
+     * Thumbnail (320px) URL for list pages; the original URL for non content-addressed images
+     */
+    public String getThumbnailUrl() {
+        return ImageVariants.variantUrl(imageUrl, ImageVariants.Variant.THUMB);
+    }
+
+    /**
+     * Medium (1024px) URL for detail pages; the original URL for non content-addressed images
+     */
+    public String getMediumUrl() {
+        return ImageVariants.variantUrl(imageUrl, ImageVariants.Variant.MEDIUM);
+    }
+
     /**
      * Check if auction has expired
      */
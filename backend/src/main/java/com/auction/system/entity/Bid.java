@@ -28,7 +28,8 @@ import java.time.LocalDateTime;
 public class Bid {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bidSeq")
+    @SequenceGenerator(name = "bidSeq", sequenceName = "bid_id_seq", allocationSize = SequenceIds.ALLOCATION_SIZE)
     @Column(name = "bid_id")
     private Long bidId;
 
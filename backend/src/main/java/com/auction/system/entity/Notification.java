@@ -16,7 +16,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "notifications", indexes = {
         @Index(name = "idx_notif_user_id", columnList = "user_id"),
-        @Index(name = "idx_notif_auction_id", columnList = "auction_id")
+        @Index(name = "idx_notif_user_id_notification_id", columnList = "user_id, notification_id"),
+        @Index(name = "idx_notif_auction_id", columnList = "auction_id"),
+        @Index(name = "idx_notif_type_created_at", columnList = "type, created_at")
 })
 @Data
 @NoArgsConstructor
@@ -25,7 +27,8 @@ import java.time.LocalDateTime;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notificationSeq")
+    @SequenceGenerator(name = "notificationSeq", sequenceName = "notification_id_seq", allocationSize = SequenceIds.ALLOCATION_SIZE)
     @Column(name = "notification_id")
     private Long notificationId;
 
@@ -0,0 +1,42 @@
+package com.auction.system.entity;
+
+import java.util.List;
+
+/**
+ * Sequence-generated IDs for the high-volume tables
+ *
+ * Bids, wallet ledger entries, notifications and payment transactions take
+ * their IDs from pooled database sequences instead of IDENTITY columns.
+ * Hibernate reserves ALLOCATION_SIZE IDs per sequence call and assigns them
+ * in memory, so inserts are deferred to flush and sent as JDBC batches
+ * (hibernate.jdbc.batch_size). IDENTITY forces an immediate single-row
+ * insert for every persist just to read the key back, which disables batching.
+ *
+ * The sequences must increment by ALLOCATION_SIZE (Hibernate creates them
+ * that way) and start above the IDs already issued by the old identity
+ * columns; DatabaseMigration aligns them at startup.
+ */
+public final class SequenceIds {
+
+    /**
+     * IDs reserved per sequence round trip; matches the JDBC batch size
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    /**
+     * Sequence-backed ID columns
+     */
+    public static final List<SequenceColumn> COLUMNS = List.of(
+            new SequenceColumn("bid_id_seq", "bids", "bid_id"),
+            new SequenceColumn("wallet_transaction_id_seq", "wallet_transactions", "wallet_transaction_id"),
+            new SequenceColumn("notification_id_seq", "notifications", "notification_id"),
+            new SequenceColumn("transaction_id_seq", "transactions", "transaction_id"),
+            new SequenceColumn("wallet_reservation_id_seq", "wallet_reservations", "reservation_id")
+    );
+
+    private SequenceIds() {
+    }
+
+    public record SequenceColumn(String sequence, String table, String column) {
+    }
+}
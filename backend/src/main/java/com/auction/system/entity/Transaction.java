@@ -16,8 +16,11 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "transactions", indexes = {
         @Index(name = "idx_trans_buyer_id", columnList = "buyer_id"),
-        @Index(name = "idx_trans_seller_id", columnList = "seller_id"),
-        @Index(name = "idx_trans_auction_id", columnList = "auction_id")
+        @Index(name = "idx_trans_seller_id", columnList = "seller_id")
+}, uniqueConstraints = {
+        // One payment per auction, enforced by the database rather than a check-then-insert
+        @UniqueConstraint(name = "uk_trans_auction_id", columnNames = "auction_id"),
+        @UniqueConstraint(name = "uk_trans_idempotency_key", columnNames = "idempotency_key")
 })
 @Data
 @NoArgsConstructor
@@ -26,7 +29,8 @@ import java.time.LocalDateTime;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactionSeq")
+    @SequenceGenerator(name = "transactionSeq", sequenceName = "transaction_id_seq", allocationSize = SequenceIds.ALLOCATION_SIZE)
     @Column(name = "transaction_id")
     private Long transactionId;
 
@@ -48,6 +52,12 @@ public class Transaction {
     @Column(name = "payment_method", length = 50)
     private String paymentMethod;
 
+    /**
+     * Client idempotency key, scoped to the buyer ("{buyerId}:{key}")
+     */
+    @Column(name = "idempotency_key", length = 120)
+    private String idempotencyKey;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     @Builder.Default
@@ -0,0 +1,56 @@
+package com.auction.system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Wallet Ledger Total Entity
+ * Materialized per-user summary of the wallet ledger: one row per
+ * (user, transaction type) holding the entry count and summed amount.
+ * Maintained incrementally by WalletService on every ledger write.
+ */
+@Entity
+@Table(name = "wallet_ledger_totals")
+@IdClass(WalletLedgerTotal.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WalletLedgerTotal {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", length = 30)
+    private WalletTransaction.TransactionType transactionType;
+
+    @Column(name = "entry_count", nullable = false)
+    private Long entryCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Composite key (user_id, transaction_type)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private WalletTransaction.TransactionType transactionType;
+    }
+}
@@ -0,0 +1,80 @@
+package com.auction.system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Wallet Reservation Entity
+ * A user's hold on an auction: exactly one mutable row per (user, auction),
+ * updated in place as the user bids, is outbid, or wins.
+ * The frozen_balance on User is the sum of all HELD reservations.
+ *
+ * audited_amount is the hold the ledger last recorded for the row; the
+ * WalletAuditCompactor writes the difference as one net FREEZE/UNFREEZE row.
+ * Only the compactor updates it, so entity saves never write it back.
+ */
+@Entity
+@Table(name = "wallet_reservations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reservation_user_auction",
+                columnNames = {"user_id", "auction_id"}),
+        indexes = @Index(name = "idx_reservation_auction_id", columnList = "auction_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WalletReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "walletReservationSeq")
+    @SequenceGenerator(name = "walletReservationSeq", sequenceName = "wallet_reservation_id_seq", allocationSize = SequenceIds.ALLOCATION_SIZE)
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "auction_id", nullable = false)
+    private Long auctionId;
+
+    @Column(name = "bid_id")
+    private Long bidId;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    @Builder.Default
+    private BigDecimal amount = BigDecimal.ZERO;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private ReservationStatus status = ReservationStatus.RELEASED;
+
+    @Column(name = "audited_amount", updatable = false,
+            columnDefinition = "NUMERIC(10,2) NOT NULL DEFAULT 0")
+    @Builder.Default
+    private BigDecimal auditedAmount = BigDecimal.ZERO;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Reservation Status Enum
+     */
+    public enum ReservationStatus {
+        HELD,       // Amount currently frozen for the user's winning bid
+        RELEASED,   // User was outbid or retracted; nothing held
+        CAPTURED    // Auction won and the held amount was paid
+    }
+}
@@ -18,6 +18,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "wallet_transactions", indexes = {
         @Index(name = "idx_wallet_user_id", columnList = "user_id"),
+        @Index(name = "idx_wallet_user_txn", columnList = "user_id, wallet_transaction_id"),
         @Index(name = "idx_wallet_type", columnList = "transaction_type"),
         @Index(name = "idx_wallet_created", columnList = "created_at")
 })
@@ -28,7 +29,8 @@ import java.time.LocalDateTime;
 public class WalletTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "walletTransactionSeq")
+    @SequenceGenerator(name = "walletTransactionSeq", sequenceName = "wallet_transaction_id_seq", allocationSize = SequenceIds.ALLOCATION_SIZE)
     @Column(name = "wallet_transaction_id")
     private Long walletTransactionId;
 
@@ -76,8 +78,9 @@ public class WalletTransaction {
     @JsonIgnore
     private Auction relatedAuction;
 
+    // No foreign key: the bid may have moved to bids_archive (see BidArchiveService)
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "related_bid_id")
+    @JoinColumn(name = "related_bid_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     @JsonIgnore
     private Bid relatedBid;
 
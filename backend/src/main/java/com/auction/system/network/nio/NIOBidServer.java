@@ -12,15 +12,10 @@ import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
-import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
 import java.nio.charset.StandardCharsets;
-import java.util.Iterator;
-import java.util.Set;
 
 /**
  * NIO (Non-blocking I/O) Bid Server (Member 4)
@@ -36,11 +31,13 @@ import java.util.Set;
  * - SelectionKey for event-driven I/O
  * - Single-threaded event loop handling multiple clients
  * - Scalable architecture for high-concurrency
+ *
+ * The selector loop itself lives in NioReactor, shared with the NIO TLS payment server.
  */
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class NIOBidServer {
+public class NIOBidServer extends NioReactor {
 
     private final BidService bidService;
     private final ObjectMapper objectMapper = new ObjectMapper();
@@ -48,91 +45,38 @@ public class NIOBidServer {
     @Value("${nio.server.port:8082}")
     private int port;
 
-    private Selector selector;
-    private ServerSocketChannel serverChannel;
-    private volatile boolean running = false;
-
     /**
      * Start NIO server when application is ready
      */
     @EventListener(ApplicationReadyEvent.class)
     public void startServer() {
-        new Thread(() -> {
-            try {
-                // Create selector for multiplexing
-                selector = Selector.open();
-
-                // Create non-blocking server channel
-                serverChannel = ServerSocketChannel.open();
-                serverChannel.configureBlocking(false);
-                serverChannel.bind(new InetSocketAddress(port));
-
-                // Register channel with selector for ACCEPT events
-                serverChannel.register(selector, SelectionKey.OP_ACCEPT);
-
-                running = true;
-
-                log.info("╔═══════════════════════════════════════════════════════════╗");
-                log.info("║  NIO BID SERVER STARTED (Member 4)                       ║");
-                log.info("║  Port: {}                                              ║", port);
-                log.info("║  Mode: NON-BLOCKING I/O                                  ║");
-                log.info("║  Can handle 100+ connections with SINGLE thread!        ║");
-                log.info("╚═══════════════════════════════════════════════════════════╝");
-
-                // Event loop - single thread handles all connections!
-                while (running) {
-                    // Wait for events (blocks until something happens)
-                    selector.select();
-
-                    // Get selected keys (events that occurred)
-                    Set<SelectionKey> selectedKeys = selector.selectedKeys();
-                    Iterator<SelectionKey> iterator = selectedKeys.iterator();
-
-                    while (iterator.hasNext()) {
-                        SelectionKey key = iterator.next();
-                        iterator.remove();
-
-                        if (!key.isValid()) {
-                            continue;
-                        }
-
-                        // Handle different event types
-                        if (key.isAcceptable()) {
-                            handleAccept(key);
-                        } else if (key.isReadable()) {
-                            handleRead(key);
-                        }
-                    }
-                }
+        start("NIO-Bid-Server", port, 0);
+    }
 
-            } catch (IOException e) {
-                log.error("NIO Server error", e);
-            }
-        }, "NIO-Bid-Server").start();
+    @Override
+    protected void onStarted() {
+        log.info("╔═══════════════════════════════════════════════════════════╗");
+        log.info("║  NIO BID SERVER STARTED (Member 4)                       ║");
+        log.info("║  Port: {}                                              ║", port);
+        log.info("║  Mode: NON-BLOCKING I/O                                  ║");
+        log.info("║  Can handle 100+ connections with SINGLE thread!        ║");
+        log.info("╚═══════════════════════════════════════════════════════════╝");
     }
 
     /**
      * Handle new client connection (ACCEPT event)
      */
-    private void handleAccept(SelectionKey key) throws IOException {
-        ServerSocketChannel serverChannel = (ServerSocketChannel) key.channel();
-        SocketChannel clientChannel = serverChannel.accept();
-
-        if (clientChannel != null) {
-            clientChannel.configureBlocking(false);
-
-            // Register client channel for READ events
-            clientChannel.register(selector, SelectionKey.OP_READ);
-
-            log.info("🔌 NIO: New connection from {}",
-                    clientChannel.getRemoteAddress());
-        }
+    @Override
+    protected void onAccept(SocketChannel clientChannel, SelectionKey key) throws IOException {
+        log.info("🔌 NIO: New connection from {}",
+                clientChannel.getRemoteAddress());
     }
 
     /**
      * Handle data from client (READ event)
      */
-    private void handleRead(SelectionKey key) {
+    @Override
+    protected void onReadable(SelectionKey key) {
         SocketChannel clientChannel = (SocketChannel) key.channel();
         ByteBuffer buffer = ByteBuffer.allocate(1024);
 
@@ -237,23 +181,4 @@ public class NIOBidServer {
             log.error("Error sending NIO response", e);
         }
     }
-
-    /**
-     * Shutdown NIO server
-     */
-    public void shutdown() {
-        running = false;
-
-        try {
-            if (selector != null && selector.isOpen()) {
-                selector.close();
-            }
-            if (serverChannel != null && serverChannel.isOpen()) {
-                serverChannel.close();
-            }
-            log.info("NIO Bid Server stopped");
-        } catch (IOException e) {
-            log.error("Error shutting down NIO server", e);
-        }
-    }
 }
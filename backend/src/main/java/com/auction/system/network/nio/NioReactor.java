@@ -0,0 +1,200 @@
+package com.auction.system.network.nio;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * NIO Reactor
+ * Single-threaded selector loop shared by the NIO servers.
+ *
+ * Binds a non-blocking ServerSocketChannel, accepts clients (registered for
+ * READ events) and dispatches readiness events to the subclass. With a
+ * select timeout the loop also wakes periodically so subclasses can expire
+ * idle connections in onTick().
+ *
+ * A handler that throws only costs its own connection: the exception is
+ * logged and that channel closed, while the loop keeps serving the rest.
+ */
+@Slf4j
+public abstract class NioReactor {
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private volatile boolean running = false;
+    private String name;
+
+    /**
+     * Bind the port and run the event loop on its own thread
+     *
+     * @param selectTimeoutMs how long select() may block (0 = until an event arrives)
+     */
+    protected void start(String name, int port, long selectTimeoutMs) {
+        this.name = name;
+        new Thread(() -> {
+            try {
+                // Create selector for multiplexing
+                selector = Selector.open();
+
+                // Create non-blocking server channel
+                serverChannel = ServerSocketChannel.open();
+                serverChannel.configureBlocking(false);
+                serverChannel.bind(new InetSocketAddress(port));
+
+                // Register channel with selector for ACCEPT events
+                serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+                running = true;
+                onStarted();
+
+                // Event loop - single thread handles all connections!
+                while (running) {
+                    if (selectTimeoutMs > 0) {
+                        selector.select(selectTimeoutMs);
+                    } else {
+                        selector.select();
+                    }
+
+                    Set<SelectionKey> selectedKeys = selector.selectedKeys();
+                    Iterator<SelectionKey> iterator = selectedKeys.iterator();
+
+                    while (iterator.hasNext()) {
+                        SelectionKey key = iterator.next();
+                        iterator.remove();
+                        dispatch(key);
+                    }
+
+                    try {
+                        onTick();
+                    } catch (RuntimeException e) {
+                        log.error("{}: tick failed", name, e);
+                    }
+                }
+
+            } catch (IOException | ClosedSelectorException e) {
+                if (running) {
+                    log.error("{} error", name, e);
+                }
+            }
+        }, name).start();
+    }
+
+    private void dispatch(SelectionKey key) {
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            if (key.isReadable()) {
+                onReadable(key);
+            }
+            if (key.isValid() && key.isWritable()) {
+                onWritable(key);
+            }
+        } catch (CancelledKeyException e) {
+            // Closed by the handler while processing another event
+        } catch (IOException e) {
+            log.error("{}: error accepting connection", name, e);
+        } catch (RuntimeException e) {
+            // Drop only the connection whose handler failed; never the server channel
+            log.error("{}: handler failed for {}", name, key.channel(), e);
+            if (key.channel() != serverChannel) {
+                close(key);
+            }
+        }
+    }
+
+    /**
+     * Handle new client connection (ACCEPT event)
+     */
+    private void accept() throws IOException {
+        SocketChannel clientChannel = serverChannel.accept();
+
+        if (clientChannel != null) {
+            clientChannel.configureBlocking(false);
+
+            // Register client channel for READ events
+            SelectionKey clientKey = clientChannel.register(selector, SelectionKey.OP_READ);
+            onAccept(clientChannel, clientKey);
+        }
+    }
+
+    /**
+     * Called on the loop thread once the port is bound
+     */
+    protected void onStarted() {
+    }
+
+    /**
+     * A client was accepted and registered for READ events; attach per-connection state here
+     */
+    protected abstract void onAccept(SocketChannel clientChannel, SelectionKey key) throws IOException;
+
+    /**
+     * Data is available on a client channel
+     */
+    protected abstract void onReadable(SelectionKey key);
+
+    /**
+     * A client channel registered for OP_WRITE can accept more bytes
+     */
+    protected void onWritable(SelectionKey key) {
+    }
+
+    /**
+     * Called after every pass of the event loop
+     */
+    protected void onTick() {
+    }
+
+    /**
+     * Close a client channel and cancel its key
+     */
+    protected void close(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            log.error("Error closing channel", e);
+        }
+    }
+
+    protected Selector getSelector() {
+        return selector;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Shutdown the server
+     */
+    public void shutdown() {
+        running = false;
+
+        try {
+            if (selector != null && selector.isOpen()) {
+                selector.close();
+            }
+            if (serverChannel != null && serverChannel.isOpen()) {
+                serverChannel.close();
+            }
+            log.info("{} stopped", name);
+        } catch (IOException e) {
+            log.error("Error shutting down {}", name, e);
+        }
+    }
+}
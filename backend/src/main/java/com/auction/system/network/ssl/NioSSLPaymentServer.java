@@ -0,0 +1,417 @@
+package com.auction.system.network.ssl;
+
+import com.auction.system.network.nio.NioReactor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import javax.net.ssl.SSLException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking SSL/TLS Payment Server
+ *
+ * Serves the same line-delimited JSON payment protocol as SSLPaymentServer,
+ * but drives an SSLEngine per connection from the shared NioReactor selector
+ * loop instead of dedicating a thread to each socket, so slow clients and
+ * in-progress handshakes cost a buffer set rather than a thread.
+ * Enabled with ssl.server.mode=nio.
+ *
+ * Both modes use the SSLContext from SslContextProvider, so repeat clients
+ * resume their session (cache or ticket) instead of doing a full handshake,
+ * and both keep connections alive for further requests (ssl.keep-alive.*).
+ */
+@Component
+@ConditionalOnProperty(name = "ssl.server.mode", havingValue = "nio")
+@RequiredArgsConstructor
+@Slf4j
+public class NioSSLPaymentServer extends NioReactor {
+
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final SslContextProvider sslContextProvider;
+    private final SslHandshakeMetrics handshakeMetrics;
+    private final PaymentRequestHandler paymentRequestHandler;
+
+    @Value("${ssl.server.port:8443}")
+    private int port;
+
+    @Value("${ssl.keep-alive.timeout-ms:30000}")
+    private long idleTimeoutMs;
+
+    @Value("${ssl.keep-alive.max-requests:100}")
+    private int keepAliveMaxRequests;
+
+    @Value("${ssl.nio.max-request-bytes:65536}")
+    private int maxRequestBytes;
+
+    private SSLContext sslContext;
+    private long lastIdleSweep = System.currentTimeMillis();
+
+    // Monitoring fields
+    private final AtomicLong activeConnections = new AtomicLong(0);
+    private final AtomicLong totalConnections = new AtomicLong(0);
+    private final AtomicLong idleTimeouts = new AtomicLong(0);
+
+    /**
+     * Start NIO SSL server when application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startServer() {
+        try {
+            sslContext = sslContextProvider.getContext();
+        } catch (Exception e) {
+            log.error("Failed to start NIO SSL server", e);
+            return;
+        }
+        start("NIO-SSL-Payment-Server", port, 1000);
+    }
+
+    @Override
+    protected void onStarted() {
+        log.info("╔═══════════════════════════════════════════════════════════╗");
+        log.info("║  SSL/TLS PAYMENT SERVER STARTED (NIO + SSLEngine)        ║");
+        log.info("║  Port: {}                                             ║", port);
+        log.info("║  Mode: NON-BLOCKING TLS, single selector thread          ║");
+        log.info("║  Session resumption enabled                              ║");
+        log.info("╚═══════════════════════════════════════════════════════════╝");
+    }
+
+    @Override
+    protected void onAccept(SocketChannel clientChannel, SelectionKey key) throws IOException {
+        InetSocketAddress remote = (InetSocketAddress) clientChannel.getRemoteAddress();
+
+        // Peer host/port lets the engine look up a cached session for resumption
+        SSLEngine engine = sslContext.createSSLEngine(remote.getHostString(), remote.getPort());
+        engine.setUseClientMode(false);
+        engine.beginHandshake();
+
+        key.attach(new TlsConnection(engine, remote.getHostString() + ":" + remote.getPort()));
+        activeConnections.incrementAndGet();
+        totalConnections.incrementAndGet();
+        log.info("🔐 SSL: Secure connection from {}", remote);
+    }
+
+    @Override
+    protected void onReadable(SelectionKey key) {
+        TlsConnection connection = (TlsConnection) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+
+        try {
+            int bytesRead = channel.read(connection.netIn);
+            if (bytesRead == -1) {
+                closeConnection(key, connection);
+                return;
+            }
+            connection.lastActivity = System.currentTimeMillis();
+            process(key, connection);
+        } catch (IOException e) {
+            if (!connection.handshakeComplete) {
+                handshakeMetrics.recordFailure();
+            }
+            log.warn("⚠️ SSL: Connection {} failed: {}", connection.clientAddress, e.getMessage());
+            closeConnection(key, connection);
+        }
+    }
+
+    @Override
+    protected void onWritable(SelectionKey key) {
+        TlsConnection connection = (TlsConnection) key.attachment();
+
+        try {
+            if (!flush(key, connection)) {
+                return;
+            }
+            if (connection.closing) {
+                closeConnection(key, connection);
+            } else {
+                // Handshake output drained; continue with any buffered input
+                process(key, connection);
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ SSL: Write to {} failed: {}", connection.clientAddress, e.getMessage());
+            closeConnection(key, connection);
+        }
+    }
+
+    /**
+     * Close connections that have been silent for longer than the idle timeout
+     */
+    @Override
+    protected void onTick() {
+        long now = System.currentTimeMillis();
+        if (now - lastIdleSweep < 1000) {
+            return;
+        }
+        lastIdleSweep = now;
+
+        for (SelectionKey key : getSelector().keys()) {
+            if (key.attachment() instanceof TlsConnection connection
+                    && now - connection.lastActivity > idleTimeoutMs) {
+                if (!connection.handshakeComplete) {
+                    handshakeMetrics.recordFailure();
+                }
+                idleTimeouts.incrementAndGet();
+                log.debug("🔐 SSL: Idle timeout for {}", connection.clientAddress);
+                closeConnection(key, connection);
+            }
+        }
+    }
+
+    /**
+     * Advance the handshake and decrypt whatever complete records are buffered
+     */
+    private void process(SelectionKey key, TlsConnection connection) throws IOException {
+        SSLEngine engine = connection.engine;
+        long cpuStart = connection.handshakeComplete ? -1 : SslHandshakeMetrics.threadCpuNanos();
+        connection.cpuMark = cpuStart;
+        connection.netIn.flip();
+        try {
+            while (key.isValid() && !connection.closing) {
+                HandshakeStatus status = engine.getHandshakeStatus();
+
+                if (status == HandshakeStatus.NEED_TASK) {
+                    Runnable task;
+                    while ((task = engine.getDelegatedTask()) != null) {
+                        task.run();
+                    }
+                    continue;
+                }
+
+                if (status == HandshakeStatus.NEED_WRAP) {
+                    wrap(connection, EMPTY);
+                    if (!flush(key, connection)) {
+                        return; // resumed from onWritable
+                    }
+                    continue;
+                }
+
+                if (!connection.netIn.hasRemaining() && status != HandshakeStatus.NEED_UNWRAP_AGAIN) {
+                    return;
+                }
+
+                SSLEngineResult result = engine.unwrap(connection.netIn, connection.appIn);
+                switch (result.getStatus()) {
+                    case BUFFER_UNDERFLOW:
+                        return; // partial record, wait for more bytes
+                    case BUFFER_OVERFLOW:
+                        connection.appIn = enlarge(connection.appIn, engine.getSession().getApplicationBufferSize());
+                        continue;
+                    case CLOSED:
+                        closeConnection(key, connection);
+                        return;
+                    default:
+                        break;
+                }
+
+                if (result.getHandshakeStatus() == HandshakeStatus.FINISHED) {
+                    handshakeFinished(connection);
+                }
+                if (connection.appIn.position() > 0) {
+                    consumeApplicationData(key, connection);
+                }
+            }
+        } finally {
+            connection.netIn.compact();
+            if (cpuStart >= 0 && !connection.handshakeComplete) {
+                connection.handshakeCpuNanos += SslHandshakeMetrics.threadCpuNanos() - cpuStart;
+            }
+        }
+    }
+
+    /**
+     * Split decrypted bytes into lines and answer each request once its closing line arrives
+     */
+    private void consumeApplicationData(SelectionKey key, TlsConnection connection) throws IOException {
+        ByteBuffer appIn = connection.appIn;
+        byte[] data = appIn.array();
+        int limit = appIn.position();
+        int start = 0;
+        appIn.clear();
+
+        for (int i = 0; i < limit && !connection.closing; i++) {
+            if (data[i] != '\n') {
+                continue;
+            }
+            connection.line.write(data, start, i - start);
+            start = i + 1;
+
+            // Newline is a single byte in UTF-8, so a complete line decodes cleanly
+            String line = connection.line.toString(StandardCharsets.UTF_8);
+            connection.line.reset();
+            connection.request.append(line);
+            if (line.trim().endsWith("}")) {
+                String requestJson = connection.request.toString().trim();
+                connection.request.setLength(0);
+                respond(key, connection, paymentRequestHandler.handle(
+                        requestJson, connection.clientAddress, connection.engine.getSession()));
+            }
+        }
+        if (connection.closing) {
+            return;
+        }
+        connection.line.write(data, start, limit - start);
+
+        if (connection.line.size() + connection.request.length() > maxRequestBytes) {
+            log.warn("⚠️ SSL: Request from {} exceeds {} bytes", connection.clientAddress, maxRequestBytes);
+            connection.requestsHandled = keepAliveMaxRequests; // close after this response
+            respond(key, connection, "{\"success\":false,\"message\":\"Request too large\"}");
+        }
+    }
+
+    /**
+     * Encrypt a response; after the last request allowed on the connection, follow it
+     * with close_notify and close once everything is flushed
+     */
+    private void respond(SelectionKey key, TlsConnection connection, String responseJson) throws IOException {
+        ByteBuffer plain = ByteBuffer.wrap((responseJson + "\n").getBytes(StandardCharsets.UTF_8));
+        while (plain.hasRemaining()) {
+            if (wrap(connection, plain).bytesConsumed() == 0) {
+                throw new SSLException("Engine did not accept response data");
+            }
+        }
+        log.debug("🔐 SSL: Encrypted response queued for {}", connection.clientAddress);
+
+        if (++connection.requestsHandled >= keepAliveMaxRequests) {
+            connection.engine.closeOutbound();
+            while (!connection.engine.isOutboundDone()) {
+                if (wrap(connection, EMPTY).bytesProduced() == 0) {
+                    break;
+                }
+            }
+            connection.closing = true;
+        }
+
+        if (flush(key, connection) && connection.closing) {
+            closeConnection(key, connection);
+        }
+    }
+
+    /**
+     * Wrap into netOut, growing it when the engine needs more room
+     */
+    private SSLEngineResult wrap(TlsConnection connection, ByteBuffer source) throws SSLException {
+        while (true) {
+            SSLEngineResult result = connection.engine.wrap(source, connection.netOut);
+            if (result.getStatus() == SSLEngineResult.Status.BUFFER_OVERFLOW) {
+                connection.netOut = enlarge(connection.netOut, connection.engine.getSession().getPacketBufferSize());
+                continue;
+            }
+            if (result.getHandshakeStatus() == HandshakeStatus.FINISHED) {
+                handshakeFinished(connection);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Write pending ciphertext; returns false (and waits for OP_WRITE) if the socket is full
+     */
+    private boolean flush(SelectionKey key, TlsConnection connection) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        connection.netOut.flip();
+        try {
+            while (connection.netOut.hasRemaining()) {
+                if (channel.write(connection.netOut) == 0) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return false;
+                }
+            }
+        } finally {
+            connection.netOut.compact();
+        }
+        key.interestOps(SelectionKey.OP_READ);
+        return true;
+    }
+
+    private void handshakeFinished(TlsConnection connection) {
+        if (!connection.handshakeComplete) {
+            connection.handshakeComplete = true;
+            connection.handshakeCpuNanos += SslHandshakeMetrics.threadCpuNanos() - connection.cpuMark;
+            handshakeMetrics.recordHandshake(connection.engine.getSession(),
+                    connection.handshakeStartNanos, connection.handshakeStartMillis,
+                    connection.handshakeCpuNanos);
+            log.info("🔐 SSL: Using cipher suite: {}", connection.engine.getSession().getCipherSuite());
+        }
+    }
+
+    private void closeConnection(SelectionKey key, TlsConnection connection) {
+        if (key.attachment() == null) {
+            return;
+        }
+        key.attach(null);
+        activeConnections.decrementAndGet();
+        connection.engine.closeOutbound();
+        close(key);
+        log.debug("🔐 SSL: Secure connection closed: {}", connection.clientAddress);
+    }
+
+    /**
+     * Copy a buffer (in write mode) into a larger one
+     */
+    private static ByteBuffer enlarge(ByteBuffer buffer, int minimumFree) {
+        ByteBuffer larger = ByteBuffer.allocate(buffer.position() + Math.max(minimumFree, buffer.capacity()));
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public long getActiveConnections() {
+        return activeConnections.get();
+    }
+
+    public long getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    public long getIdleTimeouts() {
+        return idleTimeouts.get();
+    }
+
+    /**
+     * Per-connection TLS state
+     */
+    private static final class TlsConnection {
+        private final SSLEngine engine;
+        private final String clientAddress;
+        private final long handshakeStartNanos = System.nanoTime();
+        private final long handshakeStartMillis = System.currentTimeMillis();
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private final StringBuilder request = new StringBuilder();
+        private ByteBuffer netIn;
+        private ByteBuffer appIn;
+        private ByteBuffer netOut;
+        private long lastActivity = System.currentTimeMillis();
+        private long handshakeCpuNanos;
+        private long cpuMark;
+        private int requestsHandled;
+        private boolean handshakeComplete;
+        private boolean closing;
+
+        private TlsConnection(SSLEngine engine, String clientAddress) {
+            this.engine = engine;
+            this.clientAddress = clientAddress;
+            int packetSize = engine.getSession().getPacketBufferSize();
+            this.netIn = ByteBuffer.allocate(packetSize);
+            this.netOut = ByteBuffer.allocate(packetSize);
+            this.appIn = ByteBuffer.allocate(engine.getSession().getApplicationBufferSize());
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.auction.system.network.ssl;
+
+import com.auction.system.network.ssl.SSLPaymentServer.PaymentRequest;
+import com.auction.system.network.ssl.SSLPaymentServer.PaymentResponse;
+import com.auction.system.service.IdempotencyCache;
+import com.auction.system.service.IdempotencyCache.IdempotencyKeyConflictException;
+import com.auction.system.util.SnowflakeIdGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLSession;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Payment Request Handler
+ * Parses and processes one decrypted payment request; shared by the
+ * blocking and NIO payment servers so both apply identical rules.
+ * Keeps payment counters and the last RECENT_TRANSACTIONS results (no card data)
+ * for the SSL monitor.
+ *
+ * Requests carrying an idempotencyKey are processed once per user and key;
+ * a retry gets the original response back (replayed=true) from
+ * IdempotencyCache without being processed again.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentRequestHandler {
+
+    private static final int RECENT_TRANSACTIONS = 50;
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
+    private final IdempotencyCache idempotencyCache;
+    private final SnowflakeIdGenerator idGenerator;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Monitoring fields
+    private final AtomicLong totalRequests = new AtomicLong(0);
+    private final AtomicLong successfulPayments = new AtomicLong(0);
+    private final AtomicLong failedPayments = new AtomicLong(0);
+    private final ConcurrentLinkedDeque<Map<String, Object>> recentTransactions = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Handle a JSON payment request
+     *
+     * @param session the TLS session the request arrived on
+     * @return the JSON response (without line terminator)
+     */
+    public String handle(String requestJson, String clientAddress, SSLSession session) {
+        totalRequests.incrementAndGet();
+
+        if (requestJson.isEmpty()) {
+            log.warn("⚠️ SSL: Empty request from {}", clientAddress);
+            failedPayments.incrementAndGet();
+            return toJson(new PaymentResponse(false, "Empty request", null));
+        }
+
+        log.debug("🔐 SSL: Encrypted data received from {}", clientAddress);
+
+        // Parse payment request
+        PaymentRequest paymentRequest;
+        try {
+            paymentRequest = objectMapper.readValue(requestJson, PaymentRequest.class);
+        } catch (Exception e) {
+            log.warn("⚠️ SSL: Invalid JSON from {}", clientAddress);
+            failedPayments.incrementAndGet();
+            return toJson(new PaymentResponse(false, "Invalid JSON", null));
+        }
+
+        String idempotencyKey = paymentRequest.getIdempotencyKey();
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                failedPayments.incrementAndGet();
+                return toJson(new PaymentResponse(false, "Idempotency key too long", null));
+            }
+            try {
+                IdempotencyCache.Result<PaymentResponse> result = idempotencyCache.execute(
+                        "ssl-payment:" + paymentRequest.getUserId() + ":" + idempotencyKey,
+                        fingerprint(paymentRequest),
+                        () -> process(paymentRequest, clientAddress, session));
+                if (!result.replayed()) {
+                    return toJson(result.value());
+                }
+                log.info("🔁 SSL: Replaying response for idempotency key {} (TransactionID={})",
+                        idempotencyKey, result.value().getTransactionId());
+                PaymentResponse replay = new PaymentResponse(result.value().isSuccess(),
+                        result.value().getMessage(), result.value().getTransactionId());
+                replay.setReplayed(true);
+                return toJson(replay);
+            } catch (IdempotencyKeyConflictException e) {
+                failedPayments.incrementAndGet();
+                return toJson(new PaymentResponse(false, e.getMessage(), null));
+            }
+        }
+
+        return toJson(process(paymentRequest, clientAddress, session));
+    }
+
+    private PaymentResponse process(PaymentRequest paymentRequest, String clientAddress, SSLSession session) {
+        // Process secure payment
+        log.info("💳 SSL: Processing payment - User={}, Amount=${}",
+                paymentRequest.getUserId(), paymentRequest.getAmount());
+
+        PaymentResponse response = processPayment(paymentRequest);
+
+        if (response.isSuccess()) {
+            successfulPayments.incrementAndGet();
+            log.info("✅ SSL: Payment SUCCESSFUL - TransactionID={}",
+                    response.getTransactionId());
+        } else {
+            failedPayments.incrementAndGet();
+            log.warn("❌ SSL: Payment FAILED - {}", response.getMessage());
+        }
+        recordTransaction(paymentRequest, response, clientAddress, session);
+
+        return response;
+    }
+
+    /**
+     * What a retry must match to be treated as the same payment
+     */
+    private String fingerprint(PaymentRequest request) {
+        return request.getAuctionId() + "|"
+                + (request.getAmount() != null ? request.getAmount().stripTrailingZeros().toPlainString() : "");
+    }
+
+    private void recordTransaction(PaymentRequest request, PaymentResponse response,
+                                   String clientAddress, SSLSession session) {
+        Map<String, Object> transaction = new LinkedHashMap<>();
+        transaction.put("id", response.getTransactionId());
+        transaction.put("clientIp", clientAddress.substring(0, clientAddress.lastIndexOf(':')));
+        transaction.put("userId", request.getUserId());
+        transaction.put("auctionId", request.getAuctionId());
+        transaction.put("amount", request.getAmount());
+        transaction.put("status", response.isSuccess() ? "SUCCESS" : "FAILED");
+        transaction.put("message", response.getMessage());
+        transaction.put("encrypted", true);
+        transaction.put("protocol", session.getProtocol());
+        transaction.put("cipher", session.getCipherSuite());
+        transaction.put("timestamp", LocalDateTime.now().toString());
+
+        recentTransactions.addFirst(transaction);
+        while (recentTransactions.size() > RECENT_TRANSACTIONS) {
+            recentTransactions.pollLast();
+        }
+    }
+
+    /**
+     * Process secure payment (simplified for demo)
+     */
+    private PaymentResponse processPayment(PaymentRequest request) {
+        try {
+            // Validate payment request
+            if (request.getUserId() == null || request.getAmount() == null) {
+                return new PaymentResponse(false, "Missing required fields", null);
+            }
+
+            if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+                return new PaymentResponse(false, "Invalid amount", null);
+            }
+
+            // Simulate payment processing
+            // In real application, integrate with payment gateway
+            String transactionId = idGenerator.nextId("TXN-");
+
+            // Simulate card validation
+            if (request.getCardNumber() != null && request.getCardNumber().length() < 13) {
+                return new PaymentResponse(false, "Invalid card number", null);
+            }
+
+            log.info("💳 Processing secure payment: ${} for user {}",
+                    request.getAmount(), request.getUserId());
+
+            // Payment successful
+            return new PaymentResponse(true, "Payment processed successfully", transactionId);
+
+        } catch (Exception e) {
+            log.error("Payment processing error", e);
+            return new PaymentResponse(false, "Payment processing failed: " + e.getMessage(), null);
+        }
+    }
+
+    private String toJson(PaymentResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (Exception e) {
+            log.error("Error serializing SSL response", e);
+            return "{\"success\":false,\"message\":\"Server error\"}";
+        }
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public long getTotalRequests() {
+        return totalRequests.get();
+    }
+
+    public long getSuccessfulPayments() {
+        return successfulPayments.get();
+    }
+
+    public long getFailedPayments() {
+        return failedPayments.get();
+    }
+
+    /**
+     * Most recent payment results, newest first
+     */
+    public List<Map<String, Object>> getRecentTransactions() {
+        return new ArrayList<>(recentTransactions);
+    }
+}
@@ -6,6 +6,7 @@ import javax.net.ssl.*;
 import java.io.*;
 import java.math.BigDecimal;
 import java.security.cert.X509Certificate;
+import java.util.UUID;
 
 /**
  * SSL Payment Client for Testing (Member 5)
@@ -71,6 +72,8 @@ public class SSLPaymentClient {
                 request.setCardholderName(cardholderName);
                 request.setExpiryDate(expiryDate);
                 request.setCvv(cvv);
+                // One key per payment; a retry of this payment must reuse it
+                request.setIdempotencyKey(UUID.randomUUID().toString());
 
                 // Send secure payment request
                 System.out.println("\n🔐 Establishing secure SSL/TLS connection...");
@@ -173,6 +176,7 @@ public class SSLPaymentClient {
         private String cardholderName;
         private String expiryDate;
         private String cvv;
+        private String idempotencyKey;
 
         // Getters and setters
         public Long getUserId() { return userId; }
@@ -195,6 +199,9 @@ public class SSLPaymentClient {
 
         public String getCvv() { return cvv; }
         public void setCvv(String cvv) { this.cvv = cvv; }
+
+        public String getIdempotencyKey() { return idempotencyKey; }
+        public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
     }
 
     /**
@@ -204,6 +211,7 @@ public class SSLPaymentClient {
         private boolean success;
         private String message;
         private String transactionId;
+        private boolean replayed;
 
         // Getters and setters
         public boolean isSuccess() { return success; }
@@ -214,5 +222,8 @@ public class SSLPaymentClient {
 
         public String getTransactionId() { return transactionId; }
         public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+        public boolean isReplayed() { return replayed; }
+        public void setReplayed(boolean replayed) { this.replayed = replayed; }
     }
 }
@@ -1,20 +1,26 @@
 package com.auction.system.network.ssl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Data;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 
 import javax.net.ssl.*;
 import java.io.*;
 import java.math.BigDecimal;
-import java.security.KeyStore;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * SSL/TLS Secure Payment Server (Member 5)
@@ -29,44 +35,56 @@ import java.util.concurrent.Executors;
  * - KeyStore and TrustStore management
  * - Encrypted data transmission
  * - Secure payment processing
+ *
+ * This is the default (ssl.server.mode=blocking) server, one thread per
+ * connection; NioSSLPaymentServer serves the same protocol on a selector loop.
+ * Connections are kept alive for further payments (ssl.keep-alive.*), so a
+ * client paying repeatedly pays for one handshake. Each open connection holds
+ * a pool thread, so when every thread is taken an idle keep-alive connection
+ * is closed to make room, and no connection is kept alive while others wait.
  */
 @Component
+@ConditionalOnProperty(name = "ssl.server.mode", havingValue = "blocking", matchIfMissing = true)
+@RequiredArgsConstructor
 @Slf4j
 public class SSLPaymentServer {
 
+    private static final int POOL_SIZE = 20;
+
+    private final SslContextProvider sslContextProvider;
+    private final SslHandshakeMetrics handshakeMetrics;
+    private final PaymentRequestHandler paymentRequestHandler;
+
     @Value("${ssl.server.port:8443}")
     private int port;
 
-    @Value("${ssl.keystore.password:changeit}")
-    private String keystorePassword;
+    @Value("${ssl.keep-alive.timeout-ms:30000}")
+    private int keepAliveTimeoutMs;
+
+    @Value("${ssl.keep-alive.max-requests:100}")
+    private int keepAliveMaxRequests;
 
     private SSLServerSocket serverSocket;
     private ExecutorService executorService;
     private volatile boolean running = false;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Connections accepted and not yet closed (handled or waiting for a thread)
+    private final AtomicInteger openConnections = new AtomicInteger();
+    // Connections whose thread is waiting for a further keep-alive request
+    private final Set<SSLSocket> idleConnections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong idleConnectionsReclaimed = new AtomicLong();
 
     /**
      * Start SSL server when application is ready
      */
     @EventListener(ApplicationReadyEvent.class)
     public void startServer() {
-        executorService = Executors.newFixedThreadPool(20);
+        executorService = Executors.newFixedThreadPool(POOL_SIZE);
 
         new Thread(() -> {
             try {
-                // Load keystore
-                KeyStore keyStore = KeyStore.getInstance("PKCS12");
-                InputStream keystoreStream = new ClassPathResource("keystore.p12").getInputStream();
-                keyStore.load(keystoreStream, keystorePassword.toCharArray());
-
-                // Initialize KeyManagerFactory
-                KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(
-                        KeyManagerFactory.getDefaultAlgorithm());
-                keyManagerFactory.init(keyStore, keystorePassword.toCharArray());
-
-                // Initialize SSLContext
-                SSLContext sslContext = SSLContext.getInstance("TLS");
-                sslContext.init(keyManagerFactory.getKeyManagers(), null, null);
+                // Shared SSLContext (keystore + server session cache)
+                SSLContext sslContext = sslContextProvider.getContext();
 
                 // Create SSL server socket
                 SSLServerSocketFactory factory = sslContext.getServerSocketFactory();
@@ -93,6 +111,11 @@ public class SSLPaymentServer {
                                 clientSocket.getInetAddress().getHostAddress(),
                                 clientSocket.getPort());
 
+                        // Every thread busy: free one held by an idle keep-alive connection
+                        if (openConnections.incrementAndGet() > POOL_SIZE) {
+                            reclaimIdleConnection();
+                        }
+
                         // Handle client in separate thread
                         executorService.submit(() -> handleClient(clientSocket));
 
@@ -116,66 +139,73 @@ public class SSLPaymentServer {
         String clientAddress = clientSocket.getInetAddress().getHostAddress() + ":" + clientSocket.getPort();
 
         try {
-            // Set timeout
-            clientSocket.setSoTimeout(30000);
+            // Set timeout (also the keep-alive idle timeout between requests)
+            clientSocket.setSoTimeout(keepAliveTimeoutMs);
+
+            // Handshake explicitly so its latency and CPU cost can be measured
+            long handshakeStartNanos = System.nanoTime();
+            long handshakeStartMillis = System.currentTimeMillis();
+            long handshakeStartCpu = SslHandshakeMetrics.threadCpuNanos();
+            try {
+                clientSocket.startHandshake();
+            } catch (IOException e) {
+                handshakeMetrics.recordFailure();
+                throw e;
+            }
+            SSLSession session = clientSocket.getSession();
+            handshakeMetrics.recordHandshake(session, handshakeStartNanos, handshakeStartMillis,
+                    SslHandshakeMetrics.threadCpuNanos() - handshakeStartCpu);
 
             // Get cipher suite being used
-            String cipherSuite = clientSocket.getSession().getCipherSuite();
+            String cipherSuite = session.getCipherSuite();
             log.info("🔐 SSL: Using cipher suite: {}", cipherSuite);
 
             // Get input/output streams (encrypted automatically!)
             BufferedReader in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
             PrintWriter out = new PrintWriter(clientSocket.getOutputStream(), true);
 
-            // Read payment request
-            StringBuilder requestBuilder = new StringBuilder();
-            String line;
-            while ((line = in.readLine()) != null) {
-                requestBuilder.append(line);
-                if (line.trim().endsWith("}")) {
+            // Keep-alive: answer requests on this connection until the client closes it,
+            // it stays idle past the timeout, the per-connection limit is reached, or
+            // other connections are waiting for a thread
+            int handled = 0;
+            while (handled < keepAliveMaxRequests) {
+                if (handled > 0 && openConnections.get() > POOL_SIZE) {
+                    log.debug("🔐 SSL: Pool busy, not keeping {} alive", clientAddress);
                     break;
                 }
-            }
-
-            String requestJson = requestBuilder.toString();
-
-            if (requestJson.isEmpty()) {
-                log.warn("⚠️ SSL: Empty request from {}", clientAddress);
-                sendResponse(out, new PaymentResponse(false, "Empty request", null));
-                return;
-            }
-
-            log.debug("🔐 SSL: Encrypted data received from {}", clientAddress);
-
-            // Parse payment request
-            PaymentRequest paymentRequest;
-            try {
-                paymentRequest = objectMapper.readValue(requestJson, PaymentRequest.class);
-            } catch (Exception e) {
-                log.warn("⚠️ SSL: Invalid JSON from {}", clientAddress);
-                sendResponse(out, new PaymentResponse(false, "Invalid JSON", null));
-                return;
-            }
-
-            // Process secure payment
-            log.info("💳 SSL: Processing payment - User={}, Amount=${}",
-                    paymentRequest.getUserId(), paymentRequest.getAmount());
-
-            PaymentResponse response = processPayment(paymentRequest);
 
-            // Send encrypted response
-            sendResponse(out, response);
+                String requestJson;
+                if (handled > 0) {
+                    idleConnections.add(clientSocket);
+                }
+                try {
+                    requestJson = readRequest(in);
+                } catch (SocketTimeoutException e) {
+                    log.debug("🔐 SSL: Keep-alive timeout for {}", clientAddress);
+                    break;
+                } catch (SocketException e) {
+                    if (handled > 0 && clientSocket.isClosed()) {
+                        log.debug("🔐 SSL: Idle connection {} closed for a waiting client", clientAddress);
+                        break;
+                    }
+                    throw e;
+                } finally {
+                    idleConnections.remove(clientSocket);
+                }
+                if (requestJson == null) {
+                    break; // client closed the connection
+                }
 
-            if (response.isSuccess()) {
-                log.info("✅ SSL: Payment SUCCESSFUL - TransactionID={}",
-                        response.getTransactionId());
-            } else {
-                log.warn("❌ SSL: Payment FAILED - {}", response.getMessage());
+                // Process secure payment and send encrypted response
+                out.println(paymentRequestHandler.handle(requestJson, clientAddress, session));
+                log.debug("🔐 SSL: Encrypted response sent");
+                handled++;
             }
 
         } catch (Exception e) {
             log.error("Error handling SSL client {}", clientAddress, e);
         } finally {
+            openConnections.decrementAndGet();
             try {
                 clientSocket.close();
                 log.debug("🔐 SSL: Secure connection closed: {}", clientAddress);
@@ -186,52 +216,40 @@ public class SSLPaymentServer {
     }
 
     /**
-     * Process secure payment (simplified for demo)
+     * Close one connection that is only waiting for a further keep-alive request,
+     * releasing its thread for a new connection
      */
-    private PaymentResponse processPayment(PaymentRequest request) {
-        try {
-            // Validate payment request
-            if (request.getUserId() == null || request.getAmount() == null) {
-                return new PaymentResponse(false, "Missing required fields", null);
-            }
-
-            if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-                return new PaymentResponse(false, "Invalid amount", null);
-            }
-
-            // Simulate payment processing
-            // In real application, integrate with payment gateway
-            String transactionId = "TXN-" + System.currentTimeMillis();
-
-            // Simulate card validation
-            if (request.getCardNumber() != null && request.getCardNumber().length() < 13) {
-                return new PaymentResponse(false, "Invalid card number", null);
+    private void reclaimIdleConnection() {
+        Iterator<SSLSocket> idle = idleConnections.iterator();
+        while (idle.hasNext()) {
+            SSLSocket socket = idle.next();
+            if (idleConnections.remove(socket)) {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    log.debug("Error closing idle SSL socket: {}", e.getMessage());
+                }
+                idleConnectionsReclaimed.incrementAndGet();
+                return;
             }
-
-            log.info("💳 Processing secure payment: ${} for user {}",
-                    request.getAmount(), request.getUserId());
-
-            // Payment successful
-            return new PaymentResponse(true, "Payment processed successfully", transactionId);
-
-        } catch (Exception e) {
-            log.error("Payment processing error", e);
-            return new PaymentResponse(false, "Payment processing failed: " + e.getMessage(), null);
         }
     }
 
     /**
-     * Send encrypted response
+     * Read one request: lines up to the one that closes the JSON object
+     *
+     * @return the request, or null if the client closed the connection first
      */
-    private void sendResponse(PrintWriter out, PaymentResponse response) {
-        try {
-            String responseJson = objectMapper.writeValueAsString(response);
-            out.println(responseJson);
-            log.debug("🔐 SSL: Encrypted response sent");
-        } catch (Exception e) {
-            log.error("Error sending SSL response", e);
-            out.println("{\"success\":false,\"message\":\"Server error\"}");
+    private String readRequest(BufferedReader in) throws IOException {
+        StringBuilder requestBuilder = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null) {
+            requestBuilder.append(line);
+            if (line.trim().endsWith("}")) {
+                return requestBuilder.toString();
+            }
         }
+        return requestBuilder.length() > 0 ? requestBuilder.toString() : null;
     }
 
     /**
@@ -254,6 +272,16 @@ public class SSLPaymentServer {
         }
     }
 
+    // ========== Monitoring Methods ==========
+
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    public long getIdleConnectionsReclaimed() {
+        return idleConnectionsReclaimed.get();
+    }
+
     /**
      * Payment Request DTO
      */
@@ -266,6 +294,7 @@ public class SSLPaymentServer {
         private String cardholderName;
         private String expiryDate;
         private String cvv;
+        private String idempotencyKey;
     }
 
     /**
@@ -276,6 +305,7 @@ public class SSLPaymentServer {
         private boolean success;
         private String message;
         private String transactionId;
+        private boolean replayed;
 
         public PaymentResponse(boolean success, String message, String transactionId) {
             this.success = success;
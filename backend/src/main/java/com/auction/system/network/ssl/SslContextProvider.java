@@ -0,0 +1,131 @@
+package com.auction.system.network.ssl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import java.io.InputStream;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+
+/**
+ * SSL Context Provider
+ * Builds the payment server's SSLContext once and shares it between the
+ * blocking and NIO server modes.
+ *
+ * Sessions only resume when the same SSLContext accepts the repeat
+ * connection, so the context (and its server session cache) is created a
+ * single time. The cache keeps TLS 1.2 session IDs; TLS 1.3 clients resume
+ * through the JDK's stateless session tickets, which are bounded by the same
+ * session timeout.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SslContextProvider {
+
+    private final ResourceLoader resourceLoader;
+
+    @Value("${ssl.keystore.path:classpath:keystore.p12}")
+    private String keystorePath;
+
+    @Value("${ssl.keystore.password:changeit}")
+    private String keystorePassword;
+
+    @Value("${ssl.session.cache-size:1000}")
+    private int sessionCacheSize;
+
+    @Value("${ssl.session.timeout-seconds:3600}")
+    private int sessionTimeoutSeconds;
+
+    private volatile SSLContext sslContext;
+    private volatile X509Certificate serverCertificate;
+
+    /**
+     * Get the shared SSLContext, loading the keystore on first use
+     */
+    public SSLContext getContext() throws Exception {
+        SSLContext context = sslContext;
+        if (context == null) {
+            synchronized (this) {
+                context = sslContext;
+                if (context == null) {
+                    context = createContext();
+                    sslContext = context;
+                }
+            }
+        }
+        return context;
+    }
+
+    private SSLContext createContext() throws Exception {
+        // Load keystore
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream keystoreStream = resourceLoader.getResource(keystorePath).getInputStream()) {
+            keyStore.load(keystoreStream, keystorePassword.toCharArray());
+        }
+
+        // Remember the server certificate for monitoring
+        for (String alias : Collections.list(keyStore.aliases())) {
+            Certificate certificate = keyStore.getCertificate(alias);
+            if (keyStore.isKeyEntry(alias) && certificate instanceof X509Certificate x509) {
+                serverCertificate = x509;
+                break;
+            }
+        }
+
+        // Initialize KeyManagerFactory
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(
+                KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, keystorePassword.toCharArray());
+
+        // Initialize SSLContext
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagerFactory.getKeyManagers(), null, null);
+
+        // Server-side session cache for resumption
+        SSLSessionContext sessionContext = context.getServerSessionContext();
+        sessionContext.setSessionCacheSize(sessionCacheSize);
+        sessionContext.setSessionTimeout(sessionTimeoutSeconds);
+
+        log.info("SSL context initialised: session cache size={}, timeout={}s",
+                sessionCacheSize, sessionTimeoutSeconds);
+        return context;
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public boolean isInitialized() {
+        return sslContext != null;
+    }
+
+    public int getSessionCacheSize() {
+        return sessionCacheSize;
+    }
+
+    public int getSessionTimeoutSeconds() {
+        return sessionTimeoutSeconds;
+    }
+
+    /**
+     * Number of sessions currently held in the server session cache
+     */
+    public int getCachedSessionCount() {
+        SSLContext context = sslContext;
+        return context == null ? 0 : Collections.list(context.getServerSessionContext().getIds()).size();
+    }
+
+    /**
+     * Server certificate from the keystore (null until the context is initialised)
+     */
+    public X509Certificate getServerCertificate() {
+        return serverCertificate;
+    }
+}
@@ -0,0 +1,195 @@
+package com.auction.system.network.ssl;
+
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLSession;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SSL Handshake Metrics
+ * Handshake counts, rate and latency for the payment server (both modes).
+ *
+ * A handshake counts as resumed when the negotiated session was created
+ * before the handshake started, i.e. it came from the session cache or a
+ * session ticket instead of a full key exchange. Latency percentiles are
+ * taken over the most recent LATENCY_SAMPLES handshakes; the rate is the
+ * number of handshakes completed in the last RATE_WINDOW_SECONDS.
+ *
+ * Handshake CPU time is the CPU consumed by the thread(s) driving the
+ * handshake, which, unlike wall-clock latency, excludes network round trips
+ * and shows what resumption actually saves.
+ */
+@Component
+public class SslHandshakeMetrics {
+
+    private static final int LATENCY_SAMPLES = 1024;
+    private static final int RATE_WINDOW_SECONDS = 60;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final AtomicLong fullHandshakes = new AtomicLong(0);
+    private final AtomicLong resumedHandshakes = new AtomicLong(0);
+    private final AtomicLong failedHandshakes = new AtomicLong(0);
+    private final AtomicLong totalHandshakeNanos = new AtomicLong(0);
+    private final AtomicLong maxHandshakeNanos = new AtomicLong(0);
+    private final AtomicLong fullHandshakeCpuNanos = new AtomicLong(0);
+    private final AtomicLong resumedHandshakeCpuNanos = new AtomicLong(0);
+    private final Map<String, AtomicLong> protocols = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> cipherSuites = new ConcurrentHashMap<>();
+
+    // Ring buffer of recent latencies (guarded by this)
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private int latencyCount = 0;
+    private int latencyNext = 0;
+
+    // Per-second completion counts for the rate window (guarded by this)
+    private final long[] secondBuckets = new long[RATE_WINDOW_SECONDS];
+    private final long[] bucketCounts = new long[RATE_WINDOW_SECONDS];
+
+    /**
+     * Record a completed handshake
+     *
+     * @param startNanos  System.nanoTime() when the handshake began
+     * @param startMillis System.currentTimeMillis() when the handshake began
+     * @param cpuNanos    CPU time spent on the handshake (see threadCpuNanos)
+     */
+    public void recordHandshake(SSLSession session, long startNanos, long startMillis, long cpuNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        boolean resumed = session.getCreationTime() < startMillis;
+
+        (resumed ? resumedHandshakes : fullHandshakes).incrementAndGet();
+        (resumed ? resumedHandshakeCpuNanos : fullHandshakeCpuNanos).addAndGet(cpuNanos);
+        totalHandshakeNanos.addAndGet(elapsed);
+        maxHandshakeNanos.accumulateAndGet(elapsed, Math::max);
+        protocols.computeIfAbsent(session.getProtocol(), k -> new AtomicLong()).incrementAndGet();
+        cipherSuites.computeIfAbsent(session.getCipherSuite(), k -> new AtomicLong()).incrementAndGet();
+
+        long second = System.currentTimeMillis() / 1000;
+        synchronized (this) {
+            latencies[latencyNext] = elapsed;
+            latencyNext = (latencyNext + 1) % LATENCY_SAMPLES;
+            latencyCount = Math.min(latencyCount + 1, LATENCY_SAMPLES);
+
+            int bucket = (int) (second % RATE_WINDOW_SECONDS);
+            if (secondBuckets[bucket] != second) {
+                secondBuckets[bucket] = second;
+                bucketCounts[bucket] = 0;
+            }
+            bucketCounts[bucket]++;
+        }
+    }
+
+    /**
+     * Record a handshake that failed (bad client, protocol mismatch, timeout)
+     */
+    public void recordFailure() {
+        failedHandshakes.incrementAndGet();
+    }
+
+    /**
+     * CPU time of the current thread, or 0 where the JVM does not measure it
+     */
+    public static long threadCpuNanos() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public long getFullHandshakes() {
+        return fullHandshakes.get();
+    }
+
+    public long getResumedHandshakes() {
+        return resumedHandshakes.get();
+    }
+
+    public long getFailedHandshakes() {
+        return failedHandshakes.get();
+    }
+
+    /**
+     * Share of completed handshakes that resumed a session
+     */
+    public double getResumptionRatio() {
+        long resumed = resumedHandshakes.get();
+        long completed = fullHandshakes.get() + resumed;
+        return completed == 0 ? 0.0 : Math.round(resumed * 10_000.0 / completed) / 10_000.0;
+    }
+
+    /**
+     * Handshakes per second averaged over the rate window
+     */
+    public synchronized double getHandshakesPerSecond() {
+        long now = System.currentTimeMillis() / 1000;
+        long total = 0;
+        for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+            if (now - secondBuckets[i] < RATE_WINDOW_SECONDS) {
+                total += bucketCounts[i];
+            }
+        }
+        return (double) total / RATE_WINDOW_SECONDS;
+    }
+
+    public Map<String, Object> getStats() {
+        long full = fullHandshakes.get();
+        long resumed = resumedHandshakes.get();
+        long completed = full + resumed;
+
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(latencies, latencyCount);
+        }
+        Arrays.sort(sorted);
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("avgMs", completed == 0 ? 0.0 : toMillis(totalHandshakeNanos.get() / completed));
+        latency.put("p50Ms", percentile(sorted, 0.50));
+        latency.put("p95Ms", percentile(sorted, 0.95));
+        latency.put("p99Ms", percentile(sorted, 0.99));
+        latency.put("maxMs", toMillis(maxHandshakeNanos.get()));
+        latency.put("samples", sorted.length);
+
+        Map<String, Object> cpu = new LinkedHashMap<>();
+        cpu.put("totalMs", toMillis(fullHandshakeCpuNanos.get() + resumedHandshakeCpuNanos.get()));
+        cpu.put("avgFullMs", full == 0 ? 0.0 : toMillis(fullHandshakeCpuNanos.get() / full));
+        cpu.put("avgResumedMs", resumed == 0 ? 0.0 : toMillis(resumedHandshakeCpuNanos.get() / resumed));
+        cpu.put("supported", THREADS.isCurrentThreadCpuTimeSupported());
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("completedHandshakes", completed);
+        stats.put("fullHandshakes", full);
+        stats.put("resumedHandshakes", resumed);
+        stats.put("failedHandshakes", failedHandshakes.get());
+        stats.put("resumptionRatio", getResumptionRatio());
+        stats.put("handshakesPerSecond", getHandshakesPerSecond());
+        stats.put("rateWindowSeconds", RATE_WINDOW_SECONDS);
+        stats.put("latency", latency);
+        stats.put("cpu", cpu);
+        stats.put("protocols", snapshot(protocols));
+        stats.put("cipherSuites", snapshot(cipherSuites));
+        return stats;
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, index)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static Map<String, Long> snapshot(Map<String, AtomicLong> counters) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counters.forEach((key, value) -> result.put(key, value.get()));
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package com.auction.system.network.ssl;
+
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * TLS Session Ticket Settings
+ * Copies the payment server's session ticket settings into the JSSE system
+ * properties before any TLS connection is made.
+ *
+ * JSSE reads the ticket key rotation interval once, when the first handshake
+ * of any kind happens (the database driver connects over TLS long before the
+ * payment server starts), so this runs on the environment-prepared event
+ * rather than in SslContextProvider. Values passed as -D JVM flags win.
+ *
+ * - ssl.session.tickets.enabled: stateless resumption via tickets
+ *   (jdk.tls.server.enableSessionTicketExtension); when off, TLS 1.3 clients
+ *   resume from the server session cache instead
+ * - ssl.session.ticket-key-rotation-seconds: lifetime of each ticket
+ *   encryption key (jdk.tls.server.statelessKeyTimeout)
+ */
+public class TlsSessionTicketSettings implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+        ConfigurableEnvironment environment = event.getEnvironment();
+
+        apply("jdk.tls.server.enableSessionTicketExtension",
+                environment.getProperty("ssl.session.tickets.enabled", "true"));
+        apply("jdk.tls.server.statelessKeyTimeout",
+                environment.getProperty("ssl.session.ticket-key-rotation-seconds", "3600"));
+    }
+
+    private void apply(String systemProperty, String value) {
+        if (System.getProperty(systemProperty) == null) {
+            System.setProperty(systemProperty, value);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.auction.system.repository;
 
 import com.auction.system.entity.Auction;
 import com.auction.system.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -31,11 +32,21 @@ public interface AuctionRepository extends JpaRepository<Auction, Long> {
      */
     List<Auction> findByStatus(Auction.AuctionStatus status);
 
+    /**
+     * Count auctions by status
+     */
+    long countByStatus(Auction.AuctionStatus status);
+
     /**
      * Find auctions by seller
      */
     List<Auction> findBySeller(User seller);
 
+    /**
+     * Find auctions by seller ID (no prior user lookup needed)
+     */
+    List<Auction> findBySellerUserId(Long sellerId);
+
     /**
      * Find auctions ending soon (within specified minutes)
      */
@@ -61,4 +72,35 @@ public interface AuctionRepository extends JpaRepository<Auction, Long> {
      */
     @Query("SELECT a FROM Auction a WHERE LOWER(a.itemName) LIKE LOWER(CONCAT('%', :keyword, '%')) AND a.status = 'ACTIVE'")
     List<Auction> searchActiveAuctionsByName(@Param("keyword") String keyword);
+
+    /**
+     * All image URLs in use (marks live images for the image GC)
+     */
+    @Query("SELECT a.imageUrl FROM Auction a WHERE a.imageUrl IS NOT NULL")
+    List<String> findAllImageUrls();
+
+    /**
+     * Count auctions whose image URL contains a content hash (image reference count)
+     */
+    long countByImageUrlContaining(String hash);
+
+    /**
+     * IDs of auctions that closed before the cutoff, whose bids are still in the given
+     * storage and that no longer hold anyone's money
+     */
+    @Query("SELECT a.auctionId FROM Auction a WHERE a.status = :status " +
+           "AND a.bidStorage = :storage " +
+           "AND COALESCE(a.currentDeadline, a.mandatoryEndTime) < :cutoff " +
+           "AND NOT EXISTS (SELECT r FROM WalletReservation r WHERE r.auctionId = a.auctionId AND r.status = 'HELD') " +
+           "ORDER BY a.auctionId")
+    List<Long> findArchiveCandidates(@Param("status") Auction.AuctionStatus status,
+                                     @Param("storage") Auction.BidStorage storage,
+                                     @Param("cutoff") LocalDateTime cutoff,
+                                     Pageable pageable);
+
+    /**
+     * Number of bids that have been moved out of the bids table
+     */
+    @Query("SELECT COALESCE(SUM(a.archivedBidCount), 0) FROM Auction a")
+    long sumArchivedBidCount();
 }
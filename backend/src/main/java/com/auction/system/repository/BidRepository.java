@@ -3,7 +3,10 @@ package com.auction.system.repository;
 import com.auction.system.entity.Auction;
 import com.auction.system.entity.Bid;
 import com.auction.system.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,19 +23,43 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
 
     /**
      * Find all bids for a specific auction, ordered by bid amount (highest first)
+     * Bidders are fetched in the same query so callers can walk them without N+1 selects
      */
+    @EntityGraph(attributePaths = {"bidder"})
     List<Bid> findByAuctionOrderByBidAmountDesc(Auction auction);
 
     /**
      * Find all bids for a specific auction, ordered by time (most recent first)
+     * Fetch plan covers everything the bid listing serializes
      */
+    @EntityGraph(attributePaths = {"auction", "auction.seller", "auction.winner", "bidder"})
     List<Bid> findByAuctionOrderByBidTimeDesc(Auction auction);
 
     /**
      * Find all bids placed by a specific user
+     * Fetch plan covers everything the bid listing serializes
      */
+    @EntityGraph(attributePaths = {"auction", "auction.seller", "auction.winner", "bidder"})
     List<Bid> findByBidderOrderByBidTimeDesc(User bidder);
 
+    /**
+     * Find an auction's bids in a given status (e.g. the current WINNING bid)
+     */
+    @EntityGraph(attributePaths = {"bidder"})
+    List<Bid> findByAuctionAndStatus(Auction auction, Bid.BidStatus status);
+
+    /**
+     * Find all bids placed by a user, by ID (no prior user lookup needed)
+     */
+    @EntityGraph(attributePaths = {"auction", "auction.seller", "auction.winner", "bidder"})
+    List<Bid> findByBidderUserIdOrderByBidTimeDesc(Long bidderId);
+
+    /**
+     * Find the most recent bids for an auction by ID (used to seed auction snapshots)
+     */
+    @EntityGraph(attributePaths = {"bidder"})
+    List<Bid> findByAuctionAuctionIdOrderByBidTimeDesc(Long auctionId, Pageable pageable);
+
     /**
      * Find the highest bid for an auction
      */
@@ -45,6 +72,14 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
     @Query("SELECT b FROM Bid b WHERE b.auction = :auction ORDER BY b.bidTime DESC LIMIT 1")
     Optional<Bid> findLastBidForAuction(@Param("auction") Auction auction);
 
+    /**
+     * Mark every OUTBID bid of an auction as LOST in a single statement
+     * Flushes pending changes first; already-loaded Bid instances keep their old status.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Bid b SET b.status = 'LOST' WHERE b.auction.auctionId = :auctionId AND b.status = 'OUTBID'")
+    int markOutbidBidsAsLost(@Param("auctionId") Long auctionId);
+
     /**
      * Count total bids for an auction
      */
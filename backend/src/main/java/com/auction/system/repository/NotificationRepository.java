@@ -2,9 +2,15 @@ package com.auction.system.repository;
 
 import com.auction.system.entity.Notification;
 import com.auction.system.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -16,16 +22,73 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     /**
      * Find all notifications for a user
+     * User and auction are fetched in the same query for serialization
      */
+    @EntityGraph(attributePaths = {"user", "auction", "auction.seller", "auction.winner"})
     List<Notification> findByUserOrderByCreatedAtDesc(User user);
 
+    /**
+     * Find all notifications for a user ID (no prior user lookup needed)
+     */
+    @EntityGraph(attributePaths = {"user", "auction", "auction.seller", "auction.winner"})
+    List<Notification> findByUserUserIdOrderByCreatedAtDesc(Long userId);
+
+    /**
+     * Find the newest page of a user's notifications (first page of keyset pagination)
+     */
+    @EntityGraph(attributePaths = {"user", "auction", "auction.seller", "auction.winner"})
+    List<Notification> findByUserUserIdOrderByNotificationIdDesc(Long userId, Pageable pageable);
+
+    /**
+     * Find the page of a user's notifications older than a cursor (keyset pagination)
+     */
+    @EntityGraph(attributePaths = {"user", "auction", "auction.seller", "auction.winner"})
+    List<Notification> findByUserUserIdAndNotificationIdLessThanOrderByNotificationIdDesc(
+            Long userId, Long beforeId, Pageable pageable);
+
     /**
      * Find unread notifications for a user
      */
+    @EntityGraph(attributePaths = {"user", "auction", "auction.seller", "auction.winner"})
     List<Notification> findByUserAndIsReadFalseOrderByCreatedAtDesc(User user);
 
     /**
      * Count unread notifications for a user
      */
     long countByUserAndIsReadFalse(User user);
+
+    /**
+     * Count unread notifications for a user ID
+     */
+    long countByUserUserIdAndIsReadFalse(Long userId);
+
+    /**
+     * Find the oldest expired notifications of a type (one retention chunk)
+     */
+    List<Notification> findByTypeAndCreatedAtBeforeOrderByNotificationIdAsc(
+            Notification.NotificationType type, LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Delete up to `limit` expired notifications of a type in one statement
+     */
+    @Modifying
+    @Query(value = "DELETE FROM notifications WHERE notification_id IN (" +
+                   "SELECT notification_id FROM notifications WHERE type = :type AND created_at < :cutoff " +
+                   "ORDER BY notification_id LIMIT :limit)", nativeQuery = true)
+    int deleteExpiredChunk(@Param("type") String type, @Param("cutoff") LocalDateTime cutoff,
+                           @Param("limit") int limit);
+
+    /**
+     * Delete all of a user's notifications in one statement
+     */
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.user.userId = :userId")
+    int deleteAllForUser(@Param("userId") Long userId);
+
+    /**
+     * Mark all of a user's notifications as read in one statement
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.userId = :userId AND n.isRead = false")
+    int markAllAsReadForUser(@Param("userId") Long userId);
 }
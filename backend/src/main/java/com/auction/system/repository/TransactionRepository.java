@@ -3,6 +3,7 @@ package com.auction.system.repository;
 import com.auction.system.entity.Auction;
 import com.auction.system.entity.Transaction;
 import com.auction.system.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -21,11 +22,13 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     /**
      * Find all transactions for a buyer
      */
+    @EntityGraph(attributePaths = {"buyer", "seller", "auction", "auction.seller", "auction.winner"})
     List<Transaction> findByBuyerOrderByTransactionTimeDesc(User buyer);
 
     /**
      * Find all transactions for a seller
      */
+    @EntityGraph(attributePaths = {"buyer", "seller", "auction", "auction.seller", "auction.winner"})
     List<Transaction> findBySellerOrderByTransactionTimeDesc(User seller);
 
     /**
@@ -33,14 +36,33 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      */
     Transaction findByAuction(Auction auction);
 
+    /**
+     * Find the transaction created for an idempotency key
+     */
+    Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Load a transaction with its parties (for replayed payment responses)
+     */
+    @EntityGraph(attributePaths = {"buyer", "seller", "auction", "auction.seller", "auction.winner"})
+    Optional<Transaction> findWithPartiesByTransactionId(Long transactionId);
+
     /**
      * Find all transactions by buyer or seller
      */
+    @EntityGraph(attributePaths = {"buyer", "seller", "auction", "auction.seller", "auction.winner"})
     List<Transaction> findByBuyerOrSeller(User buyer, User seller);
 
+    /**
+     * Find all transactions, newest first (Admin listing)
+     */
+    @EntityGraph(attributePaths = {"buyer", "seller", "auction", "auction.seller", "auction.winner"})
+    List<Transaction> findAllByOrderByTransactionTimeDesc();
+
     /**
      * Find transactions by status
      */
+    @EntityGraph(attributePaths = {"buyer", "seller", "auction", "auction.seller", "auction.winner"})
     List<Transaction> findByStatus(Transaction.TransactionStatus status);
 
     /**
@@ -60,4 +82,10 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      */
     @Query("SELECT COUNT(t) FROM Transaction t WHERE t.seller = :user AND t.status = 'COMPLETED'")
     long countCompletedSales(@Param("user") User user);
+
+    /**
+     * Sum of all completed transaction amounts
+     */
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.status = 'COMPLETED'")
+    java.math.BigDecimal sumCompletedAmount();
 }
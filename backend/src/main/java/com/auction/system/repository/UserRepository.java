@@ -44,4 +44,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Find users by active status
      */
     java.util.List<User> findByIsActive(Boolean isActive);
+
+    /**
+     * Count users by active status
+     */
+    long countByIsActive(Boolean isActive);
 }
@@ -0,0 +1,40 @@
+package com.auction.system.repository;
+
+import com.auction.system.entity.WalletLedgerTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Wallet Ledger Total Repository
+ * Access to the materialized per-user wallet summary
+ */
+@Repository
+public interface WalletLedgerTotalRepository extends JpaRepository<WalletLedgerTotal, WalletLedgerTotal.Key> {
+
+    /**
+     * Find all per-type totals for a user
+     */
+    List<WalletLedgerTotal> findByUserId(Long userId);
+
+    /**
+     * Add entries to a user's running total for one transaction type (upsert)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO wallet_ledger_totals (user_id, transaction_type, entry_count, total_amount, updated_at) " +
+            "VALUES (:userId, :type, :entries, :amount, now()) " +
+            "ON CONFLICT (user_id, transaction_type) DO UPDATE SET " +
+            "entry_count = wallet_ledger_totals.entry_count + EXCLUDED.entry_count, " +
+            "total_amount = wallet_ledger_totals.total_amount + EXCLUDED.total_amount, " +
+            "updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    void increment(@Param("userId") Long userId,
+                   @Param("type") String type,
+                   @Param("entries") long entries,
+                   @Param("amount") BigDecimal amount);
+}
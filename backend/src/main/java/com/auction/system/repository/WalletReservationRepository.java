@@ -0,0 +1,57 @@
+package com.auction.system.repository;
+
+import com.auction.system.entity.WalletReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Wallet Reservation Repository
+ */
+@Repository
+public interface WalletReservationRepository extends JpaRepository<WalletReservation, Long> {
+
+    /**
+     * Reservations whose current hold differs from what the ledger last recorded
+     * (RELEASED holds nothing; HELD and CAPTURED hold their amount)
+     */
+    String HELD = "(CASE WHEN status = 'RELEASED' THEN 0 ELSE amount END)";
+    String UNAUDITED = HELD + " <> audited_amount";
+
+    /**
+     * Find a user's reservation on an auction
+     */
+    Optional<WalletReservation> findByUserIdAndAuctionId(Long userId, Long auctionId);
+
+    /**
+     * Find a user's reservations by status
+     */
+    List<WalletReservation> findByUserIdAndStatus(Long userId, WalletReservation.ReservationStatus status);
+
+    /**
+     * Oldest unaudited reservations, row-locked for the calling transaction
+     * (SKIP LOCKED lets several instances compact side by side)
+     */
+    @Query(value = "SELECT * FROM wallet_reservations WHERE " + UNAUDITED +
+                   " ORDER BY updated_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<WalletReservation> lockUnaudited(@Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM wallet_reservations WHERE " + UNAUDITED, nativeQuery = true)
+    long countUnaudited();
+
+    /**
+     * Record that the ledger now reflects these reservations' current holds
+     * (the rows are locked by the caller; the entity maps audited_amount read-only)
+     */
+    @Modifying
+    @Query(value = "UPDATE wallet_reservations SET audited_amount = " + HELD +
+                   " WHERE reservation_id IN (:reservationIds)",
+           nativeQuery = true)
+    int markAudited(@Param("reservationIds") List<Long> reservationIds);
+}
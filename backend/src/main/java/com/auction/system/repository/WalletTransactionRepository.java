@@ -2,6 +2,7 @@ package com.auction.system.repository;
 
 import com.auction.system.entity.User;
 import com.auction.system.entity.WalletTransaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -18,6 +19,11 @@ public interface WalletTransactionRepository extends JpaRepository<WalletTransac
      */
     List<WalletTransaction> findByUserOrderByCreatedAtDesc(User user);
 
+    /**
+     * Find wallet transactions for a user ID (no prior user lookup needed)
+     */
+    List<WalletTransaction> findByUserUserIdOrderByCreatedAtDesc(Long userId);
+
     /**
      * Find wallet transactions by type
      */
@@ -33,4 +39,26 @@ public interface WalletTransactionRepository extends JpaRepository<WalletTransac
      * Find all wallet transactions ordered by created date (Admin only)
      */
     List<WalletTransaction> findAllByOrderByCreatedAtDesc();
+
+    /**
+     * Keyset pagination: first page of a user's ledger (newest first)
+     */
+    List<WalletTransaction> findByUserIdOrderByWalletTransactionIdDesc(Long userId, Pageable pageable);
+
+    /**
+     * Keyset pagination: page of a user's ledger older than the cursor
+     */
+    List<WalletTransaction> findByUserIdAndWalletTransactionIdLessThanOrderByWalletTransactionIdDesc(
+            Long userId, Long before, Pageable pageable);
+
+    /**
+     * Keyset pagination: first page of the full ledger (Admin only)
+     */
+    List<WalletTransaction> findAllByOrderByWalletTransactionIdDesc(Pageable pageable);
+
+    /**
+     * Keyset pagination: page of the full ledger older than the cursor (Admin only)
+     */
+    List<WalletTransaction> findByWalletTransactionIdLessThanOrderByWalletTransactionIdDesc(
+            Long before, Pageable pageable);
 }
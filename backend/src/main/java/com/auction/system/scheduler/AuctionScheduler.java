@@ -3,9 +3,11 @@ package com.auction.system.scheduler;
 import com.auction.system.entity.Auction;
 import com.auction.system.entity.Bid;
 import com.auction.system.entity.Notification;
+import com.auction.system.entity.User;
 import com.auction.system.repository.AuctionRepository;
 import com.auction.system.repository.BidRepository;
 import com.auction.system.service.NotificationService;
+import com.auction.system.service.StatsService;
 import com.auction.system.service.WalletService;
 import com.auction.system.websocket.WebSocketEventService;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -33,6 +36,7 @@ public class AuctionScheduler {
     private final WalletService walletService;
     private final NotificationService notificationService;
     private final WebSocketEventService webSocketEventService;
+    private final StatsService statsService;
 
     /**
      * Close expired auctions and process payments
@@ -74,6 +78,7 @@ public class AuctionScheduler {
      */
     private void closeAuction(Auction auction) {
         log.info("Closing auction: {} - {}", auction.getAuctionId(), auction.getItemName());
+        statsService.onAuctionClosed(auction.getStatus());
 
         // Find the winning bid
         List<Bid> bids = bidRepository.findByAuctionOrderByBidAmountDesc(auction);
@@ -150,23 +155,31 @@ public class AuctionScheduler {
                             winningBid.getBidder().getUsername() + " for $" + winningBid.getBidAmount()
             );
 
-            // Notify all losing bidders
+            // Mark all outbid bids LOST in one statement
+            int lost = bidRepository.markOutbidBidsAsLost(auction.getAuctionId());
+
+            // Notify each losing bidder once, however many bids they placed
+            Map<Long, User> losers = new LinkedHashMap<>();
             for (Bid losingBid : bids) {
-                if (!losingBid.getBidId().equals(winningBid.getBidId()) &&
-                        losingBid.getStatus() == Bid.BidStatus.OUTBID) {
-                    losingBid.setStatus(Bid.BidStatus.LOST);
-                    bidRepository.save(losingBid);
-
-                    notificationService.createNotification(
-                            losingBid.getBidder(),
-                            Notification.NotificationType.AUCTION_LOST,
-                            "The auction for '" + auction.getItemName() + "' has ended. " +
-                                    "Winner: " + winningBid.getBidder().getUsername() +
-                                    " with $" + winningBid.getBidAmount()
-                    );
+                User bidder = losingBid.getBidder();
+                if (losingBid.getStatus() == Bid.BidStatus.OUTBID &&
+                        !bidder.getUserId().equals(winningBid.getBidder().getUserId())) {
+                    losers.putIfAbsent(bidder.getUserId(), bidder);
                 }
             }
 
+            if (!losers.isEmpty()) {
+                notificationService.createNotifications(
+                        losers.values(),
+                        Notification.NotificationType.AUCTION_LOST,
+                        "The auction for '" + auction.getItemName() + "' has ended. " +
+                                "Winner: " + winningBid.getBidder().getUsername() +
+                                " with $" + winningBid.getBidAmount()
+                );
+            }
+            log.info("Auction {}: {} bids marked LOST, {} losing bidders notified",
+                    auction.getAuctionId(), lost, losers.size());
+
             // Broadcast auction ended via WebSocket
             webSocketEventService.broadcastAuctionEnded(auction.getAuctionId(), Map.of(
                     "auctionId", auction.getAuctionId(),
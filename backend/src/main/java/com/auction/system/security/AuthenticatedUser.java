@@ -0,0 +1,25 @@
+package com.auction.system.security;
+
+import lombok.Value;
+
+import java.security.Principal;
+
+/**
+ * Authenticated User
+ * Principal placed in the SecurityContext by JwtAuthenticationFilter.
+ * Carries the user ID and role so controllers can use
+ * {@code @AuthenticationPrincipal AuthenticatedUser} instead of re-reading
+ * the token or querying the users table.
+ */
+@Value
+public class AuthenticatedUser implements Principal {
+
+    Long userId;
+    String username;
+    String role;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
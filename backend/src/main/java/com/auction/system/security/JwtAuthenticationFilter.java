@@ -1,6 +1,6 @@
 package com.auction.system.security;
 
-import com.auction.system.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,8 +26,8 @@ import java.util.Collections;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
-    private final UserService userService;
+    private final JwtClaimsCache jwtClaimsCache;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -47,23 +47,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Extract token
             final String token = authHeader.substring(7);
 
-            // Extract username from token
-            final String username = jwtUtil.extractUsername(token);
+            // Verify once (or reuse a cached verification) and read every claim from the result
+            final Claims claims = jwtClaimsCache.resolve(token);
+            final String username = claims.getSubject();
 
             // If username is extracted and no authentication is set
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                // Validate token
-                if (jwtUtil.validateToken(token, username)) {
-
-                    // Extract role
-                    String role = jwtUtil.extractRole(token);
+                // Resolve the user once (cached) - banned or deleted users are not authenticated
+                AuthenticatedUser principal = userPrincipalCache
+                        .resolve(claims.get("userId", Long.class), username)
+                        .orElse(null);
 
+                if (principal != null) {
                     // Create authentication token
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            username,
+                            principal,
                             null,
-                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.getRole()))
                     );
 
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -72,6 +73,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     SecurityContextHolder.getContext().setAuthentication(authToken);
 
                     log.debug("JWT authentication successful for user: {}", username);
+                } else {
+                    log.debug("JWT rejected - user {} is inactive or missing", username);
                 }
             }
 
@@ -0,0 +1,132 @@
+package com.auction.system.security;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JWT Claims Cache
+ * Bounded LRU of already-verified tokens to their claims, so a client reusing
+ * the same token does not pay for signature verification and JSON parsing on
+ * every request.
+ *
+ * Keys are SHA-256 digests of the token (raw tokens are never stored).
+ * An entry lives until the token's own expiry or jwt.cache.ttl-ms, whichever
+ * comes first; invalid tokens are never cached.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtClaimsCache {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtUtil jwtUtil;
+
+    @Value("${jwt.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${jwt.cache.ttl-ms:300000}")
+    private long ttlMillis;
+
+    private Map<String, CachedClaims> cache;
+
+    // Monitoring fields
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+
+    @PostConstruct
+    void init() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedClaims> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Return verified claims for a token, parsing it at most once per cache lifetime
+     * Throws a JwtException if the token is invalid or expired
+     */
+    public Claims resolve(String token) {
+        if (!enabled) {
+            return jwtUtil.parseClaims(token);
+        }
+
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+
+        CachedClaims cached = cache.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                hits.incrementAndGet();
+                return cached.claims;
+            }
+            cache.remove(key);
+        }
+
+        misses.incrementAndGet();
+        Claims claims = jwtUtil.parseClaims(token);
+
+        long expiresAt = now + ttlMillis;
+        if (claims.getExpiration() != null) {
+            expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+        }
+        cache.put(key, new CachedClaims(claims, expiresAt));
+
+        return claims;
+    }
+
+    /**
+     * Drop all cached tokens (e.g. after a signing key change)
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    private static String hash(String token) {
+        MessageDigest digest = SHA256.get();
+        digest.reset();
+        byte[] bytes = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public int getSize() {
+        return cache.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private record CachedClaims(Claims claims, long expiresAt) {
+    }
+}
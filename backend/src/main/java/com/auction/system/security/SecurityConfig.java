@@ -51,6 +51,7 @@ public class SecurityConfig {
                                 "/api/wallet/**",
                                 "/api/migrate/**",
                                 "/api/upload/**",
+                                "/api/stream/**",
                                 "/uploads/**",
                                 "/ws/**",
                                 "/swagger-ui/**",
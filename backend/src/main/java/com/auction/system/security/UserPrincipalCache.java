@@ -0,0 +1,91 @@
+package com.auction.system.security;
+
+import com.auction.system.entity.User;
+import com.auction.system.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * User Principal Cache
+ * Short-TTL cache of the user fields needed to authenticate a request
+ * (ID, username, role, active flag), so the JWT filter can reject banned
+ * users without a users-table query on every request.
+ *
+ * Entries expire after auth.principal-cache.ttl-ms; bans evict immediately.
+ * Past auth.principal-cache.max-entries the least recently used user is
+ * evicted, so a burst of distinct (or forged) user IDs cannot grow the cache.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${auth.principal-cache.ttl-ms:60000}")
+    private long ttlMillis;
+
+    @Value("${auth.principal-cache.max-entries:10000}")
+    private int maxEntries;
+
+    // Access-ordered, so the eldest entry is the least recently used user; guarded by itself
+    private final Map<Long, Entry> byUserId = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Resolve an active user's principal, loading it on a miss
+     * Returns empty if the user no longer exists or is banned
+     */
+    public Optional<AuthenticatedUser> resolve(Long userId, String username) {
+        long now = System.currentTimeMillis();
+
+        if (userId != null) {
+            Entry entry;
+            synchronized (byUserId) {
+                entry = byUserId.get(userId);
+            }
+            if (entry != null && entry.expiresAt > now) {
+                return entry.principal();
+            }
+        }
+
+        Optional<User> user = userId != null
+                ? userRepository.findById(userId)
+                : userRepository.findByUsername(username);
+
+        Optional<AuthenticatedUser> principal = user
+                .filter(u -> Boolean.TRUE.equals(u.getIsActive()))
+                .map(u -> new AuthenticatedUser(u.getUserId(), u.getUsername(), u.getRole().name()));
+
+        Long key = user.map(User::getUserId).orElse(userId);
+        if (key != null) {
+            synchronized (byUserId) {
+                byUserId.put(key, new Entry(principal, now + ttlMillis));
+            }
+        }
+
+        return principal;
+    }
+
+    /**
+     * Forget a user (after ban, role change or deletion)
+     */
+    public void evict(Long userId) {
+        synchronized (byUserId) {
+            byUserId.remove(userId);
+        }
+    }
+
+    private record Entry(Optional<AuthenticatedUser> principal, long expiresAt) {
+    }
+}
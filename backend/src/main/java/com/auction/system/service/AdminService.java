@@ -1,16 +1,13 @@
 package com.auction.system.service;
 
 import com.auction.system.entity.User;
-import com.auction.system.repository.AuctionRepository;
-import com.auction.system.repository.BidRepository;
-import com.auction.system.repository.TransactionRepository;
 import com.auction.system.repository.UserRepository;
+import com.auction.system.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -24,13 +21,13 @@ import java.util.Map;
 public class AdminService {
 
     private final UserRepository userRepository;
-    private final AuctionRepository auctionRepository;
-    private final BidRepository bidRepository;
-    private final TransactionRepository transactionRepository;
+    private final StatsService statsService;
+    private final UserPrincipalCache userPrincipalCache;
 
     /**
      * Get all users
      */
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -43,8 +40,13 @@ public class AdminService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        boolean wasActive = Boolean.TRUE.equals(user.getIsActive());
         user.setIsActive(false);
         userRepository.save(user);
+        if (wasActive) {
+            statsService.onUserBanned();
+        }
+        userPrincipalCache.evict(userId);
         log.info("User banned - ID: {}", userId);
 
         return user;
@@ -52,37 +54,9 @@ public class AdminService {
 
     /**
      * Get dashboard statistics
+     * Served from the in-memory counter cache (see StatsService)
      */
     public Map<String, Object> getDashboardStats() {
-        Map<String, Object> stats = new HashMap<>();
-
-        // User statistics
-        long totalUsers = userRepository.count();
-        long activeUsers = userRepository.findByIsActive(true).size();
-
-        // Auction statistics
-        long totalAuctions = auctionRepository.count();
-        long activeAuctions = auctionRepository.findAllActiveAuctions().size();
-
-        // Bid statistics
-        long totalBids = bidRepository.count();
-
-        // Transaction statistics (optional - may not have all transactions)
-        long totalTransactions = 0;
-        try {
-            totalTransactions = transactionRepository.count();
-        } catch (Exception e) {
-            log.warn("Could not fetch transaction count", e);
-        }
-
-        stats.put("totalUsers", totalUsers);
-        stats.put("activeUsers", activeUsers);
-        stats.put("totalAuctions", totalAuctions);
-        stats.put("activeAuctions", activeAuctions);
-        stats.put("totalBids", totalBids);
-        stats.put("totalTransactions", totalTransactions);
-        stats.put("timestamp", java.time.LocalDateTime.now().toString());
-
-        return stats;
+        return statsService.getDashboardStats();
     }
 }
@@ -4,6 +4,7 @@ import com.auction.system.entity.Auction;
 import com.auction.system.entity.User;
 import com.auction.system.repository.AuctionRepository;
 import com.auction.system.repository.UserRepository;
+import com.auction.system.websocket.WebSocketEventService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -27,6 +28,8 @@ public class AuctionService {
     private final UserRepository userRepository;
     private final com.auction.system.repository.BidRepository bidRepository;
     private final WalletService walletService;
+    private final StatsService statsService;
+    private final WebSocketEventService webSocketEventService;
 
     /**
      * Create a new auction
@@ -46,7 +49,9 @@ public class AuctionService {
             auction.setStartTime(LocalDateTime.now());
         }
 
-        return auctionRepository.save(auction);
+        Auction saved = auctionRepository.save(auction);
+        statsService.onAuctionCreated(saved.getStatus());
+        return saved;
     }
 
     /**
@@ -59,6 +64,7 @@ public class AuctionService {
     /**
      * Get all auctions (regardless of status)
      */
+    @Transactional(readOnly = true)
     public List<Auction> getAllAuctions() {
         return auctionRepository.findAll();
     }
@@ -66,6 +72,7 @@ public class AuctionService {
     /**
      * Get all active auctions
      */
+    @Transactional(readOnly = true)
     public List<Auction> getActiveAuctions() {
         return auctionRepository.findAllActiveAuctions();
     }
@@ -73,15 +80,25 @@ public class AuctionService {
     /**
      * Get all auctions by seller
      */
+    @Transactional(readOnly = true)
     public List<Auction> getAuctionsBySeller(Long sellerId) {
         User seller = userRepository.findById(sellerId)
                 .orElseThrow(() -> new RuntimeException("Seller not found"));
         return auctionRepository.findBySeller(seller);
     }
 
+    /**
+     * Get auctions of an already-authenticated seller (skips the user lookup)
+     */
+    @Transactional(readOnly = true)
+    public List<Auction> getAuctionsBySellerId(Long sellerId) {
+        return auctionRepository.findBySellerUserId(sellerId);
+    }
+
     /**
      * Search auctions by keyword
      */
+    @Transactional(readOnly = true)
     public List<Auction> searchAuctions(String keyword) {
         return auctionRepository.searchActiveAuctionsByName(keyword);
     }
@@ -108,8 +125,11 @@ public class AuctionService {
                 log.info("No bids found for auction {}, no winner set", auction.getAuctionId());
             }
 
+            Auction.AuctionStatus previousStatus = auction.getStatus();
             auction.setStatus(Auction.AuctionStatus.ENDED);
             auctionRepository.save(auction);
+            statsService.onAuctionClosed(previousStatus);
+            broadcastEnded(auction);
         }
 
         if (!expiredAuctions.isEmpty()) {
@@ -130,8 +150,11 @@ public class AuctionService {
         for (Auction auction : pendingAuctions) {
             if (auction.getStartTime().isBefore(now) || auction.getStartTime().isEqual(now)) {
                 log.info("Activating auction: {} - {}", auction.getAuctionId(), auction.getItemName());
+                Auction.AuctionStatus previousStatus = auction.getStatus();
                 auction.setStatus(Auction.AuctionStatus.ACTIVE);
                 auctionRepository.save(auction);
+                statsService.onAuctionStatusChanged(previousStatus, Auction.AuctionStatus.ACTIVE);
+                webSocketEventService.broadcastAuctionState(auction);
             }
         }
     }
@@ -152,6 +175,8 @@ public class AuctionService {
             if (auction.getStatus() == Auction.AuctionStatus.ACTIVE) {
                 auction.setStatus(Auction.AuctionStatus.ENDING_SOON);
                 auctionRepository.save(auction);
+                statsService.onAuctionStatusChanged(Auction.AuctionStatus.ACTIVE, Auction.AuctionStatus.ENDING_SOON);
+                webSocketEventService.broadcastAuctionState(auction);
             }
         }
     }
@@ -241,7 +266,9 @@ public class AuctionService {
             }
         }
 
-        return auctionRepository.save(existingAuction);
+        Auction saved = auctionRepository.save(existingAuction);
+        webSocketEventService.broadcastAuctionState(saved);
+        return saved;
     }
 
     /**
@@ -255,6 +282,10 @@ public class AuctionService {
 
         // Allow deletion of any auction - owner can delete at any time
         auctionRepository.delete(auction);
+        statsService.onAuctionDeleted(auction.getStatus());
+
+        // Viewers see it go; the snapshot cache drops it
+        webSocketEventService.broadcastAuctionUpdate(auctionId, java.util.Map.of("status", "DELETED"));
     }
 
     /**
@@ -288,13 +319,18 @@ public class AuctionService {
             log.info("No bids found for auction {}, no winner set", auction.getAuctionId());
         }
 
+        Auction.AuctionStatus previousStatus = auction.getStatus();
         auction.setStatus(Auction.AuctionStatus.ENDED);
-        return auctionRepository.save(auction);
+        Auction closed = auctionRepository.save(auction);
+        statsService.onAuctionClosed(previousStatus);
+        broadcastEnded(closed);
+        return closed;
     }
 
     /**
      * Get ended auctions
      */
+    @Transactional(readOnly = true)
     public List<Auction> getEndedAuctions() {
         return auctionRepository.findByStatus(Auction.AuctionStatus.ENDED);
     }
@@ -302,6 +338,7 @@ public class AuctionService {
     /**
      * Get current deadline for auction
      */
+    @Transactional(readOnly = true)
     public LocalDateTime getCurrentDeadline(Long auctionId) {
         Auction auction = auctionRepository.findById(auctionId)
                 .orElseThrow(() -> new RuntimeException("Auction not found"));
@@ -328,6 +365,24 @@ public class AuctionService {
         auction.setCurrentDeadline(newDeadline);
         auction.setMandatoryEndTime(newDeadline);
 
-        return auctionRepository.save(auction);
+        Auction saved = auctionRepository.save(auction);
+        webSocketEventService.broadcastAuctionState(saved);
+        return saved;
+    }
+
+    /**
+     * Announce a closed auction (the scheduler's closing path sends its own)
+     */
+    private void broadcastEnded(Auction auction) {
+        java.util.Map<String, Object> result = new java.util.LinkedHashMap<>();
+        result.put("auctionId", auction.getAuctionId());
+        result.put("itemName", auction.getItemName());
+        result.put("hasWinner", auction.getWinner() != null);
+        if (auction.getWinner() != null) {
+            result.put("winnerName", auction.getWinner().getUsername());
+            result.put("winnerId", auction.getWinner().getUserId());
+            result.put("finalPrice", auction.getCurrentPrice());
+        }
+        webSocketEventService.broadcastAuctionEnded(auction.getAuctionId(), result);
     }
 }
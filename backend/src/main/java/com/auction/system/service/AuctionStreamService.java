@@ -0,0 +1,345 @@
+package com.auction.system.service;
+
+import com.auction.system.websocket.AuctionEventLog;
+import com.auction.system.websocket.AuctionEventLog.AuctionEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Auction Stream Service
+ * Server-Sent Events fan-out of auction events for read-only viewers.
+ *
+ * Streams are async (SseEmitter), so an idle viewer holds a socket but no
+ * request thread. Events come from the AuctionEventLog, which hands them
+ * over in sequence order per auction; each viewer gets its own bounded queue
+ * (sse.queue-capacity) drained by a small send pool, so one slow viewer only
+ * backs up its own queue. Viewers whose writes take longer than
+ * sse.slow-send-ms are drained on a separate slow-lane pool, and a viewer
+ * whose queue overflows is disconnected; the browser reconnects and resumes.
+ * The SSE id is the event sequence number, so a reconnecting browser sends
+ * Last-Event-ID and gets what it missed replayed from the ring, or a
+ * "resync" event if the ring no longer goes back that far. Live events that
+ * arrive during the replay are held back and sent after it, in order.
+ */
+@Service
+@Slf4j
+public class AuctionStreamService {
+
+    private final AuctionEventLog auctionEventLog;
+
+    @Value("${sse.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${sse.max-subscribers:60000}")
+    private int maxSubscribers;
+
+    @Value("${sse.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${sse.send-threads:8}")
+    private int sendThreads;
+
+    @Value("${sse.slow-send-threads:2}")
+    private int slowSendThreads;
+
+    @Value("${sse.slow-send-ms:250}")
+    private long slowSendMillis;
+
+    private final Map<Long, Set<Subscriber>> subscribersByAuction = new ConcurrentHashMap<>();
+    private final Set<Subscriber> allSubscribers = ConcurrentHashMap.newKeySet();
+    private ExecutorService sendPool;
+    private ExecutorService slowSendPool;
+
+    // Monitoring fields
+    private final AtomicLong eventsPushed = new AtomicLong(0);
+    private final AtomicLong sendFailures = new AtomicLong(0);
+    private final AtomicLong resyncsSent = new AtomicLong(0);
+    private final AtomicLong slowSends = new AtomicLong(0);
+    private final AtomicLong slowViewersDropped = new AtomicLong(0);
+
+    public AuctionStreamService(AuctionEventLog auctionEventLog) {
+        this.auctionEventLog = auctionEventLog;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        sendPool = newPool("sse-send-", sendThreads);
+        slowSendPool = newPool("sse-send-slow-", slowSendThreads);
+        auctionEventLog.addListener(this::onEvent);
+    }
+
+    private static ExecutorService newPool(String prefix, int threads) {
+        AtomicInteger n = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, prefix + n.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendPool.shutdownNow();
+        slowSendPool.shutdownNow();
+        allSubscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * Open a stream for one or more auctions
+     *
+     * @param lastEventId last sequence the client saw (null for a fresh stream)
+     */
+    public SseEmitter subscribe(List<Long> auctionIds, Long lastEventId) {
+        if (allSubscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many stream subscribers");
+        }
+
+        boolean resuming = lastEventId != null && lastEventId > 0;
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, auctionIds, resuming);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        allSubscribers.add(subscriber);
+        for (Long auctionId : auctionIds) {
+            subscribersByAuction.computeIfAbsent(auctionId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+
+        // Registered first so nothing is missed; live events wait until the replay is queued
+        if (resuming) {
+            replay(subscriber, lastEventId);
+        } else {
+            subscriber.enqueue(SseEmitter.event().comment("connected"));
+        }
+
+        return emitter;
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        List<Long> resync = new ArrayList<>();
+        List<AuctionEvent> missed = new ArrayList<>();
+        for (Long auctionId : subscriber.auctionIds) {
+            List<AuctionEvent> events = auctionEventLog.since(auctionId, lastEventId);
+            if (events == null) {
+                resync.add(auctionId);
+            } else {
+                missed.addAll(events);
+            }
+        }
+        missed.sort(Comparator.comparingLong(AuctionEvent::seq));
+        resyncsSent.addAndGet(resync.size());
+        subscriber.finishReplay(resync, missed);
+    }
+
+    /**
+     * Called by the event log under the auction's lock; only queues, never writes
+     */
+    private void onEvent(AuctionEvent event) {
+        Set<Subscriber> subscribers = subscribersByAuction.get(event.auctionId());
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offerEvent(event);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        boolean slowLane = subscriber.slow;
+        (slowLane ? slowSendPool : sendPool).execute(() -> drain(subscriber, slowLane));
+    }
+
+    /**
+     * Write a viewer's queued frames in order, switching pools when its speed changes
+     */
+    private void drain(Subscriber subscriber, boolean slowLane) {
+        SseEmitter.SseEventBuilder next;
+        while ((next = subscriber.poll()) != null) {
+            long start = System.currentTimeMillis();
+            if (!send(subscriber, next)) {
+                subscriber.close();
+                return;
+            }
+            boolean nowSlow = System.currentTimeMillis() - start >= slowSendMillis;
+            if (nowSlow) {
+                slowSends.incrementAndGet();
+            }
+            subscriber.slow = nowSlow;
+            if (nowSlow != slowLane) {
+                schedule(subscriber);
+                return;
+            }
+        }
+        if (subscriber.closed) {
+            // Overflowed while we were writing; the browser reconnects with Last-Event-ID
+            subscriber.emitter.complete();
+        }
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            sendFailures.incrementAndGet();
+            remove(subscriber);
+            return false;
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (allSubscribers.remove(subscriber)) {
+            for (Long auctionId : subscriber.auctionIds) {
+                Set<Subscriber> subscribers = subscribersByAuction.get(auctionId);
+                if (subscribers != null) {
+                    subscribers.remove(subscriber);
+                    if (subscribers.isEmpty()) {
+                        subscribersByAuction.remove(auctionId, subscribers);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Keep idle connections alive through proxies and detect dead clients
+     * Runs every 15 seconds
+     */
+    @Scheduled(fixedRate = 15000)
+    public void heartbeat() {
+        for (Subscriber subscriber : allSubscribers) {
+            subscriber.enqueue(SseEmitter.event().comment("ping"));
+        }
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeSubscribers", allSubscribers.size());
+        stats.put("watchedAuctions", subscribersByAuction.size());
+        stats.put("eventsPushed", eventsPushed.get());
+        stats.put("sendFailures", sendFailures.get());
+        stats.put("resyncsSent", resyncsSent.get());
+        stats.put("slowSends", slowSends.get());
+        stats.put("slowViewersDropped", slowViewersDropped.get());
+        stats.put("slowViewers", allSubscribers.stream().filter(subscriber -> subscriber.slow).count());
+        stats.put("maxSubscribers", maxSubscribers);
+        return stats;
+    }
+
+    /**
+     * One open stream, the auctions it follows and its outbound queue
+     * Queue and replay state are guarded by the instance.
+     */
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final List<Long> auctionIds;
+        private final Map<Long, Long> lastSeqByAuction = new HashMap<>();
+        private final Deque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private List<AuctionEvent> heldDuringReplay;
+        private boolean draining;
+        private volatile boolean slow;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, List<Long> auctionIds, boolean resuming) {
+            this.emitter = emitter;
+            this.auctionIds = auctionIds;
+            this.heldDuringReplay = resuming ? new ArrayList<>() : null;
+        }
+
+        synchronized void offerEvent(AuctionEvent event) {
+            if (heldDuringReplay != null) {
+                heldDuringReplay.add(event);
+            } else {
+                enqueueEvent(event);
+            }
+        }
+
+        /**
+         * Queue the replayed events, then whatever arrived live in the meantime
+         */
+        synchronized void finishReplay(List<Long> resyncAuctionIds, List<AuctionEvent> missed) {
+            for (Long auctionId : resyncAuctionIds) {
+                enqueue(SseEmitter.event()
+                        .name("resync")
+                        .data("{\"auctionId\":" + auctionId + "}"));
+            }
+            missed.forEach(this::enqueueEvent);
+            heldDuringReplay.sort(Comparator.comparingLong(AuctionEvent::seq));
+            heldDuringReplay.forEach(this::enqueueEvent);
+            heldDuringReplay = null;
+        }
+
+        private void enqueueEvent(AuctionEvent event) {
+            Long last = lastSeqByAuction.get(event.auctionId());
+            if (last != null && last >= event.seq()) {
+                return;
+            }
+            lastSeqByAuction.put(event.auctionId(), event.seq());
+            if (enqueue(SseEmitter.event()
+                    .id(String.valueOf(event.seq()))
+                    .name(event.type())
+                    .data(event.json()))) {
+                eventsPushed.incrementAndGet();
+            }
+        }
+
+        synchronized boolean enqueue(SseEmitter.SseEventBuilder frame) {
+            if (closed) {
+                return false;
+            }
+            if (queue.size() >= queueCapacity) {
+                // Too slow to keep up: stop queuing, the running drain completes the stream
+                closed = true;
+                queue.clear();
+                slowViewersDropped.incrementAndGet();
+                remove(this);
+                return false;
+            }
+            queue.addLast(frame);
+            if (!draining) {
+                draining = true;
+                schedule(this);
+            }
+            return true;
+        }
+
+        synchronized SseEmitter.SseEventBuilder poll() {
+            SseEmitter.SseEventBuilder next = closed ? null : queue.pollFirst();
+            if (next == null) {
+                draining = false;
+            }
+            return next;
+        }
+
+        synchronized void close() {
+            closed = true;
+            queue.clear();
+            draining = false;
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package com.auction.system.service;
+
+import com.auction.system.entity.Auction;
+import com.auction.system.entity.Bid;
+import com.auction.system.entity.User;
+import com.auction.system.entity.WalletTransaction;
+import com.auction.system.repository.AuctionRepository;
+import com.auction.system.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bid Archive Service
+ * Moves the bid history of closed auctions out of the live tables in two stages:
+ *
+ * 1. Partition: once an ENDED auction has been closed for
+ *    bid.archive.partition-after-hours (and holds no money), its bids move to
+ *    bids_archive and its FREEZE/UNFREEZE ledger rows to
+ *    wallet_transactions_archive. The live bids and wallet_transactions tables
+ *    then only hold open auctions and money movements.
+ * 2. Cold storage: after bid.archive.cold-after-days the auction's archived
+ *    bids are compacted into one gzip JSON-lines file under
+ *    bid.archive.archive-dir and removed from the database;
+ *    bids_cold_bidders keeps which cold auctions each user bid in.
+ *
+ * Each auction moves in its own transaction; Auction.bidStorage records where
+ * its bids are, and findBids / findBidsByBidder read them back from there.
+ */
+@Service
+@Slf4j
+public class BidArchiveService {
+
+    private static final String HOLD_TYPES = "('FREEZE', 'UNFREEZE')";
+    private static final String WALLET_COLUMNS = "wallet_transaction_id, user_id, transaction_type, amount, " +
+            "balance_before, balance_after, frozen_before, frozen_after, available_before, available_after, " +
+            "description, related_auction_id, related_bid_id, created_at";
+
+    private final AuctionRepository auctionRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bid.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bid.archive.partition-after-hours:24}")
+    private int partitionAfterHours;
+
+    @Value("${bid.archive.cold-after-days:30}")
+    private int coldAfterDays;
+
+    @Value("${bid.archive.auctions-per-run:500}")
+    private int auctionsPerRun;
+
+    @Value("${bid.archive.archive-dir:archive/bids}")
+    private String archiveDir;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // Monitoring fields
+    private final AtomicLong totalPartitioned = new AtomicLong(0);
+    private final AtomicLong totalCompacted = new AtomicLong(0);
+    private final AtomicLong coldReads = new AtomicLong(0);
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    public BidArchiveService(AuctionRepository auctionRepository,
+                             UserRepository userRepository,
+                             JdbcTemplate jdbcTemplate,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.auctionRepository = auctionRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Archive closed auctions
+     * Runs daily (bid.archive.cron)
+     */
+    @Scheduled(cron = "${bid.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveClosedAuctions();
+        }
+    }
+
+    /**
+     * Run both archive stages now
+     *
+     * @return auctions moved per stage (empty if a run is already in progress)
+     */
+    public Map<String, Object> archiveClosedAuctions() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Bid archive already running, skipping");
+            return Map.of();
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            LocalDateTime now = LocalDateTime.now();
+
+            int partitioned = 0;
+            int skipped = 0;
+            for (Long auctionId : candidates(Auction.BidStorage.LIVE, now.minusHours(partitionAfterHours))) {
+                try {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(status -> moveToPartition(auctionId)))) {
+                        partitioned++;
+                    } else {
+                        skipped++;
+                    }
+                } catch (Exception e) {
+                    log.error("Moving bids of auction {} to the archive partition failed: {}", auctionId, e.getMessage());
+                }
+            }
+
+            int compacted = 0;
+            for (Long auctionId : candidates(Auction.BidStorage.PARTITION, now.minusDays(coldAfterDays))) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> compactToCold(auctionId));
+                    compacted++;
+                } catch (Exception e) {
+                    log.error("Compacting bids of auction {} to cold storage failed: {}", auctionId, e.getMessage());
+                }
+            }
+
+            totalPartitioned.addAndGet(partitioned);
+            totalCompacted.addAndGet(compacted);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("partitioned", partitioned);
+            result.put("skippedWithHeldFunds", skipped);
+            result.put("compacted", compacted);
+            result.put("durationMs", System.currentTimeMillis() - start);
+            result.put("finishedAt", LocalDateTime.now().toString());
+            lastRun = result;
+
+            log.info("Bid archive: {} auctions partitioned, {} compacted to cold storage in {} ms",
+                    partitioned, compacted, result.get("durationMs"));
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private List<Long> candidates(Auction.BidStorage storage, LocalDateTime closedBefore) {
+        return auctionRepository.findArchiveCandidates(Auction.AuctionStatus.ENDED, storage, closedBefore,
+                PageRequest.of(0, auctionsPerRun));
+    }
+
+    /**
+     * Stage 1: copy an auction's bids and hold ledger rows into the archive tables
+     *
+     * @return false if the auction still holds someone's money
+     */
+    private boolean moveToPartition(Long auctionId) {
+        Boolean held = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM wallet_reservations WHERE auction_id = ? AND status = 'HELD')",
+                Boolean.class, auctionId);
+        if (Boolean.TRUE.equals(held)) {
+            log.warn("Auction {} still has held funds, leaving its bids live", auctionId);
+            return false;
+        }
+
+        String holdRows = "FROM wallet_transactions WHERE related_auction_id = ? AND transaction_type IN " + HOLD_TYPES;
+        jdbcTemplate.update("INSERT INTO wallet_transactions_archive (" + WALLET_COLUMNS + ") " +
+                "SELECT " + WALLET_COLUMNS + " " + holdRows, auctionId);
+        int ledgerRows = jdbcTemplate.update("DELETE " + holdRows, auctionId);
+
+        // Ledger rows that stay live (payments, refunds) keep related_bid_id: it has no
+        // foreign key and still identifies the bid, now in bids_archive
+
+        jdbcTemplate.update("INSERT INTO bids_archive (bid_id, auction_id, bidder_id, bid_amount, bid_time, status) " +
+                "SELECT bid_id, auction_id, bidder_id, bid_amount, bid_time, status FROM bids WHERE auction_id = ?",
+                auctionId);
+        int bids = jdbcTemplate.update("DELETE FROM bids WHERE auction_id = ?", auctionId);
+
+        jdbcTemplate.update("UPDATE auctions SET bid_storage = 'PARTITION', archived_bid_count = ? WHERE auction_id = ?",
+                bids, auctionId);
+        log.debug("Auction {}: {} bids and {} hold ledger rows moved to archive partitions", auctionId, bids, ledgerRows);
+        return true;
+    }
+
+    /**
+     * Stage 2: write an auction's archived bids to its cold file, then drop them from the database
+     * The file is written before the rows are deleted; if the delete fails the
+     * file is simply rewritten on the next run.
+     */
+    private void compactToCold(Long auctionId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT bid_id, bidder_id, bid_amount, bid_time, status FROM bids_archive " +
+                "WHERE auction_id = ? ORDER BY bid_time DESC, bid_id DESC", auctionId);
+
+        Path file = coldFile(auctionId);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8))) {
+                for (Map<String, Object> row : rows) {
+                    Map<String, Object> line = new LinkedHashMap<>();
+                    line.put("bidId", ((Number) row.get("bid_id")).longValue());
+                    line.put("auctionId", auctionId);
+                    line.put("bidderId", ((Number) row.get("bidder_id")).longValue());
+                    line.put("bidAmount", ((BigDecimal) row.get("bid_amount")).toPlainString());
+                    line.put("bidTime", String.valueOf(toLocalDateTime(row.get("bid_time"))));
+                    line.put("status", row.get("status"));
+                    writer.write(objectMapper.writeValueAsString(line));
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Abort this auction's transaction: its bids stay in bids_archive
+            throw new IllegalStateException("Failed to write bid archive " + file, e);
+        }
+
+        // Index the file by bidder so a user's bid history can still find it
+        jdbcTemplate.update("INSERT INTO bids_cold_bidders (bidder_id, auction_id) " +
+                "SELECT DISTINCT bidder_id, auction_id FROM bids_archive WHERE auction_id = ? " +
+                "ON CONFLICT DO NOTHING", auctionId);
+        jdbcTemplate.update("DELETE FROM bids_archive WHERE auction_id = ?", auctionId);
+        jdbcTemplate.update("UPDATE auctions SET bid_storage = 'COLD' WHERE auction_id = ?", auctionId);
+        log.debug("Auction {}: {} archived bids compacted to {}", auctionId, rows.size(), file);
+    }
+
+    private Path coldFile(Long auctionId) {
+        return Paths.get(archiveDir, String.valueOf(auctionId / 1000), "auction-" + auctionId + ".jsonl.gz");
+    }
+
+    // ========== Read Path ==========
+
+    /**
+     * Whether an auction's bids have left the live bids table
+     */
+    public boolean isArchived(Auction auction) {
+        return auction.getBidStorage() != null && auction.getBidStorage() != Auction.BidStorage.LIVE;
+    }
+
+    /**
+     * Bids of an archived auction, most recent first
+     * Returned bids are detached copies carrying the auction and their bidders.
+     */
+    public List<Bid> findBids(Auction auction) {
+        List<ArchivedBid> archived = auction.getBidStorage() == Auction.BidStorage.COLD
+                ? readColdFile(auction.getAuctionId())
+                : jdbcTemplate.query(
+                        "SELECT bid_id, bidder_id, bid_amount, bid_time, status FROM bids_archive " +
+                        "WHERE auction_id = ? ORDER BY bid_time DESC, bid_id DESC",
+                        (rs, i) -> new ArchivedBid(rs.getLong("bid_id"), rs.getLong("bidder_id"),
+                                rs.getBigDecimal("bid_amount"), rs.getObject("bid_time", LocalDateTime.class),
+                                rs.getString("status")),
+                        auction.getAuctionId());
+
+        Set<Long> bidderIds = new HashSet<>();
+        archived.forEach(b -> bidderIds.add(b.bidderId()));
+        Map<Long, User> bidders = userRepository.findAllById(bidderIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        List<Bid> bids = new ArrayList<>(archived.size());
+        for (ArchivedBid b : archived) {
+            bids.add(Bid.builder()
+                    .bidId(b.bidId())
+                    .auction(auction)
+                    .bidder(bidders.get(b.bidderId()))
+                    .bidAmount(b.bidAmount())
+                    .bidTime(b.bidTime())
+                    .status(Bid.BidStatus.valueOf(b.status()))
+                    .build());
+        }
+        return bids;
+    }
+
+    /**
+     * A user's archived bids across all archived auctions, most recent first
+     * Returned bids are detached copies carrying their auctions and the bidder.
+     */
+    public List<Bid> findBidsByBidder(Long bidderId) {
+        Map<Long, List<ArchivedBid>> byAuction = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT bid_id, auction_id, bidder_id, bid_amount, bid_time, status FROM bids_archive " +
+                        "WHERE bidder_id = ?",
+                rs -> {
+                    byAuction.computeIfAbsent(rs.getLong("auction_id"), id -> new ArrayList<>())
+                            .add(new ArchivedBid(rs.getLong("bid_id"), rs.getLong("bidder_id"),
+                                    rs.getBigDecimal("bid_amount"), rs.getObject("bid_time", LocalDateTime.class),
+                                    rs.getString("status")));
+                },
+                bidderId);
+
+        List<Long> coldAuctionIds = jdbcTemplate.queryForList(
+                "SELECT auction_id FROM bids_cold_bidders WHERE bidder_id = ?", Long.class, bidderId);
+        for (Long auctionId : coldAuctionIds) {
+            List<ArchivedBid> bids = byAuction.computeIfAbsent(auctionId, id -> new ArrayList<>());
+            readColdFile(auctionId).stream()
+                    .filter(b -> bidderId.equals(b.bidderId()))
+                    .forEach(bids::add);
+        }
+        if (byAuction.isEmpty()) {
+            return List.of();
+        }
+
+        User bidder = userRepository.findById(bidderId).orElse(null);
+        Map<Long, Auction> auctions = auctionRepository.findAllById(byAuction.keySet()).stream()
+                .collect(Collectors.toMap(Auction::getAuctionId, Function.identity()));
+
+        List<Bid> bids = new ArrayList<>();
+        byAuction.forEach((auctionId, archived) -> {
+            for (ArchivedBid b : archived) {
+                bids.add(Bid.builder()
+                        .bidId(b.bidId())
+                        .auction(auctions.get(auctionId))
+                        .bidder(bidder)
+                        .bidAmount(b.bidAmount())
+                        .bidTime(b.bidTime())
+                        .status(Bid.BidStatus.valueOf(b.status()))
+                        .build());
+            }
+        });
+        bids.sort(Comparator.comparing(Bid::getBidTime).thenComparing(Bid::getBidId).reversed());
+        return bids;
+    }
+
+    private List<ArchivedBid> readColdFile(Long auctionId) {
+        Path file = coldFile(auctionId);
+        List<ArchivedBid> bids = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode node = objectMapper.readTree(line);
+                bids.add(new ArchivedBid(node.get("bidId").asLong(), node.get("bidderId").asLong(),
+                        new BigDecimal(node.get("bidAmount").asText()),
+                        LocalDateTime.parse(node.get("bidTime").asText()),
+                        node.get("status").asText()));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read bid archive " + file, e);
+        }
+        coldReads.incrementAndGet();
+        return bids;
+    }
+
+    /**
+     * A user's archived hold ledger rows, most recent first
+     */
+    public List<WalletTransaction> findArchivedWalletTransactions(Long userId) {
+        return jdbcTemplate.query("SELECT " + WALLET_COLUMNS + " FROM wallet_transactions_archive " +
+                "WHERE user_id = ? ORDER BY created_at DESC", this::mapWalletTransaction, userId);
+    }
+
+    private WalletTransaction mapWalletTransaction(ResultSet rs, int rowNum) throws SQLException {
+        return WalletTransaction.builder()
+                .walletTransactionId(rs.getLong("wallet_transaction_id"))
+                .userId(rs.getLong("user_id"))
+                .transactionType(WalletTransaction.TransactionType.valueOf(rs.getString("transaction_type")))
+                .amount(rs.getBigDecimal("amount"))
+                .balanceBefore(rs.getBigDecimal("balance_before"))
+                .balanceAfter(rs.getBigDecimal("balance_after"))
+                .frozenBefore(rs.getBigDecimal("frozen_before"))
+                .frozenAfter(rs.getBigDecimal("frozen_after"))
+                .availableBefore(rs.getBigDecimal("available_before"))
+                .availableAfter(rs.getBigDecimal("available_after"))
+                .description(rs.getString("description"))
+                .relatedAuctionId(rs.getObject("related_auction_id", Long.class))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof java.sql.Timestamp ts ? ts.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Map<String, Object> getSettings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("partitionAfterHours", partitionAfterHours);
+        settings.put("coldAfterDays", coldAfterDays);
+        settings.put("auctionsPerRun", auctionsPerRun);
+        settings.put("archiveDir", archiveDir);
+        return settings;
+    }
+
+    public Map<String, Object> getStorageCounts() {
+        Map<String, Object> counts = new LinkedHashMap<>();
+        counts.put("liveBids", jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bids", Long.class));
+        counts.put("partitionBids", jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bids_archive", Long.class));
+        counts.put("archivedBidsTotal", auctionRepository.sumArchivedBidCount());
+        counts.put("partitionLedgerRows",
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wallet_transactions_archive", Long.class));
+        return counts;
+    }
+
+    public long getTotalPartitioned() {
+        return totalPartitioned.get();
+    }
+
+    public long getTotalCompacted() {
+        return totalCompacted.get();
+    }
+
+    public long getColdReads() {
+        return coldReads.get();
+    }
+
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+
+    private record ArchivedBid(Long bidId, Long bidderId, BigDecimal bidAmount, LocalDateTime bidTime, String status) {
+    }
+}
@@ -6,16 +6,21 @@ import com.auction.system.entity.Auction;
 import com.auction.system.entity.Bid;
 import com.auction.system.entity.Notification;
 import com.auction.system.entity.User;
+import com.auction.system.entity.WalletReservation;
 import com.auction.system.network.multicast.MulticastBroadcaster;
 import com.auction.system.repository.AuctionRepository;
 import com.auction.system.repository.BidRepository;
 import com.auction.system.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -36,6 +41,8 @@ public class BidService {
     private final MulticastBroadcaster multicastBroadcaster;
     private final WalletService walletService;
     private final NotificationService notificationService;
+    private final StatsService statsService;
+    private final BidArchiveService bidArchiveService;
     private final com.auction.system.websocket.WebSocketEventService webSocketEventService;
 
     /**
@@ -69,8 +76,10 @@ public class BidService {
         // Step 3: Check if auction has expired
         if (auction.isExpired()) {
             log.warn("Bid rejected - Auction expired: {}", auction.getAuctionId());
+            statsService.onAuctionClosed(auction.getStatus());
             auction.setStatus(Auction.AuctionStatus.ENDED);
             auctionRepository.save(auction);
+            webSocketEventService.broadcastAuctionState(auction);
             return BidResponse.failure("Auction has ended");
         }
 
@@ -95,19 +104,22 @@ public class BidService {
                     auction.getCurrentPrice());
         }
 
-        // Step 6.5: Check if user has sufficient available balance
-        if (bidder.getAvailableBalance().compareTo(bidRequest.getBidAmount()) < 0) {
-            log.warn("Bid rejected - Insufficient funds. Available: {}, Required: {}",
-                    bidder.getAvailableBalance(), bidRequest.getBidAmount());
-            return BidResponse.failure("Insufficient available balance. You have $" +
-                    bidder.getAvailableBalance() + " but need $" + bidRequest.getBidAmount());
-        }
+        // Step 6.5: Hold the bid amount on the bidder's reservation for this auction.
+        // A bidder raising their own winning bid only freezes the difference.
+        List<Bid> winningBids = bidRepository.findByAuctionAndStatus(auction, Bid.BidStatus.WINNING);
+        BigDecimal ownWinningAmount = winningBids.stream()
+                .filter(b -> b.getBidder().getUserId().equals(bidder.getUserId()))
+                .map(Bid::getBidAmount)
+                .findFirst()
+                .orElse(null);
 
-        // Step 6.6: Freeze the bid amount
+        WalletReservation reservation;
         try {
-            walletService.freezeAmount(bidder.getUserId(), bidRequest.getBidAmount(),
-                    "Bid on " + auction.getItemName(), auction.getAuctionId(), null);
-            log.info("Frozen ${} from user {}", bidRequest.getBidAmount(), bidder.getUserId());
+            reservation = walletService.holdForBid(bidder.getUserId(), bidRequest.getBidAmount(),
+                    auction, ownWinningAmount);
+        } catch (IllegalArgumentException e) {
+            log.warn("Bid rejected - {}", e.getMessage());
+            return BidResponse.failure(e.getMessage());
         } catch (Exception e) {
             log.error("Failed to freeze bid amount", e);
             return BidResponse.failure("Failed to freeze bid amount: " + e.getMessage());
@@ -122,38 +134,38 @@ public class BidService {
                 .build();
 
         bid = bidRepository.save(bid);
+        reservation.setBidId(bid.getBidId());
+        statsService.onBidPlaced();
         log.info("Bid saved - ID: {}", bid.getBidId());
 
-        // Step 8: Update previous winning bids to OUTBID and unfreeze their money
-        List<Bid> previousBids = bidRepository.findByAuctionOrderByBidAmountDesc(auction);
-        for (Bid previousBid : previousBids) {
-            if (!previousBid.getBidId().equals(bid.getBidId()) &&
-                    previousBid.getStatus() == Bid.BidStatus.WINNING) {
-                previousBid.setStatus(Bid.BidStatus.OUTBID);
-                bidRepository.save(previousBid);
+        // Step 8: Mark previous winning bids OUTBID and release the other bidders' holds
+        for (Bid previousBid : winningBids) {
+            previousBid.setStatus(Bid.BidStatus.OUTBID);
+            bidRepository.save(previousBid);
 
-                // Unfreeze the previous bidder's money
-                try {
-                    walletService.unfreezeAmount(
-                            previousBid.getBidder().getUserId(),
-                            previousBid.getBidAmount(),
-                            "Outbid on " + auction.getItemName(),
-                            auction.getAuctionId(),
-                            previousBid.getBidId()
-                    );
-                    log.info("Unfrozen ${} for user {} (outbid)",
-                            previousBid.getBidAmount(), previousBid.getBidder().getUserId());
-
-                    // Send notification to outbid user
-                    notificationService.createNotification(
-                            previousBid.getBidder(),
-                            Notification.NotificationType.OUTBID,
-                            "You were outbid on '" + auction.getItemName() +
-                                    "'. New price: $" + bid.getBidAmount()
-                    );
-                } catch (Exception e) {
-                    log.error("Failed to unfreeze amount for outbid user", e);
-                }
+            // Own previous bid: the reservation was already raised in place
+            if (previousBid.getBidder().getUserId().equals(bidder.getUserId())) {
+                continue;
+            }
+
+            try {
+                walletService.releaseHold(
+                        previousBid.getBidder().getUserId(),
+                        auction,
+                        previousBid.getBidAmount(),
+                        "Outbid on " + auction.getItemName()
+                );
+                log.info("Released hold for user {} (outbid)", previousBid.getBidder().getUserId());
+
+                // Send notification to outbid user
+                notificationService.createNotification(
+                        previousBid.getBidder(),
+                        Notification.NotificationType.OUTBID,
+                        "You were outbid on '" + auction.getItemName() +
+                                "'. New price: $" + bid.getBidAmount()
+                );
+            } catch (Exception e) {
+                log.error("Failed to release hold for outbid user", e);
             }
         }
 
@@ -162,8 +174,10 @@ public class BidService {
         auction.updateDeadline(LocalDateTime.now());
 
         // Check if auction is ending soon
+        Auction.AuctionStatus previousStatus = auction.getStatus();
         if (auction.isEndingSoon()) {
             auction.setStatus(Auction.AuctionStatus.ENDING_SOON);
+            statsService.onAuctionStatusChanged(previousStatus, auction.getStatus());
         }
 
         auctionRepository.save(auction);
@@ -205,11 +219,14 @@ public class BidService {
                     "currentPrice", auction.getCurrentPrice()
             ));
 
-            webSocketEventService.broadcastAuctionUpdate(auction.getAuctionId(), java.util.Map.of(
-                    "currentPrice", auction.getCurrentPrice(),
-                    "currentDeadline", auction.getCurrentDeadline(),
-                    "status", auction.getStatus().toString()
-            ));
+            // NEW_BID carries price and deadline; a status update only goes out on a change
+            if (auction.getStatus() != previousStatus) {
+                webSocketEventService.broadcastAuctionUpdate(auction.getAuctionId(), java.util.Map.of(
+                        "currentPrice", auction.getCurrentPrice(),
+                        "currentDeadline", auction.getCurrentDeadline(),
+                        "status", auction.getStatus().toString()
+                ));
+            }
         } catch (Exception e) {
             log.error("Failed to broadcast WebSocket update", e);
         }
@@ -225,20 +242,60 @@ public class BidService {
 
     /**
      * Get all bids for an auction
+     * Closed auctions whose bids were archived are answered from the archive
      */
+    @Transactional(readOnly = true)
     public List<Bid> getBidsForAuction(Long auctionId) {
         Auction auction = auctionRepository.findById(auctionId)
                 .orElseThrow(() -> new RuntimeException("Auction not found"));
+        if (bidArchiveService.isArchived(auction)) {
+            return bidArchiveService.findBids(auction);
+        }
         return bidRepository.findByAuctionOrderByBidTimeDesc(auction);
     }
 
+    /**
+     * Get the most recent bids for an auction, newest first
+     * Same archive-aware path as above; runs outside a read-only transaction so
+     * it reads the primary (snapshots must not lag behind the event log)
+     */
+    public List<Bid> getBidsForAuction(Auction auction, int limit) {
+        if (bidArchiveService.isArchived(auction)) {
+            List<Bid> archived = bidArchiveService.findBids(auction);
+            return archived.size() > limit ? archived.subList(0, limit) : archived;
+        }
+        return bidRepository.findByAuctionAuctionIdOrderByBidTimeDesc(auction.getAuctionId(), PageRequest.of(0, limit));
+    }
+
     /**
      * Get all bids placed by a user
+     * Includes bids on closed auctions that were moved to the archive
      */
+    @Transactional(readOnly = true)
     public List<Bid> getBidsByUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return bidRepository.findByBidderOrderByBidTimeDesc(user);
+        return withArchivedBids(userId, bidRepository.findByBidderOrderByBidTimeDesc(user));
+    }
+
+    /**
+     * Get all bids placed by an already-authenticated user (skips the user lookup)
+     */
+    @Transactional(readOnly = true)
+    public List<Bid> getBidsByBidderId(Long bidderId) {
+        return withArchivedBids(bidderId, bidRepository.findByBidderUserIdOrderByBidTimeDesc(bidderId));
+    }
+
+    private List<Bid> withArchivedBids(Long bidderId, List<Bid> live) {
+        List<Bid> archived = bidArchiveService.findBidsByBidder(bidderId);
+        if (archived.isEmpty()) {
+            return live;
+        }
+        List<Bid> bids = new ArrayList<>(live.size() + archived.size());
+        bids.addAll(live);
+        bids.addAll(archived);
+        bids.sort(Comparator.comparing(Bid::getBidTime).reversed());
+        return bids;
     }
 
     /**
@@ -258,26 +315,25 @@ public class BidService {
             throw new IllegalStateException("Cannot retract bid after 1 minute");
         }
 
-        // Unfreeze the bid amount
-        try {
-            walletService.unfreezeAmount(
-                    bid.getBidder().getUserId(),
-                    bid.getBidAmount(),
-                    "Bid retracted on " + bid.getAuction().getItemName(),
-                    bid.getAuction().getAuctionId(),
-                    bid.getBidId()
-            );
-            log.info("Unfrozen ${} for user {} (bid retracted)",
-                    bid.getBidAmount(), bid.getBidder().getUserId());
-        } catch (Exception e) {
-            log.error("Failed to unfreeze retracted bid amount", e);
-            throw new RuntimeException("Failed to unfreeze bid amount: " + e.getMessage());
-        }
-
-        // Check if this is the winning bid
+        // Only the winning bid holds funds; an outbid bid's hold was already released
         if (bid.getStatus() == Bid.BidStatus.WINNING) {
+            Auction auction = bid.getAuction();
+
+            try {
+                walletService.releaseHold(
+                        bid.getBidder().getUserId(),
+                        auction,
+                        bid.getBidAmount(),
+                        "Bid retracted on " + auction.getItemName()
+                );
+                log.info("Released hold for user {} (bid retracted)", bid.getBidder().getUserId());
+            } catch (Exception e) {
+                log.error("Failed to release retracted bid hold", e);
+                throw new RuntimeException("Failed to unfreeze bid amount: " + e.getMessage());
+            }
+
             // Find previous bid and make it winning
-            List<Bid> previousBids = bidRepository.findByAuctionOrderByBidAmountDesc(bid.getAuction());
+            List<Bid> previousBids = bidRepository.findByAuctionOrderByBidAmountDesc(auction);
             Bid previousWinningBid = null;
             for (Bid prevBid : previousBids) {
                 if (!prevBid.getBidId().equals(bidId) && prevBid.getStatus() == Bid.BidStatus.OUTBID) {
@@ -287,21 +343,20 @@ public class BidService {
             }
 
             // Update auction price to previous bid
-            Auction auction = bid.getAuction();
             if (previousWinningBid != null) {
                 previousWinningBid.setStatus(Bid.BidStatus.WINNING);
                 bidRepository.save(previousWinningBid);
                 auction.setCurrentPrice(previousWinningBid.getBidAmount());
 
-                // Re-freeze the previous bidder's money
+                // Re-hold the previous bidder's money
                 try {
-                    walletService.freezeAmount(
+                    WalletReservation reservation = walletService.holdForBid(
                             previousWinningBid.getBidder().getUserId(),
                             previousWinningBid.getBidAmount(),
-                            "Bid on " + auction.getItemName() + " (now winning after retraction)",
-                            auction.getAuctionId(),
-                            previousWinningBid.getBidId()
+                            auction,
+                            null
                     );
+                    reservation.setBidId(previousWinningBid.getBidId());
                 } catch (Exception e) {
                     log.error("Failed to re-freeze previous bidder's amount", e);
                 }
@@ -313,6 +368,13 @@ public class BidService {
 
         // Delete the bid
         bidRepository.delete(bid);
+        statsService.onBidRetracted();
         log.info("Bid retracted - ID: {}", bidId);
+
+        // Tell viewers (and the snapshot cache) the bid is gone and what the price is now
+        java.util.Map<String, Object> update =
+                com.auction.system.websocket.WebSocketEventService.auctionState(bid.getAuction());
+        update.put("retractedBidId", bidId);
+        webSocketEventService.broadcastAuctionUpdate(bid.getAuction().getAuctionId(), update);
     }
 }
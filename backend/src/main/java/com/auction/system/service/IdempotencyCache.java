@@ -0,0 +1,152 @@
+package com.auction.system.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency Cache
+ * Bounded in-memory record of operations already performed for a client
+ * idempotency key, so retried payment requests are answered from memory
+ * instead of being processed (or looked up) again.
+ *
+ * The first request for a key runs the operation; concurrent retries with
+ * the same key wait for that result rather than running it a second time.
+ * A key reused for a different request (different fingerprint) is rejected.
+ * Failed operations are forgotten so the client can retry them. Entries live
+ * for idempotency.cache.ttl-ms; past idempotency.cache.max-entries the least
+ * recently used key is evicted. Callers that must survive restarts or
+ * eviction back this with a unique database constraint.
+ */
+@Component
+public class IdempotencyCache {
+
+    @Value("${idempotency.cache.ttl-ms:86400000}")
+    private long ttlMillis;
+
+    @Value("${idempotency.cache.max-entries:100000}")
+    private int maxEntries;
+
+    // Access-ordered, so the eldest entry is the least recently used key; guarded by itself
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > maxEntries) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // Monitoring fields
+    private final AtomicLong evictions = new AtomicLong(0);
+    private final AtomicLong executions = new AtomicLong(0);
+    private final AtomicLong replays = new AtomicLong(0);
+    private final AtomicLong conflicts = new AtomicLong(0);
+
+    /**
+     * Run an operation at most once per key
+     *
+     * @param key         client idempotency key, already scoped to the caller (e.g. user id)
+     * @param fingerprint identifies the request the key was first used for
+     * @return the operation's result, replayed=true if it came from an earlier request
+     * @throws IdempotencyKeyConflictException if the key was used for a different request
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(String key, String fingerprint, Supplier<T> operation) {
+        long now = System.currentTimeMillis();
+        Entry fresh = new Entry(fingerprint, new CompletableFuture<>(), now + ttlMillis);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || entry.expiresAt <= now) {
+                entry = fresh;
+                entries.put(key, fresh);
+            }
+        }
+
+        if (entry != fresh) {
+            if (!entry.fingerprint.equals(fingerprint)) {
+                conflicts.incrementAndGet();
+                throw new IdempotencyKeyConflictException("Idempotency key was already used for a different request");
+            }
+            replays.incrementAndGet();
+            try {
+                return new Result<>((T) entry.result.join(), true);
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        executions.incrementAndGet();
+        try {
+            T value = operation.get();
+            fresh.result.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                entries.remove(key, fresh);
+            }
+            fresh.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public int getCachedKeys() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getExecutions() {
+        return executions.get();
+    }
+
+    public long getReplays() {
+        return replays.get();
+    }
+
+    public long getConflicts() {
+        return conflicts.get();
+    }
+
+    /**
+     * Outcome of an idempotent operation
+     */
+    public record Result<T>(T value, boolean replayed) {
+    }
+
+    /**
+     * Idempotency key reused with a different request
+     */
+    public static class IdempotencyKeyConflictException extends IllegalStateException {
+        public IdempotencyKeyConflictException(String message) {
+            super(message);
+        }
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<Object> result, long expiresAt) {
+    }
+}
@@ -0,0 +1,368 @@
+package com.auction.system.service;
+
+import com.auction.system.repository.AuctionRepository;
+import com.auction.system.util.ImageVariants;
+import com.auction.system.util.ImageVariants.Variant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Image Blob Store
+ * Content-addressed storage for auction images.
+ *
+ * Each image is stored once under its SHA-256 in a sharded directory
+ * ({ab}/{cd}/{hash}.{ext}), hashed while it is streamed to disk, so the same
+ * photo uploaded for a relisted item adds no bytes. A blob's references are
+ * the auctions whose imageUrl points at it; they are counted from the
+ * auctions table rather than kept in a separate counter, so edits and
+ * deletions through any code path stay consistent.
+ *
+ * A mark-and-sweep GC (image.gc.cron) deletes blobs and variants that no
+ * auction references, once they are older than image.gc.grace-hours so that
+ * images uploaded for an auction that is still being created survive.
+ */
+@Service
+@Slf4j
+public class ImageBlobStore {
+
+    private final AuctionRepository auctionRepository;
+
+    @Value("${image.gc.enabled:true}")
+    private boolean gcEnabled;
+
+    @Value("${image.gc.grace-hours:24}")
+    private long graceHours;
+
+    @Value("${image.gc.dry-run:false}")
+    private boolean dryRun;
+
+    @Value("${image.upload.buffer-bytes:16384}")
+    private int bufferBytes;
+
+    private final Path root = Paths.get(ImageVariants.UPLOAD_DIR);
+    private final AtomicBoolean sweeping = new AtomicBoolean(false);
+
+    // Monitoring fields
+    private final AtomicLong blobsStored = new AtomicLong(0);
+    private final AtomicLong duplicateUploads = new AtomicLong(0);
+    private final AtomicLong rejectedUploads = new AtomicLong(0);
+    private final AtomicLong bytesDeduplicated = new AtomicLong(0);
+    private final AtomicLong filesCollected = new AtomicLong(0);
+    private final AtomicLong bytesCollected = new AtomicLong(0);
+    private volatile Map<String, Object> lastSweep = Map.of();
+
+    public ImageBlobStore(AuctionRepository auctionRepository) {
+        this.auctionRepository = auctionRepository;
+    }
+
+    /**
+     * Stream an image into the store in a single pass
+     * The format is taken from the first bytes (not the client's Content-Type), the size limit is
+     * enforced while reading, and each buffer is hashed and written before the next one is read,
+     * so an upload never holds more than one small buffer in memory.
+     *
+     * @return the stored blob; duplicate is true if identical content was already stored
+     * @throws InvalidImageException if the content is not a supported image
+     * @throws ImageTooLargeException as soon as more than maxBytes have been read
+     */
+    public StoredBlob store(InputStream content, long maxBytes) throws IOException {
+        Path tempFile = createTempFile();
+        try {
+            MessageDigest digest = newDigest();
+            byte[] buffer = new byte[Math.max(bufferBytes, ImageVariants.SNIFF_LENGTH)];
+            long size = 0;
+            String extension;
+
+            try (FileChannel out = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                // Fill enough of the first chunk to recognise the format
+                int count = 0;
+                int read;
+                while (count < ImageVariants.SNIFF_LENGTH
+                        && (read = content.read(buffer, count, buffer.length - count)) != -1) {
+                    count += read;
+                }
+                extension = ImageVariants.sniffExtension(buffer, count);
+                if (extension == null) {
+                    rejectedUploads.incrementAndGet();
+                    throw new InvalidImageException("Only JPEG, PNG, GIF, WebP or BMP images are allowed");
+                }
+
+                while (count != -1) {
+                    size += count;
+                    if (size > maxBytes) {
+                        rejectedUploads.incrementAndGet();
+                        throw new ImageTooLargeException("File size exceeds " + (maxBytes / (1024 * 1024)) + "MB limit");
+                    }
+                    digest.update(buffer, 0, count);
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, count);
+                    while (chunk.hasRemaining()) {
+                        out.write(chunk);
+                    }
+                    count = content.read(buffer);
+                }
+            }
+
+            return commit(tempFile, HexFormat.of().formatHex(digest.digest()), extension, size);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Move an already-hashed temp file into its content-addressed location
+     */
+    private StoredBlob commit(Path tempFile, String hash, String extension, long size) throws IOException {
+        Path shard = root.resolve(ImageVariants.shardOf(hash));
+        Files.createDirectories(shard);
+
+        String fileName = hash + extension;
+        Path target = shard.resolve(fileName);
+        Path existing = resolve(hash);
+        boolean duplicate = existing != null;
+
+        if (duplicate) {
+            duplicateUploads.incrementAndGet();
+            bytesDeduplicated.addAndGet(size);
+            target = existing;
+            touch(existing);
+        } else {
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+            blobsStored.incrementAndGet();
+        }
+
+        String url = ImageVariants.URL_PATH + root.relativize(target).toString().replace('\\', '/');
+        return new StoredBlob(hash, target, url, size, duplicate);
+    }
+
+    /**
+     * Temp file in the store's root (same filesystem, so commit is an atomic rename)
+     */
+    private Path createTempFile() throws IOException {
+        Files.createDirectories(root);
+        return Files.createTempFile(root, ".upload-", ".tmp");
+    }
+
+    /**
+     * Locate the original for a hash (sharded layout first, then the older flat layout)
+     */
+    public Path resolve(String hash) throws IOException {
+        Path found = findOriginal(root.resolve(ImageVariants.shardOf(hash)), hash);
+        return found != null ? found : findOriginal(root, hash);
+    }
+
+    /**
+     * Number of auctions whose image is this blob
+     */
+    public long countReferences(String hash) {
+        return auctionRepository.countByImageUrlContaining(hash);
+    }
+
+    /**
+     * Delete a blob and its variants
+     */
+    public boolean delete(String hash) throws IOException {
+        Path original = resolve(hash);
+        if (original == null) {
+            return false;
+        }
+        for (Variant variant : Variant.values()) {
+            Files.deleteIfExists(original.resolveSibling(ImageVariants.variantFileName(hash, variant)));
+        }
+        Files.deleteIfExists(original);
+        return true;
+    }
+
+    /**
+     * Garbage-collect unreferenced images
+     * Runs daily (image.gc.cron)
+     */
+    @Scheduled(cron = "${image.gc.cron:0 45 3 * * *}")
+    public void scheduledSweep() {
+        if (gcEnabled) {
+            sweep();
+        }
+    }
+
+    /**
+     * Mark every image referenced by an auction, then delete the rest past the grace period
+     */
+    public Map<String, Object> sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            log.warn("Image GC already running, skipping");
+            return Map.of();
+        }
+
+        long start = System.currentTimeMillis();
+        long[] scanned = {0};
+        long[] deleted = {0};
+        long[] freed = {0};
+        try {
+            if (!Files.isDirectory(root)) {
+                return Map.of();
+            }
+
+            // Mark: hashes of content-addressed images plus file names of legacy uploads
+            Set<String> referencedHashes = new HashSet<>();
+            Set<String> referencedNames = new HashSet<>();
+            for (String imageUrl : auctionRepository.findAllImageUrls()) {
+                String hash = ImageVariants.hashOf(imageUrl);
+                if (hash != null) {
+                    referencedHashes.add(hash);
+                }
+                referencedNames.add(imageUrl.substring(imageUrl.lastIndexOf('/') + 1));
+            }
+
+            Instant cutoff = Instant.now().minus(Duration.ofHours(graceHours));
+
+            // Sweep
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    String name = file.getFileName().toString();
+                    if (!attrs.isRegularFile() || attrs.lastModifiedTime().toInstant().isAfter(cutoff)) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    scanned[0]++;
+
+                    String hash = ImageVariants.hashOfOriginalFile(name);
+                    if (hash == null) {
+                        hash = ImageVariants.hashOfVariantFile(name);
+                    }
+                    // Dot files are abandoned temp files
+                    boolean referenced = !name.startsWith(".")
+                            && (hash != null ? referencedHashes.contains(hash) : referencedNames.contains(name));
+
+                    if (!referenced) {
+                        if (!dryRun) {
+                            Files.deleteIfExists(file);
+                        }
+                        deleted[0]++;
+                        freed[0] += attrs.size();
+                        log.debug("Image GC {} {}", dryRun ? "would delete" : "deleted", file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.error("Image GC failed", e);
+        } finally {
+            sweeping.set(false);
+        }
+
+        if (!dryRun) {
+            filesCollected.addAndGet(deleted[0]);
+            bytesCollected.addAndGet(freed[0]);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scanned", scanned[0]);
+        result.put("deleted", deleted[0]);
+        result.put("bytesFreed", freed[0]);
+        result.put("dryRun", dryRun);
+        result.put("durationMs", System.currentTimeMillis() - start);
+        lastSweep = result;
+
+        log.info("Image GC: {} of {} files unreferenced ({} bytes){}", deleted[0], scanned[0], freed[0],
+                dryRun ? " [dry run]" : "");
+        return result;
+    }
+
+    private Path findOriginal(Path directory, String hash) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+        try (DirectoryStream<Path> originals = Files.newDirectoryStream(directory, hash + ".*")) {
+            for (Path original : originals) {
+                return original;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Re-uploaded content counts as fresh for the GC grace period
+     */
+    private void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            log.debug("Could not touch {}", file);
+        }
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("blobsStored", blobsStored.get());
+        stats.put("duplicateUploads", duplicateUploads.get());
+        stats.put("rejectedUploads", rejectedUploads.get());
+        stats.put("bytesDeduplicated", bytesDeduplicated.get());
+        stats.put("filesCollected", filesCollected.get());
+        stats.put("bytesCollected", bytesCollected.get());
+        stats.put("gcEnabled", gcEnabled);
+        stats.put("gcGraceHours", graceHours);
+        stats.put("lastSweep", lastSweep);
+        return stats;
+    }
+
+    /**
+     * Result of storing an image
+     */
+    public record StoredBlob(String hash, Path path, String url, long size, boolean duplicate) {
+    }
+
+    /**
+     * Upload content is not a supported image
+     */
+    public static class InvalidImageException extends IllegalArgumentException {
+        public InvalidImageException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Upload exceeded the size limit
+     */
+    public static class ImageTooLargeException extends IllegalArgumentException {
+        public ImageTooLargeException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.auction.system.service;
+
+import com.auction.system.util.ImageVariants;
+import com.auction.system.util.ImageVariants.Variant;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Image Processing Service
+ * Generates resized variants of uploaded auction images in the background.
+ *
+ * Each original gets a thumbnail (320px, for list pages) and a medium
+ * (1024px, for detail pages) variant, both written as progressive JPEG so
+ * browsers can paint a preview early. Work runs on a small bounded pool
+ * (image.processing.threads / queue-capacity); when the queue is full the
+ * job is dropped and the original keeps being served in place of the variant.
+ *
+ * A small compressed file can declare a huge canvas, so the header is read
+ * first and anything over image.processing.max-pixels is refused before a
+ * pixel is decoded. Accepted images are decoded subsampled, at no more than
+ * about twice the largest variant, instead of at full resolution.
+ */
+@Service
+@Slf4j
+public class ImageProcessingService {
+
+    @Value("${image.processing.threads:2}")
+    private int threads;
+
+    @Value("${image.processing.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${image.processing.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    @Value("${image.processing.max-pixels:40000000}")
+    private long maxPixels;
+
+    private ThreadPoolExecutor executor;
+
+    // Monitoring fields
+    private final AtomicLong submitted = new AtomicLong(0);
+    private final AtomicLong processed = new AtomicLong(0);
+    private final AtomicLong failed = new AtomicLong(0);
+    private final AtomicLong rejected = new AtomicLong(0);
+    private final AtomicLong oversized = new AtomicLong(0);
+    private final AtomicLong totalProcessingMillis = new AtomicLong(0);
+
+    @PostConstruct
+    public void initialize() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "image-worker-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+        log.info("Image processing pool started ({} threads, queue {})", threads, queueCapacity);
+    }
+
+    /**
+     * Queue variant generation for a stored original
+     *
+     * @return false if the queue is full and the job was dropped
+     */
+    public boolean submit(String hash, Path original) {
+        submitted.incrementAndGet();
+        try {
+            executor.execute(() -> process(hash, original));
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            log.warn("Image processing queue full, skipping variants for {}", hash);
+            return false;
+        }
+    }
+
+    private void process(String hash, Path original) {
+        long start = System.currentTimeMillis();
+        try {
+            BufferedImage source = decode(original);
+            if (source == null) {
+                return; // Over the pixel budget, counted and logged by decode
+            }
+
+            for (Variant variant : Variant.values()) {
+                Path target = original.resolveSibling(ImageVariants.variantFileName(hash, variant));
+                if (Files.exists(target)) {
+                    continue; // Same content uploaded before
+                }
+                writeProgressiveJpeg(resize(source, variant.getMaxEdge()), target);
+            }
+
+            processed.incrementAndGet();
+            totalProcessingMillis.addAndGet(System.currentTimeMillis() - start);
+            log.debug("Generated variants for {} in {} ms", hash, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.error("Failed to generate variants for {}: {}", hash, e.getMessage());
+        }
+    }
+
+    /**
+     * Decode the original, checking its declared dimensions first and
+     * subsampling on read so the decoded raster stays near the largest variant
+     *
+     * @return null if the image exceeds the pixel budget
+     */
+    private BufferedImage decode(Path original) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    oversized.incrementAndGet();
+                    log.warn("Skipping variants for {}: {}x{} exceeds the {} pixel budget",
+                            original.getFileName(), width, height, maxPixels);
+                    return null;
+                }
+
+                // Keep at least twice the largest edge so the halving resize still smooths
+                int largestEdge = 0;
+                for (Variant variant : Variant.values()) {
+                    largestEdge = Math.max(largestEdge, variant.getMaxEdge());
+                }
+                int factor = Math.max(1, Math.max(width, height) / (largestEdge * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scale to fit maxEdge (never upscales), halving in steps for quality,
+     * onto an opaque RGB canvas since JPEG has no alpha
+     */
+    private BufferedImage resize(BufferedImage source, int maxEdge) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            // Halve while still at least twice the target, then finish in one step
+            currentWidth = currentWidth / 2 >= targetWidth ? currentWidth / 2 : targetWidth;
+            currentHeight = currentHeight / 2 >= targetHeight ? currentHeight / 2 : targetHeight;
+
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, currentWidth, currentHeight);
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+
+        return current;
+    }
+
+    /**
+     * Write a progressive JPEG via a temp file, so readers never see a partial variant
+     */
+    private void writeProgressiveJpeg(BufferedImage image, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG writer available");
+        }
+        ImageWriter writer = writers.next();
+
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+        Path temp = Files.createTempFile(target.getParent(), ".variant-", ".tmp");
+        try {
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public long getSubmitted() {
+        return submitted.get();
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getOversized() {
+        return oversized.get();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public double getAverageProcessingMillis() {
+        long count = processed.get();
+        return count == 0 ? 0 : (double) totalProcessingMillis.get() / count;
+    }
+}
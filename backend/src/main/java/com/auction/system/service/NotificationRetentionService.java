@@ -0,0 +1,240 @@
+package com.auction.system.service;
+
+import com.auction.system.entity.Notification;
+import com.auction.system.repository.NotificationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Notification Retention Service
+ * Keeps the notifications table small by deleting notifications older than
+ * their type's TTL (notification.retention.ttl-days.<TYPE>, falling back to
+ * notification.retention.default-ttl-days; 0 keeps a type forever).
+ *
+ * Expired rows are removed in chunks of notification.retention.chunk-size,
+ * each in its own short transaction, so a large backlog never holds locks for
+ * long. With archiving enabled, each chunk is first appended to a daily
+ * gzip JSON-lines file (one gzip member per chunk) under
+ * notification.retention.archive-dir. Archiving is at-least-once: a chunk whose
+ * delete fails is archived again on the next run.
+ */
+@Service
+@Slf4j
+public class NotificationRetentionService {
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadCountCache unreadCountCache;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notification.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.retention.default-ttl-days:90}")
+    private int defaultTtlDays;
+
+    @Value("${notification.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${notification.retention.archive-enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${notification.retention.archive-dir:archive/notifications}")
+    private String archiveDir;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // Monitoring fields
+    private final AtomicLong totalDeleted = new AtomicLong(0);
+    private final AtomicLong totalArchived = new AtomicLong(0);
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    public NotificationRetentionService(NotificationRepository notificationRepository,
+                                        UnreadCountCache unreadCountCache,
+                                        ObjectMapper objectMapper,
+                                        Environment environment,
+                                        PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.unreadCountCache = unreadCountCache;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Purge expired notifications
+     * Runs daily (notification.retention.cron)
+     */
+    @Scheduled(cron = "${notification.retention.cron:0 15 3 * * *}")
+    public void scheduledPurge() {
+        if (enabled) {
+            purgeExpired();
+        }
+    }
+
+    /**
+     * Purge expired notifications of every type now
+     *
+     * @return rows deleted per type (empty if a purge is already running)
+     */
+    public Map<String, Object> purgeExpired() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Notification purge already running, skipping");
+            return Map.of();
+        }
+
+        long start = System.currentTimeMillis();
+        Map<String, Object> deletedByType = new LinkedHashMap<>();
+        long deleted = 0;
+        try {
+            for (Map.Entry<Notification.NotificationType, Integer> ttl : getTtlDays().entrySet()) {
+                if (ttl.getValue() <= 0) {
+                    continue;
+                }
+                LocalDateTime cutoff = LocalDateTime.now().minusDays(ttl.getValue());
+                long typeDeleted = 0;
+                int chunk;
+                do {
+                    chunk = purgeChunk(ttl.getKey(), cutoff);
+                    typeDeleted += chunk;
+                } while (chunk == chunkSize);
+
+                deletedByType.put(ttl.getKey().name(), typeDeleted);
+                deleted += typeDeleted;
+            }
+        } finally {
+            running.set(false);
+        }
+
+        if (deleted > 0) {
+            // Purged rows may have been unread; let counters reload
+            unreadCountCache.clear();
+        }
+        totalDeleted.addAndGet(deleted);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("deleted", deleted);
+        result.put("deletedByType", deletedByType);
+        result.put("archived", archiveEnabled);
+        result.put("durationMs", System.currentTimeMillis() - start);
+        result.put("finishedAt", LocalDateTime.now().toString());
+        lastRun = result;
+
+        log.info("Notification purge removed {} rows in {} ms", deleted, result.get("durationMs"));
+        return result;
+    }
+
+    /**
+     * Delete (and optionally archive) one chunk of expired notifications of a type
+     */
+    private int purgeChunk(Notification.NotificationType type, LocalDateTime cutoff) {
+        Integer count = transactionTemplate.execute(status -> {
+            if (!archiveEnabled) {
+                return notificationRepository.deleteExpiredChunk(type.name(), cutoff, chunkSize);
+            }
+
+            List<Notification> chunk = notificationRepository.findByTypeAndCreatedAtBeforeOrderByNotificationIdAsc(
+                    type, cutoff, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                return 0;
+            }
+            archive(chunk);
+
+            List<Long> ids = new ArrayList<>(chunk.size());
+            chunk.forEach(n -> ids.add(n.getNotificationId()));
+            notificationRepository.deleteAllByIdInBatch(ids);
+            return ids.size();
+        });
+        return count == null ? 0 : count;
+    }
+
+    private void archive(List<Notification> chunk) {
+        Path file = Paths.get(archiveDir, "notifications-" + LocalDate.now() + ".jsonl.gz");
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                 BufferedWriter writer = new BufferedWriter(
+                         new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8))) {
+                for (Notification notification : chunk) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("notificationId", notification.getNotificationId());
+                    row.put("userId", notification.getUser().getUserId());
+                    row.put("auctionId", notification.getAuction() != null
+                            ? notification.getAuction().getAuctionId() : null);
+                    row.put("type", notification.getType().name());
+                    row.put("message", notification.getMessage());
+                    row.put("isRead", notification.getIsRead());
+                    row.put("createdAt", String.valueOf(notification.getCreatedAt()));
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.newLine();
+                }
+            }
+            totalArchived.addAndGet(chunk.size());
+        } catch (IOException e) {
+            // Abort this chunk's transaction: nothing is deleted that was not archived
+            throw new IllegalStateException("Failed to archive notifications to " + file, e);
+        }
+    }
+
+    /**
+     * Effective TTL in days for every notification type
+     */
+    public Map<Notification.NotificationType, Integer> getTtlDays() {
+        Map<Notification.NotificationType, Integer> ttl = new EnumMap<>(Notification.NotificationType.class);
+        for (Notification.NotificationType type : Notification.NotificationType.values()) {
+            ttl.put(type, environment.getProperty("notification.retention.ttl-days." + type.name(),
+                    Integer.class, defaultTtlDays));
+        }
+        return ttl;
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isArchiveEnabled() {
+        return archiveEnabled;
+    }
+
+    public long getTotalDeleted() {
+        return totalDeleted.get();
+    }
+
+    public long getTotalArchived() {
+        return totalArchived.get();
+    }
+
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+}
@@ -4,16 +4,28 @@ import com.auction.system.entity.Notification;
 import com.auction.system.entity.User;
 import com.auction.system.repository.NotificationRepository;
 import com.auction.system.repository.UserRepository;
+import com.auction.system.websocket.WebSocketEventService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Notification Service
  * Handles user notification management
+ *
+ * New notifications are pushed to /topic/user/{id} once their transaction
+ * commits, together with the user's unread count, so clients no longer need
+ * to poll the notifications table. History is served in keyset pages.
  */
 @Service
 @RequiredArgsConstructor
@@ -22,6 +34,8 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final UnreadCountCache unreadCountCache;
+    private final WebSocketEventService webSocketEventService;
 
     /**
      * Get all notifications for a user
@@ -32,6 +46,33 @@ public class NotificationService {
         return notificationRepository.findByUserOrderByCreatedAtDesc(user);
     }
 
+    /**
+     * Get notifications of an already-authenticated user (skips the user lookup)
+     */
+    public List<Notification> getNotificationsForUserId(Long userId) {
+        return notificationRepository.findByUserUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    /**
+     * Get one page of a user's notifications, newest first
+     *
+     * @param beforeId only return notifications older than this ID (null for the first page)
+     */
+    public List<Notification> getNotificationPage(Long userId, Long beforeId, int size) {
+        PageRequest page = PageRequest.of(0, size);
+        return beforeId == null
+                ? notificationRepository.findByUserUserIdOrderByNotificationIdDesc(userId, page)
+                : notificationRepository.findByUserUserIdAndNotificationIdLessThanOrderByNotificationIdDesc(
+                        userId, beforeId, page);
+    }
+
+    /**
+     * Get a user's unread notification count (cached)
+     */
+    public long getUnreadCount(Long userId) {
+        return unreadCountCache.get(userId);
+    }
+
     /**
      * Mark notification as read
      */
@@ -40,10 +81,24 @@ public class NotificationService {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
 
-        notification.setIsRead(true);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            notification.setIsRead(true);
+            adjustUnreadOnCommit(notification.getUser().getUserId(), -1);
+        }
         return notificationRepository.save(notification);
     }
 
+    /**
+     * Mark all of a user's notifications as read
+     */
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        int updated = notificationRepository.markAllAsReadForUser(userId);
+        evictUnreadOnCommit(userId);
+        log.info("Marked {} notifications as read for user ID: {}", updated, userId);
+        return updated;
+    }
+
     /**
      * Create notification for user
      */
@@ -56,7 +111,33 @@ public class NotificationService {
                 .isRead(false)
                 .build();
 
-        return notificationRepository.save(notification);
+        notification = notificationRepository.save(notification);
+        deliver(notification, true);
+        return notification;
+    }
+
+    /**
+     * Create the same notification for several users in one batch
+     * Pushes carry unreadCount only for users whose counter is cached; the
+     * rest would cost one COUNT(*) each, so they are loaded on their next read.
+     */
+    @Transactional
+    public List<Notification> createNotifications(Collection<User> users, Notification.NotificationType type,
+                                                  String message) {
+        List<Notification> notifications = new ArrayList<>(users.size());
+        for (User user : users) {
+            notifications.add(Notification.builder()
+                    .user(user)
+                    .type(type)
+                    .message(message)
+                    .isRead(false)
+                    .build());
+        }
+
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        saved.forEach(notification -> deliver(notification, false));
+        log.info("Created {} {} notifications", saved.size(), type);
+        return saved;
     }
 
     /**
@@ -68,19 +149,100 @@ public class NotificationService {
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
 
         notificationRepository.delete(notification);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            adjustUnreadOnCommit(notification.getUser().getUserId(), -1);
+        }
         log.info("Deleted notification ID: {}", notificationId);
     }
 
     /**
-     * Clear all notifications for a user
+     * Clear all notifications for a user (single DELETE statement)
      */
     @Transactional
-    public void clearAllNotifications(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public int clearAllNotifications(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+
+        int deleted = notificationRepository.deleteAllForUser(userId);
+        evictUnreadOnCommit(userId);
+        log.info("Cleared {} notifications for user ID: {}", deleted, userId);
+        return deleted;
+    }
+
+    /**
+     * Count the new notification as unread and push it to the user's topic after commit
+     *
+     * @param loadOnMiss load an uncached counter; otherwise the push omits unreadCount
+     */
+    private void deliver(Notification notification, boolean loadOnMiss) {
+        Long userId = notification.getUser().getUserId();
+
+        Long unread = loadOnMiss
+                ? Long.valueOf(unreadCountCache.increment(userId))
+                : unreadCountCache.incrementIfCached(userId);
+        if (unread != null) {
+            evictUnreadOnRollback(userId);
+        }
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("notificationId", notification.getNotificationId());
+        payload.put("type", notification.getType().name());
+        payload.put("message", notification.getMessage());
+        payload.put("isRead", false);
+        payload.put("createdAt", notification.getCreatedAt());
+        if (unread != null) {
+            payload.put("unreadCount", unread);
+        }
+        webSocketEventService.sendUserNotification(userId, payload);
+    }
+
+    /**
+     * Drop the user's counter if the transaction rolls back, so it is reloaded
+     */
+    private void evictUnreadOnRollback(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        unreadCountCache.evict(userId);
+                    }
+                }
+            });
+        }
+    }
 
-        List<Notification> notifications = notificationRepository.findByUserOrderByCreatedAtDesc(user);
-        notificationRepository.deleteAll(notifications);
-        log.info("Cleared all notifications for user ID: {}", userId);
+    /**
+     * Drop the user's counter once the transaction commits, so a read racing the
+     * bulk update cannot cache the pre-commit count
+     */
+    private void evictUnreadOnCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    unreadCountCache.evict(userId);
+                }
+            });
+        } else {
+            unreadCountCache.evict(userId);
+        }
+    }
+
+    /**
+     * Apply a counter change once the transaction commits
+     */
+    private void adjustUnreadOnCommit(Long userId, long delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    unreadCountCache.adjust(userId, delta);
+                }
+            });
+        } else {
+            unreadCountCache.adjust(userId, delta);
+        }
     }
 }
@@ -0,0 +1,175 @@
+package com.auction.system.service;
+
+import com.auction.system.entity.Auction;
+import com.auction.system.repository.AuctionRepository;
+import com.auction.system.repository.BidRepository;
+import com.auction.system.repository.TransactionRepository;
+import com.auction.system.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Stats Service
+ * Keeps dashboard counters in memory so the admin dashboard costs O(1)
+ *
+ * Counters are seeded from COUNT/SUM aggregate queries, updated incrementally
+ * on register, ban, auction status change, bid and payment events, and
+ * reconciled against the database every minute to correct any drift.
+ * Incremental updates are applied when the caller's transaction commits, so
+ * a rolled-back change never moves a counter.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatsService {
+
+    private final UserRepository userRepository;
+    private final AuctionRepository auctionRepository;
+    private final BidRepository bidRepository;
+    private final TransactionRepository transactionRepository;
+
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong activeUsers = new AtomicLong();
+    private final AtomicLong totalAuctions = new AtomicLong();
+    private final AtomicLong activeAuctions = new AtomicLong();
+    private final AtomicLong totalBids = new AtomicLong();
+    private final AtomicLong totalTransactions = new AtomicLong();
+    private final AtomicReference<BigDecimal> transactionVolume = new AtomicReference<>(BigDecimal.ZERO);
+    private volatile long lastReconciledAt;
+
+    /**
+     * Seed counters once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * Recompute all counters with aggregate queries
+     * Runs every minute. Not read-only on purpose: it corrects drift, so it must
+     * read the primary rather than a possibly lagging replica.
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    @Transactional
+    public void reconcile() {
+        try {
+            totalUsers.set(userRepository.count());
+            activeUsers.set(userRepository.countByIsActive(true));
+            totalAuctions.set(auctionRepository.count());
+            activeAuctions.set(auctionRepository.countByStatus(Auction.AuctionStatus.ACTIVE));
+            totalBids.set(bidRepository.count() + auctionRepository.sumArchivedBidCount());
+            totalTransactions.set(transactionRepository.count());
+            transactionVolume.set(transactionRepository.sumCompletedAmount());
+            lastReconciledAt = System.currentTimeMillis();
+            log.debug("Dashboard stats reconciled");
+        } catch (Exception e) {
+            log.warn("Could not reconcile dashboard stats: {}", e.getMessage());
+        }
+    }
+
+    // ========== Event hooks ==========
+
+    public void onUserRegistered() {
+        afterCommit(() -> {
+            totalUsers.incrementAndGet();
+            activeUsers.incrementAndGet();
+        });
+    }
+
+    public void onUserBanned() {
+        afterCommit(activeUsers::decrementAndGet);
+    }
+
+    public void onAuctionCreated(Auction.AuctionStatus status) {
+        afterCommit(totalAuctions::incrementAndGet);
+        onAuctionStatusChanged(null, status);
+    }
+
+    public void onAuctionDeleted(Auction.AuctionStatus status) {
+        afterCommit(totalAuctions::decrementAndGet);
+        onAuctionStatusChanged(status, null);
+    }
+
+    /**
+     * @param previousStatus status the auction had before it was closed
+     */
+    public void onAuctionClosed(Auction.AuctionStatus previousStatus) {
+        onAuctionStatusChanged(previousStatus, Auction.AuctionStatus.ENDED);
+    }
+
+    /**
+     * Any status transition; only moves into or out of ACTIVE change a counter
+     * (ENDING_SOON is counted like the reconcile query counts it: not ACTIVE)
+     */
+    public void onAuctionStatusChanged(Auction.AuctionStatus previousStatus, Auction.AuctionStatus newStatus) {
+        long delta = (newStatus == Auction.AuctionStatus.ACTIVE ? 1 : 0)
+                - (previousStatus == Auction.AuctionStatus.ACTIVE ? 1 : 0);
+        if (delta != 0) {
+            afterCommit(() -> activeAuctions.addAndGet(delta));
+        }
+    }
+
+    public void onBidPlaced() {
+        afterCommit(totalBids::incrementAndGet);
+    }
+
+    public void onBidRetracted() {
+        afterCommit(totalBids::decrementAndGet);
+    }
+
+    public void onTransactionCompleted(BigDecimal amount) {
+        afterCommit(() -> {
+            totalTransactions.incrementAndGet();
+            if (amount != null) {
+                transactionVolume.accumulateAndGet(amount, BigDecimal::add);
+            }
+        });
+    }
+
+    /**
+     * Run a counter update once the current transaction commits (now, outside one)
+     */
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    /**
+     * Current dashboard snapshot
+     */
+    public Map<String, Object> getDashboardStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalUsers", totalUsers.get());
+        stats.put("activeUsers", activeUsers.get());
+        stats.put("totalAuctions", totalAuctions.get());
+        stats.put("activeAuctions", Math.max(0, activeAuctions.get()));
+        stats.put("totalBids", totalBids.get());
+        stats.put("totalTransactions", totalTransactions.get());
+        stats.put("totalTransactionVolume", transactionVolume.get());
+        stats.put("lastReconciledAt", lastReconciledAt);
+        stats.put("timestamp", java.time.LocalDateTime.now().toString());
+        return stats;
+    }
+}
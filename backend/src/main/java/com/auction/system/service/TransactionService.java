@@ -6,10 +6,12 @@ import com.auction.system.entity.User;
 import com.auction.system.repository.AuctionRepository;
 import com.auction.system.repository.TransactionRepository;
 import com.auction.system.repository.UserRepository;
+import com.auction.system.service.IdempotencyCache.IdempotencyKeyConflictException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -18,6 +20,12 @@ import java.util.List;
  * Transaction Service
  * Handles payment processing and transaction management
  * Member 5 (SSL/TLS) will secure this service
+ *
+ * Payments are idempotent: a request carrying an idempotency key is processed
+ * once per buyer and key, and a retry returns the original transaction. Retries
+ * are recognised in memory (IdempotencyCache); after a restart or eviction the
+ * key stored on the transaction row is used instead. Unique constraints on
+ * auction_id and idempotency_key close the check-then-insert race.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,12 +35,60 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final AuctionRepository auctionRepository;
     private final UserRepository userRepository;
+    private final StatsService statsService;
+    private final IdempotencyCache idempotencyCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
 
     /**
      * Process payment for won auction
      */
-    @Transactional
     public Transaction processPayment(Long auctionId, Long buyerId, String cardNumber, String cvv) {
+        return processPayment(auctionId, buyerId, cardNumber, cvv, null);
+    }
+
+    /**
+     * Process payment for won auction, at most once per idempotency key
+     * The result is cached only after the payment commits, so a failed attempt can be retried.
+     */
+    public Transaction processPayment(Long auctionId, Long buyerId, String cardNumber, String cvv,
+                                      String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return transactionTemplate.execute(status -> createPayment(auctionId, buyerId, cardNumber, cvv, null));
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalStateException("Idempotency key must be at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = buyerId + ":" + idempotencyKey;
+        Transaction[] created = new Transaction[1];
+
+        IdempotencyCache.Result<Long> result = idempotencyCache.execute("payment:" + scopedKey,
+                String.valueOf(auctionId), () -> transactionTemplate.execute(status -> {
+                    // First attempt may predate a restart or cache eviction
+                    Transaction existing = transactionRepository.findByIdempotencyKey(scopedKey).orElse(null);
+                    if (existing != null) {
+                        if (!existing.getAuction().getAuctionId().equals(auctionId)) {
+                            throw new IdempotencyKeyConflictException(
+                                    "Idempotency key was already used for a different request");
+                        }
+                        return existing.getTransactionId();
+                    }
+                    created[0] = createPayment(auctionId, buyerId, cardNumber, cvv, scopedKey);
+                    return created[0].getTransactionId();
+                }));
+
+        if (created[0] != null) {
+            return created[0];
+        }
+        log.info("Payment replayed for idempotency key - Buyer: {}, Transaction ID: {}", buyerId, result.value());
+        return transactionRepository.findWithPartiesByTransactionId(result.value())
+                .orElseThrow(() -> new RuntimeException("Transaction not found"));
+    }
+
+    private Transaction createPayment(Long auctionId, Long buyerId, String cardNumber, String cvv,
+                                      String idempotencyKey) {
         log.info("Processing payment - Auction: {}, Buyer: {}", auctionId, buyerId);
 
         // Validate auction
@@ -85,8 +141,15 @@ public class TransactionService {
         transaction.setAmount(auction.getCurrentPrice());
         transaction.setPaymentMethod("CARD_****_" + cardNumber.substring(12));
         transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setIdempotencyKey(idempotencyKey);
 
-        transaction = transactionRepository.save(transaction);
+        try {
+            transaction = transactionRepository.saveAndFlush(transaction);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request paid for this auction between the check above and this insert
+            throw new IllegalStateException("Payment already processed for this auction");
+        }
+        statsService.onTransactionCompleted(transaction.getAmount());
         log.info("Payment processed successfully - Transaction ID: {}", transaction.getTransactionId());
 
         return transaction;
@@ -114,7 +177,7 @@ public class TransactionService {
      * Get all transactions (Admin)
      */
     public List<Transaction> getAllTransactions() {
-        return transactionRepository.findAll();
+        return transactionRepository.findAllByOrderByTransactionTimeDesc();
     }
 
     /**
@@ -0,0 +1,132 @@
+package com.auction.system.service;
+
+import com.auction.system.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unread Count Cache
+ * Per-user unread notification counters, so the header badge and every
+ * pushed notification can carry the count without a COUNT(*) per request.
+ *
+ * Counters are loaded from the database on first use and then adjusted in
+ * place by NotificationService. Entries are reloaded after
+ * notification.unread-cache.ttl-ms, which bounds any drift from concurrent
+ * loads and writes. Past notification.unread-cache.max-entries the least
+ * recently used user is evicted.
+ */
+@Component
+@RequiredArgsConstructor
+public class UnreadCountCache {
+
+    private final NotificationRepository notificationRepository;
+
+    @Value("${notification.unread-cache.ttl-ms:300000}")
+    private long ttlMillis;
+
+    @Value("${notification.unread-cache.max-entries:50000}")
+    private int maxEntries;
+
+    // Access-ordered, so the eldest entry is the least recently used user; guarded by itself
+    private final Map<Long, Entry> counts = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Unread count for a user, loading it on a miss
+     */
+    public long get(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = cached(userId, now);
+        if (entry != null) {
+            return entry.count.get();
+        }
+
+        entry = new Entry(new AtomicLong(notificationRepository.countByUserUserIdAndIsReadFalse(userId)),
+                now + ttlMillis);
+        synchronized (counts) {
+            counts.put(userId, entry);
+        }
+        return entry.count.get();
+    }
+
+    /**
+     * Count one more unread notification for a user and return the new total
+     * Must run after the notification is written: a cold load already counts it.
+     */
+    public long increment(Long userId) {
+        Entry entry = cached(userId, System.currentTimeMillis());
+        if (entry != null) {
+            return entry.count.incrementAndGet();
+        }
+        return get(userId);
+    }
+
+    /**
+     * Count one more unread notification only if the user's counter is cached
+     *
+     * @return the new total, or null on a miss (nothing is loaded)
+     */
+    public Long incrementIfCached(Long userId) {
+        Entry entry = cached(userId, System.currentTimeMillis());
+        return entry != null ? entry.count.incrementAndGet() : null;
+    }
+
+    /**
+     * Adjust a cached counter; users not in the cache are loaded on next read instead
+     */
+    public void adjust(Long userId, long delta) {
+        Entry entry;
+        synchronized (counts) {
+            entry = counts.get(userId);
+        }
+        if (entry != null) {
+            entry.count.updateAndGet(value -> Math.max(0, value + delta));
+        }
+    }
+
+    public void evict(Long userId) {
+        synchronized (counts) {
+            counts.remove(userId);
+        }
+    }
+
+    public void clear() {
+        synchronized (counts) {
+            counts.clear();
+        }
+    }
+
+    /**
+     * Live entry for a user, or null (expired entries are dropped)
+     */
+    private Entry cached(Long userId, long now) {
+        synchronized (counts) {
+            Entry entry = counts.get(userId);
+            if (entry != null && entry.expiresAt <= now) {
+                counts.remove(userId);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public int getCachedUsers() {
+        synchronized (counts) {
+            return counts.size();
+        }
+    }
+
+    private record Entry(AtomicLong count, long expiresAt) {
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final StatsService statsService;
     private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
     /**
@@ -42,7 +43,9 @@ public class UserService {
         // Hash the password using BCrypt
         user.setPasswordHash(passwordEncoder.encode(user.getPasswordHash()));
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        statsService.onUserRegistered();
+        return saved;
     }
 
     /**
@@ -0,0 +1,196 @@
+package com.auction.system.service;
+
+import com.auction.system.entity.User;
+import com.auction.system.entity.WalletReservation;
+import com.auction.system.entity.WalletTransaction;
+import com.auction.system.repository.AuctionRepository;
+import com.auction.system.repository.UserRepository;
+import com.auction.system.repository.WalletLedgerTotalRepository;
+import com.auction.system.repository.WalletReservationRepository;
+import com.auction.system.repository.WalletTransactionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Wallet Audit Compactor
+ * Writes the ledger rows for reservation holds/releases.
+ *
+ * A bid only updates the user's wallet_reservations row; the row's
+ * audited_amount keeps the hold the ledger last recorded. Every few seconds
+ * the compactor picks up reservations whose hold differs from it and writes
+ * one net FREEZE/UNFREEZE ledger row each (so a bidding war collapses into a
+ * single row per participant per run), then moves audited_amount up to date,
+ * all in one transaction. Nothing is queued outside the reservation rows, so
+ * a crash or a failed run loses nothing: the difference is still there on the
+ * next run. Wallet snapshots on these rows are taken at compaction time.
+ */
+@Component
+@Slf4j
+public class WalletAuditCompactor {
+
+    private final WalletReservationRepository walletReservationRepository;
+    private final WalletTransactionRepository walletTransactionRepository;
+    private final WalletLedgerTotalRepository walletLedgerTotalRepository;
+    private final UserRepository userRepository;
+    private final AuctionRepository auctionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${wallet.audit.compaction-batch-size:1000}")
+    private int batchSize;
+
+    // Monitoring fields
+    private final AtomicLong reservationsCompacted = new AtomicLong(0);
+    private final AtomicLong rowsWritten = new AtomicLong(0);
+    private final AtomicLong failedRuns = new AtomicLong(0);
+
+    public WalletAuditCompactor(WalletReservationRepository walletReservationRepository,
+                                WalletTransactionRepository walletTransactionRepository,
+                                WalletLedgerTotalRepository walletLedgerTotalRepository,
+                                UserRepository userRepository,
+                                AuctionRepository auctionRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.walletReservationRepository = walletReservationRepository;
+        this.walletTransactionRepository = walletTransactionRepository;
+        this.walletLedgerTotalRepository = walletLedgerTotalRepository;
+        this.userRepository = userRepository;
+        this.auctionRepository = auctionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Write net ledger rows for every unaudited reservation
+     * Runs every 5 seconds (wallet.audit.compaction-interval-ms)
+     */
+    @Scheduled(fixedDelayString = "${wallet.audit.compaction-interval-ms:5000}")
+    public void compact() {
+        try {
+            int batch;
+            do {
+                Integer compacted = transactionTemplate.execute(status -> compactBatch());
+                batch = compacted == null ? 0 : compacted;
+            } while (batch == batchSize);
+        } catch (Exception e) {
+            // The failed batch rolled back; its reservations are still unaudited
+            failedRuns.incrementAndGet();
+            log.error("Wallet audit compaction failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Audit one batch of the oldest unaudited reservations
+     */
+    private int compactBatch() {
+        List<WalletReservation> reservations = walletReservationRepository.lockUnaudited(batchSize);
+        if (reservations.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, User> users = userRepository.findAllById(
+                        reservations.stream().map(WalletReservation::getUserId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        // Chain each user's frozen snapshots back from the current frozen balance
+        Map<Long, BigDecimal> frozen = new HashMap<>();
+        for (WalletReservation reservation : reservations) {
+            frozen.merge(reservation.getUserId(), net(reservation), BigDecimal::add);
+        }
+        frozen.replaceAll((userId, pending) -> users.get(userId).getFrozenBalance().subtract(pending));
+
+        int written = 0;
+        for (WalletReservation reservation : reservations) {
+            BigDecimal net = net(reservation);
+            User user = users.get(reservation.getUserId());
+            BigDecimal frozenBefore = frozen.get(user.getUserId());
+            BigDecimal frozenAfter = frozenBefore.add(net);
+            frozen.put(user.getUserId(), frozenAfter);
+
+            writeNetEntry(reservation, user, net, frozenBefore, frozenAfter);
+            written++;
+        }
+        walletReservationRepository.markAudited(
+                reservations.stream().map(WalletReservation::getReservationId).toList());
+
+        reservationsCompacted.addAndGet(reservations.size());
+        rowsWritten.addAndGet(written);
+        log.debug("Wallet audit compaction: {} reservations -> {} ledger rows", reservations.size(), written);
+        return reservations.size();
+    }
+
+    private void writeNetEntry(WalletReservation reservation, User user, BigDecimal net,
+                               BigDecimal frozenBefore, BigDecimal frozenAfter) {
+        BigDecimal balance = user.getBalance();
+        WalletTransaction entry = WalletTransaction.builder()
+                .user(user)
+                .transactionType(net.signum() > 0
+                        ? WalletTransaction.TransactionType.FREEZE
+                        : WalletTransaction.TransactionType.UNFREEZE)
+                .amount(net.abs())
+                .balanceBefore(balance)
+                .balanceAfter(balance)
+                .frozenBefore(frozenBefore)
+                .frozenAfter(frozenAfter)
+                .availableBefore(balance.subtract(frozenBefore))
+                .availableAfter(balance.subtract(frozenAfter))
+                .description((net.signum() > 0 ? "Held for bids on auction #" : "Hold released on auction #")
+                        + reservation.getAuctionId() + " (net hold change)")
+                .relatedAuction(auctionRepository.getReferenceById(reservation.getAuctionId()))
+                .build();
+
+        walletTransactionRepository.save(entry);
+        walletLedgerTotalRepository.increment(user.getUserId(), entry.getTransactionType().name(),
+                1, entry.getAmount());
+    }
+
+    /**
+     * What the reservation holds now: its amount unless released
+     */
+    private static BigDecimal held(WalletReservation reservation) {
+        return reservation.getStatus() == WalletReservation.ReservationStatus.RELEASED
+                ? BigDecimal.ZERO
+                : reservation.getAmount();
+    }
+
+    private static BigDecimal net(WalletReservation reservation) {
+        return held(reservation).subtract(reservation.getAuditedAmount());
+    }
+
+    /**
+     * Audit whatever is still pending on shutdown (anything left is picked up after restart)
+     */
+    @PreDestroy
+    public void flush() {
+        compact();
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public long getPendingCount() {
+        return walletReservationRepository.countUnaudited();
+    }
+
+    public long getReservationsCompacted() {
+        return reservationsCompacted.get();
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public long getFailedRuns() {
+        return failedRuns.get();
+    }
+}
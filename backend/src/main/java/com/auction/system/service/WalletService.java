@@ -2,27 +2,47 @@ package com.auction.system.service;
 
 import com.auction.system.entity.*;
 import com.auction.system.repository.UserRepository;
+import com.auction.system.repository.WalletLedgerTotalRepository;
+import com.auction.system.repository.WalletReservationRepository;
 import com.auction.system.repository.WalletTransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Wallet Service
  * Handles all wallet operations: deposit, freeze, unfreeze, deduct
+ *
+ * Every ledger write goes through recordLedgerEntry(), which also bumps the
+ * materialized per-user totals (wallet_ledger_totals) used by the summary.
+ *
+ * Bid holds use the reservation model: one wallet_reservations row per
+ * (user, auction) updated in place; the WalletAuditCompactor later writes
+ * net FREEZE/UNFREEZE rows from them instead of one row per bid.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WalletService {
 
+    private static final int MAX_LEDGER_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
     private final WalletTransactionRepository walletTransactionRepository;
+    private final WalletLedgerTotalRepository walletLedgerTotalRepository;
+    private final WalletReservationRepository walletReservationRepository;
     private final com.auction.system.repository.TransactionRepository transactionRepository;
+    private final StatsService statsService;
+    private final BidArchiveService bidArchiveService;
 
     /**
      * Deposit money to user wallet
@@ -61,7 +81,7 @@ public class WalletService {
                 .description(description != null ? description : "Deposit to wallet")
                 .build();
 
-        walletTransactionRepository.save(transaction);
+        recordLedgerEntry(transaction);
         log.info("Deposit: User {} deposited ${}, New balance: ${}, Available: ${}",
                 userId, amount, balanceAfter, availableAfter);
 
@@ -113,7 +133,7 @@ public class WalletService {
                 .relatedBid(bid)
                 .build();
 
-        walletTransactionRepository.save(transaction);
+        recordLedgerEntry(transaction);
         log.info("Freeze: User {} frozen ${} for bid, Frozen: ${}, Available: ${}",
                 userId, bidAmount, frozenAfter, availableAfter);
 
@@ -159,7 +179,7 @@ public class WalletService {
                 .relatedBid(bid)
                 .build();
 
-        walletTransactionRepository.save(transaction);
+        recordLedgerEntry(transaction);
         log.info("Unfreeze: User {} unfrozen ${}, Frozen: ${}, Available: ${}",
                 userId, bidAmount, frozenAfter, availableAfter);
 
@@ -206,7 +226,7 @@ public class WalletService {
                 .relatedAuction(auction)
                 .build();
 
-        walletTransactionRepository.save(transaction);
+        recordLedgerEntry(transaction);
         log.info("Deduct: User {} paid ${} for auction win, Balance: ${}, Available: ${}",
                 userId, amount, balanceAfter, availableAfter);
 
@@ -215,11 +235,33 @@ public class WalletService {
 
     /**
      * Get wallet transaction history
+     * Includes hold entries of archived auctions
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> getWalletHistory(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return walletTransactionRepository.findByUserOrderByCreatedAtDesc(user);
+        return withArchivedEntries(userId, walletTransactionRepository.findByUserOrderByCreatedAtDesc(user));
+    }
+
+    /**
+     * Get wallet history of an already-authenticated user (skips the user lookup)
+     */
+    @Transactional(readOnly = true)
+    public List<WalletTransaction> getWalletHistoryForUserId(Long userId) {
+        return withArchivedEntries(userId, walletTransactionRepository.findByUserUserIdOrderByCreatedAtDesc(userId));
+    }
+
+    private List<WalletTransaction> withArchivedEntries(Long userId, List<WalletTransaction> live) {
+        List<WalletTransaction> archived = bidArchiveService.findArchivedWalletTransactions(userId);
+        if (archived.isEmpty()) {
+            return live;
+        }
+        List<WalletTransaction> history = new ArrayList<>(live.size() + archived.size());
+        history.addAll(live);
+        history.addAll(archived);
+        history.sort(Comparator.comparing(WalletTransaction::getCreatedAt).reversed());
+        return history;
     }
 
     /**
@@ -265,7 +307,7 @@ public class WalletService {
                 .description(description != null ? description : "Withdrawal from wallet")
                 .build();
 
-        walletTransactionRepository.save(transaction);
+        recordLedgerEntry(transaction);
         log.info("Withdraw: User {} withdrew ${}, New balance: ${}, Available: ${}",
                 userId, amount, balanceAfter, availableAfter);
 
@@ -314,7 +356,7 @@ public class WalletService {
                 .description(description != null ? description : "Amount frozen for bid")
                 .build();
 
-        walletTransactionRepository.save(transaction);
+        recordLedgerEntry(transaction);
         log.info("Freeze: User {} froze ${}, Frozen: {} -> {}, Available: {} -> {}",
                 userId, amount, frozenBefore, frozenAfter, availableBefore, availableAfter);
 
@@ -363,7 +405,7 @@ public class WalletService {
                 .description(description != null ? description : "Amount unfrozen")
                 .build();
 
-        walletTransactionRepository.save(transaction);
+        recordLedgerEntry(transaction);
         log.info("Unfreeze: User {} unfroze ${}, Frozen: {} -> {}, Available: {} -> {}",
                 userId, amount, frozenBefore, frozenAfter, availableBefore, availableAfter);
 
@@ -414,26 +456,157 @@ public class WalletService {
                 .description(description != null ? description : "Payment for auction")
                 .build();
 
-        walletTransactionRepository.save(transaction);
+        recordLedgerEntry(transaction);
         log.info("Deduct: User {} paid ${}, Balance: {} -> {}, Frozen: {} -> {}",
                 userId, amount, balanceBefore, balanceAfter, frozenBefore, frozenAfter);
 
         return transaction;
     }
 
+    /**
+     * Hold funds for a user's bid on an auction
+     * Raises the user's single reservation on the auction to the new amount,
+     * freezing only the difference to what is already held.
+     *
+     * @param legacyHeld amount frozen for the user's current winning bid before
+     *                   reservations existed (null if none); only consulted when
+     *                   the user has no reservation row on this auction yet
+     * @throws IllegalArgumentException on insufficient funds, before anything is
+     *                                  modified, so the caller's transaction stays usable
+     */
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public WalletReservation holdForBid(Long userId, BigDecimal amount, Auction auction, BigDecimal legacyHeld) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Freeze amount must be positive");
+        }
+
+        WalletReservation reservation = walletReservationRepository
+                .findByUserIdAndAuctionId(userId, auction.getAuctionId())
+                .orElse(null);
+
+        BigDecimal currentlyHeld;
+        if (reservation == null) {
+            currentlyHeld = legacyHeld != null ? legacyHeld : BigDecimal.ZERO;
+            // A legacy hold already has its FREEZE row in the ledger
+            reservation = WalletReservation.builder()
+                    .userId(userId)
+                    .auctionId(auction.getAuctionId())
+                    .auditedAmount(currentlyHeld)
+                    .build();
+        } else {
+            currentlyHeld = reservation.getStatus() == WalletReservation.ReservationStatus.HELD
+                    ? reservation.getAmount()
+                    : BigDecimal.ZERO;
+        }
+
+        BigDecimal delta = amount.subtract(currentlyHeld);
+        if (delta.signum() > 0 && user.getAvailableBalance().compareTo(delta) < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Insufficient available balance. Available: $%s, Required: $%s",
+                            user.getAvailableBalance(), delta));
+        }
+
+        reservation.setAmount(amount);
+        reservation.setStatus(WalletReservation.ReservationStatus.HELD);
+        reservation = walletReservationRepository.save(reservation);
+
+        adjustFrozen(user, delta);
+        log.info("Hold: User {} now holds ${} on auction {} (delta ${}), Available: ${}",
+                userId, amount, auction.getAuctionId(), delta, user.getAvailableBalance());
+
+        return reservation;
+    }
+
+    /**
+     * Release a user's hold on an auction (outbid or bid retracted)
+     *
+     * @param legacyHeld amount to unfreeze if the hold predates reservations
+     *                   (no reservation row exists for the user on this auction)
+     */
+    @Transactional
+    public void releaseHold(Long userId, Auction auction, BigDecimal legacyHeld, String description) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        WalletReservation reservation = walletReservationRepository
+                .findByUserIdAndAuctionId(userId, auction.getAuctionId())
+                .orElse(null);
+
+        BigDecimal released;
+        if (reservation == null) {
+            released = legacyHeld != null ? legacyHeld : BigDecimal.ZERO;
+        } else if (reservation.getStatus() == WalletReservation.ReservationStatus.HELD) {
+            released = reservation.getAmount();
+        } else {
+            return;
+        }
+
+        if (user.getFrozenBalance().compareTo(released) < 0) {
+            throw new IllegalArgumentException("Insufficient frozen balance");
+        }
+
+        if (reservation == null) {
+            if (released.signum() == 0) {
+                return;
+            }
+            // Legacy hold: record it as an audited reservation so its UNFREEZE is written
+            reservation = WalletReservation.builder()
+                    .userId(userId)
+                    .auctionId(auction.getAuctionId())
+                    .auditedAmount(released)
+                    .build();
+        }
+        reservation.setStatus(WalletReservation.ReservationStatus.RELEASED);
+        reservation.setAmount(BigDecimal.ZERO);
+        walletReservationRepository.save(reservation);
+
+        adjustFrozen(user, released.negate());
+        log.info("Release: User {} released ${} on auction {} ({}), Available: ${}",
+                userId, released, auction.getAuctionId(),
+                description != null ? description : "hold released", user.getAvailableBalance());
+    }
+
+    /**
+     * Apply a hold change to the user's frozen balance
+     * The ledger row is written later from the reservation (WalletAuditCompactor).
+     */
+    private void adjustFrozen(User user, BigDecimal delta) {
+        if (delta.signum() == 0) {
+            return;
+        }
+        user.setFrozenBalance(user.getFrozenBalance().add(delta));
+        userRepository.save(user);
+    }
+
     /**
      * Get wallet summary
+     * Totals come from the materialized wallet_ledger_totals rows, not the ledger itself
      */
+    @Transactional(readOnly = true)
     public java.util.Map<String, Object> getWalletSummary(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        long totalDeposits = walletTransactionRepository
-                .countByUserAndTransactionType(user, WalletTransaction.TransactionType.DEPOSIT);
-        long totalFreezes = walletTransactionRepository
-                .countByUserAndTransactionType(user, WalletTransaction.TransactionType.FREEZE);
-        long totalDeductions = walletTransactionRepository
-                .countByUserAndTransactionType(user, WalletTransaction.TransactionType.DEDUCT);
+        Map<String, Map<String, Object>> totalsByType = new LinkedHashMap<>();
+        long totalDeposits = 0;
+        long totalFreezes = 0;
+        long totalDeductions = 0;
+
+        for (WalletLedgerTotal total : walletLedgerTotalRepository.findByUserId(userId)) {
+            totalsByType.put(total.getTransactionType().name(), Map.of(
+                    "count", total.getEntryCount(),
+                    "amount", total.getTotalAmount()
+            ));
+            switch (total.getTransactionType()) {
+                case DEPOSIT -> totalDeposits = total.getEntryCount();
+                case FREEZE -> totalFreezes = total.getEntryCount();
+                case DEDUCT -> totalDeductions = total.getEntryCount();
+                default -> { }
+            }
+        }
 
         return java.util.Map.of(
                 "userId", userId,
@@ -442,7 +615,8 @@ public class WalletService {
                 "availableBalance", user.getAvailableBalance(),
                 "totalDeposits", totalDeposits,
                 "totalFreezes", totalFreezes,
-                "totalDeductions", totalDeductions
+                "totalDeductions", totalDeductions,
+                "totalsByType", totalsByType
         );
     }
 
@@ -501,7 +675,12 @@ public class WalletService {
                 .description("Payment for winning auction #" + auction.getAuctionId() + ": " + auction.getItemName())
                 .build();
 
-        walletTransactionRepository.save(buyerTransaction);
+        recordLedgerEntry(buyerTransaction);
+        walletReservationRepository.findByUserIdAndAuctionId(buyerId, auction.getAuctionId())
+                .ifPresent(reservation -> {
+                    reservation.setStatus(WalletReservation.ReservationStatus.CAPTURED);
+                    walletReservationRepository.save(reservation);
+                });
         log.info("Buyer {} paid ${} for auction {}", buyerId, finalPrice, auction.getAuctionId());
 
         // 2. Add 20% admin fee
@@ -530,7 +709,7 @@ public class WalletService {
                 .description("System fee (20%) from auction #" + auction.getAuctionId() + ": " + auction.getItemName())
                 .build();
 
-        walletTransactionRepository.save(adminTransaction);
+        recordLedgerEntry(adminTransaction);
         log.info("Admin receives ${} (20% fee) from auction {}", adminFee, auction.getAuctionId());
 
         // 3. Add 80% to seller
@@ -559,7 +738,7 @@ public class WalletService {
                 .description("Payment received (80%) for auction #" + auction.getAuctionId() + ": " + auction.getItemName())
                 .build();
 
-        walletTransactionRepository.save(sellerTransaction);
+        recordLedgerEntry(sellerTransaction);
         log.info("Seller {} receives ${} (80%) from auction {}", sellerId, sellerPayment, auction.getAuctionId());
 
         // 4. Create main Transaction record (buyer -> seller)
@@ -573,6 +752,7 @@ public class WalletService {
                 .build();
 
         transactionRepository.save(mainTransaction);
+        statsService.onTransactionCompleted(finalPrice);
         log.info("Transaction record created for auction {} - Buyer: {}, Seller: {}, Amount: ${}",
                 auction.getAuctionId(), buyerId, sellerId, finalPrice);
 
@@ -586,7 +766,73 @@ public class WalletService {
     /**
      * Get all wallet transactions (Admin only)
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> getAllWalletTransactions() {
         return walletTransactionRepository.findAllByOrderByCreatedAtDesc();
     }
+
+    /**
+     * Get a page of a user's wallet ledger (keyset pagination, newest first)
+     *
+     * @param before cursor from the previous page's nextCursor (null for the first page)
+     * @param size   page size, capped at MAX_LEDGER_PAGE_SIZE
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getLedgerPage(Long userId, Long before, int size) {
+        int pageSize = clampPageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<WalletTransaction> rows = before == null
+                ? walletTransactionRepository.findByUserIdOrderByWalletTransactionIdDesc(userId, limit)
+                : walletTransactionRepository.findByUserIdAndWalletTransactionIdLessThanOrderByWalletTransactionIdDesc(
+                        userId, before, limit);
+
+        return toLedgerPage(rows, pageSize);
+    }
+
+    /**
+     * Get a page of the full wallet ledger (Admin only, keyset pagination)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getAllLedgerPage(Long before, int size) {
+        int pageSize = clampPageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<WalletTransaction> rows = before == null
+                ? walletTransactionRepository.findAllByOrderByWalletTransactionIdDesc(limit)
+                : walletTransactionRepository.findByWalletTransactionIdLessThanOrderByWalletTransactionIdDesc(
+                        before, limit);
+
+        return toLedgerPage(rows, pageSize);
+    }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_LEDGER_PAGE_SIZE));
+    }
+
+    private Map<String, Object> toLedgerPage(List<WalletTransaction> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<WalletTransaction> items = hasMore ? rows.subList(0, pageSize) : rows;
+        Long nextCursor = hasMore ? items.get(items.size() - 1).getWalletTransactionId() : null;
+
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("items", items);
+        page.put("size", items.size());
+        page.put("hasMore", hasMore);
+        page.put("nextCursor", nextCursor);
+        return page;
+    }
+
+    /**
+     * Persist a ledger entry and fold it into the user's materialized totals
+     */
+    private void recordLedgerEntry(WalletTransaction transaction) {
+        walletTransactionRepository.save(transaction);
+        walletLedgerTotalRepository.increment(
+                transaction.getUser().getUserId(),
+                transaction.getTransactionType().name(),
+                1,
+                transaction.getAmount()
+        );
+    }
 }
@@ -1,22 +1,76 @@
 package com.auction.system.util;
 
+import com.auction.system.entity.SequenceIds;
+import com.auction.system.entity.SequenceIds.SequenceColumn;
+import com.auction.system.repository.WalletReservationRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * Database Migration Utility
- * Adds role column to users table if it doesn't exist
+ * Adds role column to users table if it doesn't exist,
+ * aligns ID sequences with existing rows and creates the bid/ledger archive tables
  */
 @Component
+@DependsOn("entityManagerFactory")
 @Slf4j
 public class DatabaseMigration implements CommandLineRunner {
 
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Startup steps that must finish before the application takes traffic,
+     * in order: ID sequences first, then the wallet ledger totals
+     */
+    @PostConstruct
+    public void migrateBeforeStartup() {
+        alignIdSequences();
+        backfillWalletLedgerTotals();
+    }
+
+    /**
+     * Move each ID sequence past the highest ID already in its table
+     * Tables that used IDENTITY columns already hold IDs the new sequences would
+     * hand out again. This runs once Hibernate has created the sequences and
+     * before scheduled jobs start inserting. A sequence that is already ahead is
+     * left alone, so restarts never re-issue IDs.
+     */
+    private void alignIdSequences() {
+        for (SequenceColumn id : SequenceIds.COLUMNS) {
+            try {
+                Long maxId = jdbcTemplate.queryForObject(
+                        "SELECT COALESCE(MAX(" + id.column() + "), 0) FROM " + id.table(), Long.class);
+                Map<String, Object> state = jdbcTemplate.queryForMap(
+                        "SELECT last_value, is_called FROM " + id.sequence());
+                long lastValue = ((Number) state.get("last_value")).longValue();
+                boolean called = Boolean.TRUE.equals(state.get("is_called"));
+
+                // Value the next nextval() returns; Hibernate then uses the block ending at it
+                long nextValue = called ? lastValue + SequenceIds.ALLOCATION_SIZE : lastValue;
+                if (maxId > 0 && nextValue < maxId + SequenceIds.ALLOCATION_SIZE) {
+                    jdbcTemplate.queryForObject("SELECT setval(?::regclass, ?, false)", Long.class,
+                            id.sequence(), maxId + SequenceIds.ALLOCATION_SIZE);
+                    log.info("✅ Sequence {} moved past {}.{} = {}", id.sequence(), id.table(), id.column(), maxId);
+                }
+            } catch (Exception e) {
+                log.error("❌ Aligning sequence {} failed: {}", id.sequence(), e.getMessage());
+            }
+        }
+    }
+
     @Override
     public void run(String... args) {
         try {
@@ -58,5 +112,130 @@ public class DatabaseMigration implements CommandLineRunner {
             log.error("❌ Database migration failed: {}", e.getMessage());
             // Don't throw exception - let application continue
         }
+
+        createArchiveTables();
+        dropLedgerBidForeignKey();
+        prepareReservationAudit();
+    }
+
+    /**
+     * Populate the materialized wallet summary from the existing ledger
+     * (only when the summary table is still empty)
+     * Runs during startup, before the server takes requests, in one transaction:
+     * the SHARE lock on wallet_transactions waits for in-flight ledger writes and
+     * blocks new ones (which update the totals in the same transaction) until the
+     * totals are rebuilt, so no entry is counted twice or missed.
+     */
+    private void backfillWalletLedgerTotals() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("LOCK TABLE wallet_transactions IN SHARE MODE");
+                jdbcTemplate.execute("LOCK TABLE wallet_ledger_totals IN EXCLUSIVE MODE");
+
+                Boolean populated = jdbcTemplate.queryForObject(
+                        "SELECT EXISTS (SELECT 1 FROM wallet_ledger_totals)", Boolean.class);
+                if (Boolean.TRUE.equals(populated)) {
+                    return;
+                }
+
+                log.info("🔄 Building wallet ledger totals from wallet_transactions...");
+                int rows = jdbcTemplate.update(
+                        "INSERT INTO wallet_ledger_totals (user_id, transaction_type, entry_count, total_amount, updated_at) " +
+                        "SELECT user_id, transaction_type, COUNT(*), COALESCE(SUM(amount), 0), now() " +
+                        "FROM wallet_transactions GROUP BY user_id, transaction_type " +
+                        "ON CONFLICT (user_id, transaction_type) DO UPDATE SET " +
+                        "entry_count = EXCLUDED.entry_count, total_amount = EXCLUDED.total_amount, " +
+                        "updated_at = EXCLUDED.updated_at");
+                log.info("✅ Wallet ledger totals built: {} rows", rows);
+            });
+        } catch (Exception e) {
+            log.error("❌ Wallet ledger totals backfill failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Archive partitions for closed auctions (filled by BidArchiveService)
+     * No foreign keys: archived rows outlive the live rows they were copied from.
+     */
+    private void createArchiveTables() {
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS bids_archive (" +
+                    "bid_id BIGINT PRIMARY KEY, auction_id BIGINT NOT NULL, bidder_id BIGINT NOT NULL, " +
+                    "bid_amount NUMERIC(10,2) NOT NULL, bid_time TIMESTAMP NOT NULL, status VARCHAR(20) NOT NULL, " +
+                    "archived_at TIMESTAMP NOT NULL DEFAULT now())");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_bids_archive_auction ON bids_archive (auction_id, bid_time)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_bids_archive_bidder ON bids_archive (bidder_id)");
+            // Which cold archive files hold each user's bids
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS bids_cold_bidders (" +
+                    "bidder_id BIGINT NOT NULL, auction_id BIGINT NOT NULL, PRIMARY KEY (bidder_id, auction_id))");
+
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS wallet_transactions_archive (" +
+                    "wallet_transaction_id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, " +
+                    "transaction_type VARCHAR(30) NOT NULL, amount NUMERIC(10,2) NOT NULL, " +
+                    "balance_before NUMERIC(10,2) NOT NULL, balance_after NUMERIC(10,2) NOT NULL, " +
+                    "frozen_before NUMERIC(10,2) NOT NULL, frozen_after NUMERIC(10,2) NOT NULL, " +
+                    "available_before NUMERIC(10,2) NOT NULL, available_after NUMERIC(10,2) NOT NULL, " +
+                    "description TEXT, related_auction_id BIGINT, related_bid_id BIGINT, " +
+                    "created_at TIMESTAMP NOT NULL, archived_at TIMESTAMP NOT NULL DEFAULT now())");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_wallet_archive_user " +
+                    "ON wallet_transactions_archive (user_id, wallet_transaction_id)");
+
+            // Auctions from before bid archiving keep their bids in the live table
+            int updated = jdbcTemplate.update("UPDATE auctions SET bid_storage = 'LIVE' WHERE bid_storage IS NULL");
+            if (updated > 0) {
+                log.info("✅ Marked {} auctions as having live bids", updated);
+            }
+            log.info("✅ Archive tables verified");
+        } catch (Exception e) {
+            log.error("❌ Creating archive tables failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Index the reservations WalletAuditCompactor still has to write ledger rows for
+     * Rows from the short-lived wallet_hold_events queue are folded into
+     * audited_amount first, so their pending hold changes are still written.
+     */
+    private void prepareReservationAudit() {
+        try {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_reservation_unaudited ON wallet_reservations (updated_at) " +
+                    "WHERE " + WalletReservationRepository.UNAUDITED);
+
+            Boolean queueExists = jdbcTemplate.queryForObject(
+                    "SELECT to_regclass('wallet_hold_events') IS NOT NULL", Boolean.class);
+            if (Boolean.TRUE.equals(queueExists)) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update("UPDATE wallet_reservations r SET audited_amount = " +
+                            WalletReservationRepository.HELD + " - COALESCE((" +
+                            "SELECT SUM(CASE WHEN e.transaction_type = 'FREEZE' THEN e.amount ELSE -e.amount END) " +
+                            "FROM wallet_hold_events e WHERE e.user_id = r.user_id AND e.auction_id = r.auction_id), 0)");
+                    jdbcTemplate.execute("DROP TABLE wallet_hold_events");
+                    jdbcTemplate.execute("DROP SEQUENCE IF EXISTS wallet_hold_event_id_seq");
+                });
+                log.info("✅ Folded wallet_hold_events into wallet_reservations.audited_amount");
+            }
+        } catch (Exception e) {
+            log.error("❌ Preparing reservation audit failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drop the foreign key from wallet_transactions.related_bid_id to bids
+     * Archiving moves bids out of the bids table while ledger rows keep pointing
+     * at them; WalletTransaction maps the column without a constraint.
+     */
+    private void dropLedgerBidForeignKey() {
+        try {
+            List<String> constraints = jdbcTemplate.queryForList(
+                    "SELECT conname FROM pg_constraint " +
+                    "WHERE conrelid = 'wallet_transactions'::regclass AND confrelid = 'bids'::regclass " +
+                    "AND contype = 'f'", String.class);
+            for (String constraint : constraints) {
+                jdbcTemplate.execute("ALTER TABLE wallet_transactions DROP CONSTRAINT IF EXISTS \"" + constraint + "\"");
+                log.info("✅ Dropped foreign key {} from wallet_transactions.related_bid_id", constraint);
+            }
+        } catch (Exception e) {
+            log.error("❌ Dropping wallet_transactions -> bids foreign key failed: {}", e.getMessage());
+        }
     }
 }
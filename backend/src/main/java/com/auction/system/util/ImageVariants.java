@@ -0,0 +1,145 @@
+package com.auction.system.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Image Variants
+ * Naming rules for uploaded auction images and their resized variants.
+ *
+ * Originals are stored content-addressed as {sha256}.{ext} in a two-level
+ * shard directory taken from the hash ({ab}/{cd}/{abcd...}.{ext}); variants
+ * sit next to them as {sha256}_thumb.jpg and {sha256}_medium.jpg. Variant
+ * URLs can therefore be derived from an auction's imageUrl without any lookup.
+ * Unsharded content-addressed names (earlier uploads) are still recognised.
+ */
+public final class ImageVariants {
+
+    public static final String UPLOAD_DIR = "uploads/auction-images/";
+    public static final String URL_PATH = "/uploads/auction-images/";
+
+    /** Bytes needed by sniffExtension */
+    public static final int SNIFF_LENGTH = 12;
+
+    private static final Pattern CONTENT_ADDRESSED_URL =
+            Pattern.compile("^(.*" + Pattern.quote(URL_PATH) + "(?:[0-9a-f]{2}/[0-9a-f]{2}/)?)([0-9a-f]{64})\\.[A-Za-z0-9]+$");
+    private static final Pattern ORIGINAL_FILE =
+            Pattern.compile("^([0-9a-f]{64})\\.[A-Za-z0-9]+$");
+    private static final Pattern VARIANT_FILE =
+            Pattern.compile("^([0-9a-f]{64})(_thumb|_medium)\\.jpg$");
+
+    /**
+     * Resized variant: longest-edge bound and file suffix
+     */
+    public enum Variant {
+        THUMB(320, "_thumb.jpg"),
+        MEDIUM(1024, "_medium.jpg");
+
+        private final int maxEdge;
+        private final String suffix;
+
+        Variant(int maxEdge, String suffix) {
+            this.maxEdge = maxEdge;
+            this.suffix = suffix;
+        }
+
+        public int getMaxEdge() {
+            return maxEdge;
+        }
+
+        public String getSuffix() {
+            return suffix;
+        }
+    }
+
+    private ImageVariants() {
+    }
+
+    /**
+     * URL of a variant for an auction image URL
+     * Returns the URL unchanged for images that are not content-addressed (legacy uploads, external links)
+     */
+    public static String variantUrl(String imageUrl, Variant variant) {
+        if (imageUrl == null) {
+            return null;
+        }
+        Matcher matcher = CONTENT_ADDRESSED_URL.matcher(imageUrl);
+        return matcher.matches() ? matcher.group(1) + matcher.group(2) + variant.getSuffix() : imageUrl;
+    }
+
+    /**
+     * Content hash of an image URL, or null if it is not content-addressed
+     */
+    public static String hashOf(String imageUrl) {
+        if (imageUrl == null) {
+            return null;
+        }
+        Matcher matcher = CONTENT_ADDRESSED_URL.matcher(imageUrl);
+        return matcher.matches() ? matcher.group(2) : null;
+    }
+
+    /**
+     * Content hash of a variant file name, or null if the name is not a variant
+     */
+    public static String hashOfVariantFile(String fileName) {
+        Matcher matcher = VARIANT_FILE.matcher(fileName);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Content hash of an original file name, or null if the name is not content-addressed
+     */
+    public static String hashOfOriginalFile(String fileName) {
+        Matcher matcher = ORIGINAL_FILE.matcher(fileName);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Shard directory of a hash, relative to the upload root ("ab/cd/")
+     */
+    public static String shardOf(String hash) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/";
+    }
+
+    public static String variantFileName(String hash, Variant variant) {
+        return hash + variant.getSuffix();
+    }
+
+    /**
+     * Identify an image from its first bytes (magic numbers)
+     *
+     * @return the file extension for the detected format, or null if it is not a supported image
+     */
+    public static String sniffExtension(byte[] header, int length) {
+        if (startsWith(header, length, 0xFF, 0xD8, 0xFF)) {
+            return ".jpg";
+        }
+        if (startsWith(header, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return ".png";
+        }
+        if (startsWith(header, length, 'G', 'I', 'F', '8') && length >= 6
+                && (header[4] == '7' || header[4] == '9') && header[5] == 'a') {
+            return ".gif";
+        }
+        if (startsWith(header, length, 'R', 'I', 'F', 'F') && length >= 12
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return ".webp";
+        }
+        if (startsWith(header, length, 'B', 'M')) {
+            return ".bmp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] data, int length, int... prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((data[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,198 @@
+package com.auction.system.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Auction Event Log
+ * In-memory log of recent auction events (NEW_BID, AUCTION_UPDATE, AUCTION_ENDED).
+ *
+ * Every event gets a node-wide increasing sequence number (seeded from the
+ * clock, so numbers keep increasing across restarts) and is kept in a
+ * small per-auction ring (auction.events.ring-size). Streams use the sequence
+ * to resume after a reconnect: a client that saw seq N asks for everything
+ * after N; if the ring no longer reaches back that far, it must resync.
+ * Each event is serialized to JSON once, on append. Listeners are called
+ * in sequence order per auction.
+ */
+@Component
+@Slf4j
+public class AuctionEventLog {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${auction.events.ring-size:64}")
+    private int ringSize;
+
+    @Value("${auction.events.idle-evict-ms:3600000}")
+    private long idleEvictMillis;
+
+    private final long startSeq = System.currentTimeMillis() * 1000;
+    private final AtomicLong sequence = new AtomicLong(startSeq);
+    private final Map<Long, Ring> rings = new ConcurrentHashMap<>();
+    private final List<Consumer<AuctionEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    public AuctionEventLog(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Append an event and notify listeners
+     */
+    public AuctionEvent append(Long auctionId, String type, Map<String, Object> data) {
+        Ring ring = rings.computeIfAbsent(auctionId, id -> new Ring());
+        AuctionEvent event;
+
+        // Sequence assignment, append and notification happen together so a ring is
+        // always in seq order and listeners see each auction's events in that order
+        synchronized (ring) {
+            long seq = sequence.incrementAndGet();
+            event = new AuctionEvent(seq, auctionId, type, data, toJson(seq, auctionId, type, data),
+                    System.currentTimeMillis());
+            ring.add(event, ringSize);
+
+            for (Consumer<AuctionEvent> listener : listeners) {
+                try {
+                    listener.accept(event);
+                } catch (Exception e) {
+                    log.error("Auction event listener failed", e);
+                }
+            }
+        }
+        return event;
+    }
+
+    /**
+     * Events for an auction with seq greater than afterSeq, oldest first
+     *
+     * @return the events, or null if some of them have already left the ring
+     */
+    public List<AuctionEvent> since(Long auctionId, long afterSeq) {
+        if (afterSeq > 0 && afterSeq < startSeq) {
+            return null; // issued before this node (re)started
+        }
+        Ring ring = rings.get(auctionId);
+        if (ring == null) {
+            return List.of();
+        }
+        synchronized (ring) {
+            return ring.after(afterSeq);
+        }
+    }
+
+    /**
+     * Latest sequence number issued on this node
+     */
+    public long currentSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Latest sequence number recorded for an auction (0 if none)
+     */
+    public long lastSequence(Long auctionId) {
+        Ring ring = rings.get(auctionId);
+        if (ring == null) {
+            return 0;
+        }
+        synchronized (ring) {
+            return ring.lastSeq();
+        }
+    }
+
+    /**
+     * Register a listener; it is called under the auction's lock, so it must not block
+     */
+    public void addListener(Consumer<AuctionEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Drop rings of auctions that have been quiet for a while
+     * Runs every 10 minutes
+     */
+    @Scheduled(fixedDelay = 600000)
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleEvictMillis;
+        int before = rings.size();
+        rings.values().removeIf(ring -> ring.lastAppendAt < cutoff);
+        if (rings.size() < before) {
+            log.debug("Evicted {} idle auction event rings", before - rings.size());
+        }
+    }
+
+    private String toJson(long seq, Long auctionId, String type, Map<String, Object> data) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("seq", seq);
+        body.put("auctionId", auctionId);
+        body.put("type", type);
+        body.put("data", data);
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize auction event", e);
+        }
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public int getTrackedAuctions() {
+        return rings.size();
+    }
+
+    /**
+     * A logged event; json is the full serialized event body
+     */
+    public record AuctionEvent(long seq, Long auctionId, String type, Map<String, Object> data,
+                               String json, long timestamp) {
+    }
+
+    /**
+     * Bounded ring of one auction's recent events
+     * Remembers the newest evicted seq so callers can tell when history is incomplete.
+     */
+    private static class Ring {
+        private final Deque<AuctionEvent> events = new ArrayDeque<>();
+        private long evictedUpTo;
+        private volatile long lastAppendAt = System.currentTimeMillis();
+
+        void add(AuctionEvent event, int capacity) {
+            events.addLast(event);
+            while (events.size() > capacity) {
+                evictedUpTo = events.removeFirst().seq();
+            }
+            lastAppendAt = event.timestamp();
+        }
+
+        List<AuctionEvent> after(long afterSeq) {
+            if (afterSeq < evictedUpTo) {
+                return null;
+            }
+            List<AuctionEvent> result = new ArrayList<>();
+            for (AuctionEvent event : events) {
+                if (event.seq() > afterSeq) {
+                    result.add(event);
+                }
+            }
+            return result;
+        }
+
+        long lastSeq() {
+            return events.isEmpty() ? evictedUpTo : events.peekLast().seq();
+        }
+    }
+}
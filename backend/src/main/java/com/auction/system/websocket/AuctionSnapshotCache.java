@@ -0,0 +1,284 @@
+package com.auction.system.websocket;
+
+import com.auction.system.entity.Auction;
+import com.auction.system.entity.Bid;
+import com.auction.system.repository.AuctionRepository;
+import com.auction.system.service.BidService;
+import com.auction.system.websocket.AuctionEventLog.AuctionEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Auction Snapshot Cache
+ * Compact in-memory state per auction (details, price, deadline, status,
+ * winner and the most recent bids) tagged with the AuctionEventLog sequence
+ * it reflects.
+ *
+ * Built from the database the first time an auction is asked for, then kept
+ * current from the event log (bids, edits, status changes, retractions and
+ * closes all publish events, including those from other cluster nodes), so
+ * opening an auction page does not have to query auctions and bids again.
+ * Bids are read through BidService, so closed auctions whose bids were
+ * moved to the archive still show them.
+ * As a backstop against changes that bypass the event log, a snapshot is
+ * rebuilt once it is older than auction.snapshot.max-age-ms, however often
+ * it is read.
+ */
+@Component
+@Slf4j
+public class AuctionSnapshotCache {
+
+    private final AuctionRepository auctionRepository;
+    private final BidService bidService;
+    private final AuctionEventLog auctionEventLog;
+
+    @Value("${auction.snapshot.recent-bids:20}")
+    private int recentBids;
+
+    @Value("${auction.events.idle-evict-ms:3600000}")
+    private long idleEvictMillis;
+
+    @Value("${auction.snapshot.max-age-ms:300000}")
+    private long maxAgeMillis;
+
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    public AuctionSnapshotCache(AuctionRepository auctionRepository, BidService bidService,
+                                AuctionEventLog auctionEventLog) {
+        this.auctionRepository = auctionRepository;
+        this.bidService = bidService;
+        this.auctionEventLog = auctionEventLog;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        auctionEventLog.addListener(this::onEvent);
+    }
+
+    /**
+     * Current snapshot of an auction, loading it on first use
+     */
+    public Optional<Map<String, Object>> getSnapshot(Long auctionId) {
+        Snapshot snapshot = snapshots.get(auctionId);
+        if (snapshot != null && snapshot.loadedAt < System.currentTimeMillis() - maxAgeMillis) {
+            snapshots.remove(auctionId, snapshot);
+            snapshot = null;
+        }
+        if (snapshot == null) {
+            snapshot = load(auctionId);
+            if (snapshot == null) {
+                return Optional.empty();
+            }
+            Snapshot existing = snapshots.putIfAbsent(auctionId, snapshot);
+            if (existing != null) {
+                snapshot = existing;
+            } else {
+                // Events appended while loading were not seen by the listener
+                catchUp(auctionId, snapshot);
+            }
+        }
+        return Optional.of(snapshot.toMap(auctionId));
+    }
+
+    private Snapshot load(Long auctionId) {
+        // Remember where the log was before reading, then apply anything newer
+        long seqBeforeLoad = auctionEventLog.lastSequence(auctionId);
+
+        Auction auction = auctionRepository.findById(auctionId).orElse(null);
+        if (auction == null) {
+            return null;
+        }
+        List<Bid> bids = bidService.getBidsForAuction(auction, recentBids);
+
+        Snapshot snapshot = new Snapshot(seqBeforeLoad);
+        snapshot.auction.put("itemName", auction.getItemName());
+        snapshot.auction.put("description", auction.getDescription());
+        snapshot.auction.put("imageUrl", auction.getImageUrl());
+        snapshot.auction.put("sellerId", auction.getSeller().getUserId());
+        snapshot.auction.put("sellerName", auction.getSeller().getUsername());
+        snapshot.auction.put("startingPrice", auction.getStartingPrice());
+        snapshot.auction.put("currentPrice", auction.getCurrentPrice());
+        snapshot.auction.put("currentDeadline", auction.getCurrentDeadline());
+        snapshot.auction.put("startTime", auction.getStartTime());
+        snapshot.auction.put("mandatoryEndTime", auction.getMandatoryEndTime());
+        snapshot.auction.put("bidGapSeconds",
+                auction.getBidGapDuration() != null ? auction.getBidGapDuration().getSeconds() : null);
+        snapshot.auction.put("status", auction.getStatus().toString());
+        if (auction.getWinner() != null) {
+            snapshot.auction.put("winnerId", auction.getWinner().getUserId());
+            snapshot.auction.put("winnerName", auction.getWinner().getUsername());
+        }
+
+        for (int i = bids.size() - 1; i >= 0; i--) {
+            Bid bid = bids.get(i);
+            Map<String, Object> compact = new LinkedHashMap<>();
+            compact.put("bidId", bid.getBidId());
+            compact.put("bidAmount", bid.getBidAmount());
+            compact.put("bidderId", bid.getBidder().getUserId());
+            compact.put("bidderName", bid.getBidder().getUsername());
+            compact.put("bidTime", bid.getBidTime());
+            snapshot.addBid(compact, recentBids);
+        }
+
+        catchUp(auctionId, snapshot);
+
+        log.debug("Auction {} snapshot loaded at seq {}", auctionId, snapshot.seq);
+        return snapshot;
+    }
+
+    private void catchUp(Long auctionId, Snapshot snapshot) {
+        List<AuctionEvent> newer = auctionEventLog.since(auctionId, snapshot.currentSeq());
+        if (newer != null) {
+            newer.forEach(event -> snapshot.apply(event, recentBids));
+        }
+    }
+
+    private void onEvent(AuctionEvent event) {
+        if ("DELETED".equals(event.data().get("status"))) {
+            snapshots.remove(event.auctionId());
+            return;
+        }
+        Snapshot snapshot = snapshots.get(event.auctionId());
+        if (snapshot != null) {
+            snapshot.apply(event, recentBids);
+        }
+    }
+
+    /**
+     * Forget snapshots nobody has looked at recently or that are due for a rebuild
+     * Runs every 10 minutes
+     */
+    @Scheduled(fixedDelay = 600000)
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        snapshots.values().removeIf(snapshot -> snapshot.lastAccessAt < now - idleEvictMillis
+                || snapshot.loadedAt < now - maxAgeMillis);
+    }
+
+    /**
+     * Forget an auction's snapshot (e.g. after an out-of-band change)
+     */
+    public void evict(Long auctionId) {
+        snapshots.remove(auctionId);
+    }
+
+    /**
+     * Forget every snapshot (e.g. after events were lost)
+     */
+    public void evictAll() {
+        snapshots.clear();
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public int getCachedAuctions() {
+        return snapshots.size();
+    }
+
+    /**
+     * Mutable snapshot of one auction; all access synchronized on the instance
+     */
+    private static class Snapshot {
+        private long seq;
+        private final Map<String, Object> auction = new LinkedHashMap<>();
+        private final Deque<Map<String, Object>> bids = new ArrayDeque<>();
+        private final long loadedAt = System.currentTimeMillis();
+        private volatile long lastAccessAt = loadedAt;
+
+        Snapshot(long seq) {
+            this.seq = seq;
+        }
+
+        synchronized void addBid(Map<String, Object> bid, int capacity) {
+            Object bidId = bid.get("bidId");
+            if (bidId != null && bids.stream().anyMatch(b -> sameId(bidId, b.get("bidId")))) {
+                return;
+            }
+            bids.addFirst(bid);
+            while (bids.size() > capacity) {
+                bids.removeLast();
+            }
+        }
+
+        synchronized long currentSeq() {
+            return seq;
+        }
+
+        synchronized void apply(AuctionEvent event, int capacity) {
+            if (event.seq() <= seq) {
+                return;
+            }
+            seq = event.seq();
+
+            Map<String, Object> data = event.data();
+            switch (event.type()) {
+                case "NEW_BID" -> {
+                    Map<String, Object> compact = new LinkedHashMap<>();
+                    compact.put("bidId", data.get("bidId"));
+                    compact.put("bidAmount", data.get("bidAmount"));
+                    compact.put("bidderId", data.get("bidderId"));
+                    compact.put("bidderName", data.get("bidderName"));
+                    compact.put("bidTime", data.get("bidTime"));
+                    addBid(compact, capacity);
+                    putIfPresent("currentPrice", data.get("currentPrice"));
+                    putIfPresent("currentDeadline", data.get("newDeadline"));
+                }
+                case "AUCTION_UPDATE" -> {
+                    Object retractedBidId = data.get("retractedBidId");
+                    if (retractedBidId != null) {
+                        bids.removeIf(b -> sameId(retractedBidId, b.get("bidId")));
+                    }
+                    putIfPresent("itemName", data.get("itemName"));
+                    putIfPresent("description", data.get("description"));
+                    putIfPresent("imageUrl", data.get("imageUrl"));
+                    putIfPresent("startingPrice", data.get("startingPrice"));
+                    putIfPresent("startTime", data.get("startTime"));
+                    putIfPresent("currentPrice", data.get("currentPrice"));
+                    putIfPresent("currentDeadline", data.get("currentDeadline"));
+                    putIfPresent("mandatoryEndTime", data.get("mandatoryEndTime"));
+                    putIfPresent("status", data.get("status"));
+                }
+                case "AUCTION_ENDED" -> {
+                    auction.put("status", "ENDED");
+                    putIfPresent("winnerId", data.get("winnerId"));
+                    putIfPresent("winnerName", data.get("winnerName"));
+                    putIfPresent("currentPrice", data.get("finalPrice"));
+                }
+                default -> { }
+            }
+        }
+
+        /** IDs may arrive as Long locally and Integer from cluster JSON */
+        private static boolean sameId(Object a, Object b) {
+            return a instanceof Number x && b instanceof Number y && x.longValue() == y.longValue();
+        }
+
+        private void putIfPresent(String key, Object value) {
+            if (value != null) {
+                auction.put(key, value);
+            }
+        }
+
+        synchronized Map<String, Object> toMap(Long auctionId) {
+            lastAccessAt = System.currentTimeMillis();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("auctionId", auctionId);
+            map.put("seq", seq);
+            map.put("auction", new LinkedHashMap<>(auction));
+            map.put("recentBids", new ArrayList<>(bids));
+            return map;
+        }
+    }
+}
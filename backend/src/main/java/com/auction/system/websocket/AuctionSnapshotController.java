@@ -0,0 +1,73 @@
+package com.auction.system.websocket;
+
+import com.auction.system.websocket.AuctionEventLog.AuctionEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Auction Snapshot Controller
+ * Answers a STOMP SUBSCRIBE to /app/auction/{id}/snapshot with everything an
+ * auction page needs in one frame, replacing the GET /api/auctions/{id} and
+ * GET /api/bids/auction/{id} calls made when a page opens or reconnects.
+ *
+ * A client that already has state sends a "since" header with the last seq
+ * it saw (from a snapshot or a /topic/auction/{id} frame) and gets only the
+ * events after it. If those are no longer in the event log, or no "since"
+ * is sent, the full compact snapshot is returned instead.
+ */
+@Controller
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionSnapshotController {
+
+    private final AuctionSnapshotCache auctionSnapshotCache;
+    private final AuctionEventLog auctionEventLog;
+
+    @SubscribeMapping("/auction/{auctionId}/snapshot")
+    public Map<String, Object> snapshot(@DestinationVariable Long auctionId,
+                                        @Header(name = "since", required = false) Long since) {
+        if (since != null) {
+            List<AuctionEvent> events = auctionEventLog.since(auctionId, since);
+            if (events != null) {
+                Map<String, Object> delta = new LinkedHashMap<>();
+                delta.put("auctionId", auctionId);
+                delta.put("mode", "DELTA");
+                delta.put("seq", events.isEmpty() ? since : events.get(events.size() - 1).seq());
+                delta.put("events", toMaps(events));
+                log.debug("Auction {} delta since {}: {} events", auctionId, since, events.size());
+                return delta;
+            }
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("mode", "SNAPSHOT");
+        auctionSnapshotCache.getSnapshot(auctionId).ifPresentOrElse(
+                response::putAll,
+                () -> {
+                    response.put("auctionId", auctionId);
+                    response.put("error", "Auction not found");
+                });
+        return response;
+    }
+
+    private List<Map<String, Object>> toMaps(List<AuctionEvent> events) {
+        List<Map<String, Object>> result = new ArrayList<>(events.size());
+        for (AuctionEvent event : events) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("seq", event.seq());
+            map.put("type", event.type());
+            map.put("data", event.data());
+            result.add(map);
+        }
+        return result;
+    }
+}
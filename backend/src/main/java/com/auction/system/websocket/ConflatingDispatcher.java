@@ -0,0 +1,211 @@
+package com.auction.system.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conflating Dispatcher
+ * Coalesces auction updates per destination before they reach the broker.
+ *
+ * The first NEW_BID/AUCTION_UPDATE for a topic opens a short window
+ * (websocket.conflation.window-ms); everything arriving in that window is
+ * merged into the pending frame, so a burst of bids produces one frame
+ * carrying the latest price and deadline instead of one frame per
+ * intermediate price. No bid is lost: when several were merged, the frame's
+ * data also carries all of them, oldest first, as "bids".
+ *
+ * AUCTION_UPDATEs carrying a status change or a retractedBidId are never
+ * merged: whatever is pending is flushed and they go out as their own frame,
+ * so clients see each transition and retraction in order.
+ * Each frame is serialized to JSON once and handed to the broker as bytes.
+ * Frames carry the AuctionEventLog sequence of the newest update they
+ * contain, so clients can line them up with a snapshot.
+ */
+@Component
+@Slf4j
+public class ConflatingDispatcher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${websocket.conflation.window-ms:50}")
+    private long windowMillis;
+
+    private final Map<String, PendingFrame> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ws-conflater");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Monitoring fields
+    private final AtomicLong eventsSubmitted = new AtomicLong(0);
+    private final AtomicLong framesSent = new AtomicLong(0);
+
+    public ConflatingDispatcher(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Queue an update for a destination, merging it with any update still pending there
+     */
+    public void submit(String destination, String type, Map<String, Object> data, long seq) {
+        eventsSubmitted.incrementAndGet();
+
+        if (isBarrier(type, data)) {
+            flush(destination);
+            send(destination, new PendingFrame(type, data, seq));
+            return;
+        }
+        if (windowMillis <= 0) {
+            send(destination, new PendingFrame(type, data, seq));
+            return;
+        }
+
+        boolean[] opened = {false};
+        pending.compute(destination, (key, frame) -> {
+            if (frame == null) {
+                opened[0] = true;
+                return new PendingFrame(type, data, seq);
+            }
+            frame.merge(type, data, seq);
+            return frame;
+        });
+
+        if (opened[0]) {
+            flusher.schedule(() -> flush(destination), windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Send a frame immediately, after flushing anything pending for the same
+     * destination so ordering is kept (e.g. AUCTION_ENDED after the last bid)
+     */
+    public void sendNow(String destination, String type, Map<String, Object> data, long seq) {
+        eventsSubmitted.incrementAndGet();
+        flush(destination);
+        send(destination, new PendingFrame(type, data, seq));
+    }
+
+    /**
+     * Updates that must reach clients as their own frame
+     */
+    private static boolean isBarrier(String type, Map<String, Object> data) {
+        return "AUCTION_UPDATE".equals(type)
+                && (data.containsKey("status") || data.containsKey("retractedBidId"));
+    }
+
+    private void flush(String destination) {
+        PendingFrame frame = pending.remove(destination);
+        if (frame != null) {
+            send(destination, frame);
+        }
+    }
+
+    private void send(String destination, PendingFrame frame) {
+        try {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("type", frame.type);
+            if (frame.seq > 0) {
+                body.put("seq", frame.seq);
+            }
+            body.put("data", frame.body());
+            if (frame.merged > 1) {
+                body.put("conflated", frame.merged);
+            }
+            byte[] payload = objectMapper.writeValueAsBytes(body);
+
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            accessor.setLeaveMutable(true);
+            messagingTemplate.send(destination, MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+
+            framesSent.incrementAndGet();
+            log.debug("Sent {} to {} ({} updates merged, {} bytes)",
+                    frame.type, destination, frame.merged, payload.length);
+        } catch (Exception e) {
+            log.error("Failed to send WebSocket frame to {}", destination, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        pending.keySet().forEach(this::flush);
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public long getEventsSubmitted() {
+        return eventsSubmitted.get();
+    }
+
+    public long getFramesSent() {
+        return framesSent.get();
+    }
+
+    public int getPendingDestinations() {
+        return pending.size();
+    }
+
+    /**
+     * Frame waiting for its window to close
+     * A NEW_BID wins over AUCTION_UPDATE as the frame type; later fields overwrite
+     * earlier ones, and every merged bid is kept in order.
+     */
+    private static class PendingFrame {
+        private String type;
+        private final Map<String, Object> data;
+        private final List<Map<String, Object>> bids = new ArrayList<>(1);
+        private long seq;
+        private int merged = 1;
+
+        PendingFrame(String type, Map<String, Object> data, long seq) {
+            this.type = type;
+            this.data = new LinkedHashMap<>(data);
+            this.seq = seq;
+            if ("NEW_BID".equals(type)) {
+                bids.add(data);
+            }
+        }
+
+        void merge(String newType, Map<String, Object> newData, long newSeq) {
+            if ("NEW_BID".equals(newType)) {
+                type = newType;
+                bids.add(newData);
+            }
+            data.putAll(newData);
+            seq = Math.max(seq, newSeq);
+            merged++;
+        }
+
+        /**
+         * Latest fields, plus the full list of bids when more than one was merged
+         */
+        Map<String, Object> body() {
+            if (bids.size() > 1) {
+                data.put("bids", bids);
+            }
+            return data;
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package com.auction.system.websocket;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Session Outbound Queues
+ * Bounded per-session outbound queues for STOMP clients.
+ *
+ * Every frame headed to a client is taken off the clientOutboundChannel and
+ * put on that session's queue; a dedicated executor drains each queue in order.
+ * A slow client therefore only fills its own queue instead of tying up the
+ * shared outbound threads.
+ *
+ * Writing to a socket still blocks the thread that does it, so sessions are
+ * timed: once a write takes longer than websocket.outbound.slow-send-ms the
+ * session is drained on a small separate slow-lane pool and no longer holds
+ * threads healthy sessions need (it moves back after a fast write). A write
+ * stuck for longer than the transport send time limit closes the session,
+ * which releases its thread. When a queue is full the overflow policy applies
+ * (websocket.outbound.overflow-policy):
+ * - DROP_OLDEST: discard the oldest queued MESSAGE frame
+ * - CONFLATE:    replace the queued frame for the same destination (latest wins),
+ *                falling back to DROP_OLDEST
+ * - DISCONNECT:  close the session; the client reconnects and resyncs
+ * Control frames (CONNECTED, RECEIPT, ERROR, heartbeats) are never dropped.
+ */
+@Component
+@Slf4j
+public class SessionOutboundQueues implements ChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    public enum OverflowPolicy { DROP_OLDEST, CONFLATE, DISCONNECT }
+
+    private static final int CLOSE_POOL_SIZE = 2;
+
+    private final ApplicationContext applicationContext;
+
+    @Value("${websocket.outbound.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${websocket.outbound.overflow-policy:CONFLATE}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${websocket.outbound.pool-size:8}")
+    private int poolSize;
+
+    @Value("${websocket.outbound.slow-pool-size:2}")
+    private int slowPoolSize;
+
+    @Value("${websocket.outbound.slow-send-ms:250}")
+    private long slowSendMillis;
+
+    @Value("${websocket.transport.send-time-limit-ms:10000}")
+    private long sendTimeLimit;
+
+    private ThreadPoolTaskExecutor executor;
+    private ThreadPoolTaskExecutor slowExecutor;
+    private ThreadPoolTaskExecutor closeExecutor;
+    private volatile MessageHandler clientHandler;
+
+    private final Map<String, SessionQueue> queues = new ConcurrentHashMap<>();
+    private final Map<String, TimedSession> sessions = new ConcurrentHashMap<>();
+
+    // Monitoring fields
+    private final AtomicLong framesQueued = new AtomicLong(0);
+    private final AtomicLong framesDelivered = new AtomicLong(0);
+    private final AtomicLong framesDropped = new AtomicLong(0);
+    private final AtomicLong framesConflated = new AtomicLong(0);
+    private final AtomicLong sessionsDisconnected = new AtomicLong(0);
+    private final AtomicLong slowSends = new AtomicLong(0);
+    private final AtomicLong stalledSendsClosed = new AtomicLong(0);
+
+    public SessionOutboundQueues(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(Integer.MAX_VALUE); // one drain task per busy session at most
+        executor.setThreadNamePrefix("ws-outbound-");
+        executor.setDaemon(true);
+        executor.initialize();
+
+        slowExecutor = new ThreadPoolTaskExecutor();
+        slowExecutor.setCorePoolSize(slowPoolSize);
+        slowExecutor.setMaxPoolSize(slowPoolSize);
+        slowExecutor.setQueueCapacity(Integer.MAX_VALUE);
+        slowExecutor.setThreadNamePrefix("ws-outbound-slow-");
+        slowExecutor.setDaemon(true);
+        slowExecutor.initialize();
+
+        // Closing stalled sessions must not queue behind the drain threads they are stuck on
+        closeExecutor = new ThreadPoolTaskExecutor();
+        closeExecutor.setCorePoolSize(CLOSE_POOL_SIZE);
+        closeExecutor.setMaxPoolSize(CLOSE_POOL_SIZE);
+        closeExecutor.setAllowCoreThreadTimeOut(true);
+        closeExecutor.setThreadNamePrefix("ws-outbound-close-");
+        closeExecutor.setDaemon(true);
+        closeExecutor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        slowExecutor.shutdown();
+        closeExecutor.shutdown();
+    }
+
+    // ========== Session tracking ==========
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                // Everything written to the client goes through the timed wrapper
+                TimedSession timed = new TimedSession(session);
+                sessions.put(session.getId(), timed);
+                super.afterConnectionEstablished(timed);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                queues.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    // ========== Outbound interception ==========
+
+    /**
+     * Divert outbound frames onto the session's queue
+     * Returning null stops the channel from dispatching the frame itself.
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null || !sessions.containsKey(sessionId)) {
+            return message;
+        }
+
+        SessionQueue queue = queues.computeIfAbsent(sessionId, SessionQueue::new);
+        if (queue.offer(message)) {
+            schedule(queue);
+        }
+        return null;
+    }
+
+    private void schedule(SessionQueue queue) {
+        boolean slowLane = isSlow(queue.sessionId);
+        (slowLane ? slowExecutor : executor).execute(() -> drain(queue, slowLane));
+    }
+
+    private void drain(SessionQueue queue, boolean slowLane) {
+        MessageHandler handler = resolveClientHandler();
+        Message<?> next;
+        while ((next = queue.poll()) != null) {
+            try {
+                handler.handleMessage(next);
+                framesDelivered.incrementAndGet();
+            } catch (Exception e) {
+                log.debug("Failed to deliver frame to session {}: {}", queue.sessionId, e.getMessage());
+            }
+            if (isSlow(queue.sessionId) != slowLane) {
+                // Session got slow (or recovered): continue on the other pool
+                schedule(queue);
+                return;
+            }
+        }
+    }
+
+    private boolean isSlow(String sessionId) {
+        TimedSession session = sessions.get(sessionId);
+        return session != null && session.slow;
+    }
+
+    /**
+     * Close sessions whose current write has been stuck past the send time limit
+     * Runs every second. The close runs on its own pool: the outbound threads may
+     * all be blocked in the very writes being aborted.
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void closeStalledSends() {
+        long cutoff = System.currentTimeMillis() - sendTimeLimit;
+        for (TimedSession session : sessions.values()) {
+            long startedAt = session.sendStartedAt;
+            if (startedAt > 0 && startedAt < cutoff && !session.closing) {
+                session.closing = true;
+                stalledSendsClosed.incrementAndGet();
+                closeExecutor.execute(() -> disconnect(session.getId(), "send stuck for over " + sendTimeLimit + " ms"));
+            }
+        }
+    }
+
+    private MessageHandler resolveClientHandler() {
+        MessageHandler handler = clientHandler;
+        if (handler == null) {
+            handler = applicationContext.getBean("subProtocolWebSocketHandler", MessageHandler.class);
+            clientHandler = handler;
+        }
+        return handler;
+    }
+
+    private void disconnect(String sessionId, String reason) {
+        WebSocketSession session = sessions.get(sessionId);
+        queues.remove(sessionId);
+        sessionsDisconnected.incrementAndGet();
+        if (session != null) {
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.debug("Failed to close slow session {}: {}", sessionId, e.getMessage());
+            }
+        }
+        log.warn("Disconnected slow WebSocket session {} ({})", sessionId, reason);
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("overflowPolicy", overflowPolicy.name());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("poolSize", poolSize);
+        stats.put("slowPoolSize", slowPoolSize);
+        stats.put("activeSessions", sessions.size());
+        stats.put("slowSessions", sessions.values().stream().filter(session -> session.slow).count());
+        stats.put("queuedSessions", queues.size());
+        stats.put("totalQueueDepth", queues.values().stream().mapToInt(SessionQueue::size).sum());
+        stats.put("framesQueued", framesQueued.get());
+        stats.put("framesDelivered", framesDelivered.get());
+        stats.put("framesDropped", framesDropped.get());
+        stats.put("framesConflated", framesConflated.get());
+        stats.put("sessionsDisconnected", sessionsDisconnected.get());
+        stats.put("slowSends", slowSends.get());
+        stats.put("stalledSendsClosed", stalledSendsClosed.get());
+        stats.put("executorActiveThreads", executor.getActiveCount());
+        stats.put("slowExecutorActiveThreads", slowExecutor.getActiveCount());
+        return stats;
+    }
+
+    /**
+     * Sessions with the deepest outbound queues
+     */
+    public List<Map<String, Object>> getDeepestQueues(int limit) {
+        List<SessionQueue> snapshot = new ArrayList<>(queues.values());
+        snapshot.sort(Comparator.comparingInt(SessionQueue::size).reversed());
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (SessionQueue queue : snapshot.subList(0, Math.min(limit, snapshot.size()))) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("sessionId", queue.sessionId);
+            entry.put("depth", queue.size());
+            entry.put("maxDepth", queue.maxDepth);
+            entry.put("dropped", queue.dropped);
+            result.add(entry);
+        }
+        return result;
+    }
+
+    /**
+     * Session wrapper that times each write to the client
+     * Sends are already serialized by Spring's per-session decorator.
+     */
+    private class TimedSession extends WebSocketSessionDecorator {
+
+        private volatile long sendStartedAt;
+        private volatile boolean slow;
+        private volatile boolean closing;
+
+        TimedSession(WebSocketSession delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            long start = System.currentTimeMillis();
+            sendStartedAt = start;
+            try {
+                super.sendMessage(message);
+            } finally {
+                sendStartedAt = 0;
+                boolean nowSlow = System.currentTimeMillis() - start >= slowSendMillis;
+                if (nowSlow) {
+                    slowSends.incrementAndGet();
+                }
+                if (nowSlow != slow) {
+                    slow = nowSlow;
+                    log.debug("WebSocket session {} moved to the {} outbound lane", getId(), nowSlow ? "slow" : "normal");
+                }
+            }
+        }
+    }
+
+    /**
+     * One session's pending frames plus its drain state
+     */
+    private class SessionQueue {
+
+        private final String sessionId;
+        private final Deque<Message<?>> frames = new ArrayDeque<>();
+        private boolean draining;
+        private int maxDepth;
+        private long dropped;
+
+        SessionQueue(String sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        /**
+         * Enqueue a frame, applying the overflow policy when full
+         *
+         * @return true if the caller must schedule a drain
+         */
+        boolean offer(Message<?> message) {
+            boolean disconnect = false;
+            synchronized (this) {
+                if (frames.size() >= queueCapacity && isDroppable(message)) {
+                    switch (overflowPolicy) {
+                        case CONFLATE -> {
+                            if (replaceSameDestination(message)) {
+                                framesConflated.incrementAndGet();
+                                return false;
+                            }
+                            dropOldest();
+                        }
+                        case DROP_OLDEST -> dropOldest();
+                        case DISCONNECT -> disconnect = true;
+                    }
+                }
+
+                if (!disconnect) {
+                    frames.addLast(message);
+                    framesQueued.incrementAndGet();
+                    maxDepth = Math.max(maxDepth, frames.size());
+                    if (!draining) {
+                        draining = true;
+                        return true;
+                    }
+                    return false;
+                }
+            }
+
+            // Off the publishing thread: closing can block while a write is in progress
+            closeExecutor.execute(() -> disconnect(sessionId, "outbound queue full"));
+            return false;
+        }
+
+        synchronized Message<?> poll() {
+            Message<?> next = frames.pollFirst();
+            if (next == null) {
+                draining = false;
+            }
+            return next;
+        }
+
+        synchronized int size() {
+            return frames.size();
+        }
+
+        private boolean replaceSameDestination(Message<?> message) {
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            if (destination == null) {
+                return false;
+            }
+            List<Message<?>> buffer = new ArrayList<>(frames);
+            for (int i = buffer.size() - 1; i >= 0; i--) {
+                Message<?> queued = buffer.get(i);
+                if (isDroppable(queued)
+                        && destination.equals(SimpMessageHeaderAccessor.getDestination(queued.getHeaders()))) {
+                    buffer.set(i, message);
+                    frames.clear();
+                    frames.addAll(buffer);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void dropOldest() {
+            Iterator<Message<?>> it = frames.iterator();
+            while (it.hasNext()) {
+                if (isDroppable(it.next())) {
+                    it.remove();
+                    dropped++;
+                    framesDropped.incrementAndGet();
+                    return;
+                }
+            }
+        }
+
+        private boolean isDroppable(Message<?> message) {
+            return SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE;
+        }
+    }
+}
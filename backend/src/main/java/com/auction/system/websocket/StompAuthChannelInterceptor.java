@@ -0,0 +1,109 @@
+package com.auction.system.websocket;
+
+import com.auction.system.security.AuthenticatedUser;
+import com.auction.system.security.JwtClaimsCache;
+import com.auction.system.security.UserPrincipalCache;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * STOMP Auth Channel Interceptor
+ * Authenticates STOMP sessions from the JWT sent in the CONNECT frame's
+ * Authorization header and only lets a user subscribe to their own
+ * /topic/user/{userId} notifications. Anonymous sessions can still
+ * subscribe to every public topic.
+ *
+ * Wildcard subscriptions are rejected outright: the simple broker matches
+ * subscriptions as Ant patterns (and external brokers have their own
+ * wildcards), so /topic/** or /topic/user/* would match every user's topic.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String USER_TOPIC_PREFIX = "/topic/user/";
+    // Ant pattern characters (simple broker) plus ActiveMQ/RabbitMQ wildcards (relay)
+    private static final String WILDCARD_CHARS = "*?{#>";
+
+    private final JwtClaimsCache jwtClaimsCache;
+    private final UserPrincipalCache userPrincipalCache;
+
+    private final AtomicLong rejectedSubscriptions = new AtomicLong();
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            AuthenticatedUser user = authenticate(accessor);
+            if (user != null) {
+                accessor.setUser(user);
+            }
+        } else if (accessor.getCommand() == StompCommand.SUBSCRIBE) {
+            String destination = accessor.getDestination();
+            if (destination != null && (isWildcard(destination) || (destination.startsWith(USER_TOPIC_PREFIX)
+                    && !isOwner(accessor, destination.substring(USER_TOPIC_PREFIX.length()))))) {
+                rejectedSubscriptions.incrementAndGet();
+                log.warn("Rejected subscription to {} from session {}", destination, accessor.getSessionId());
+                return null;
+            }
+        }
+        return message;
+    }
+
+    private static boolean isWildcard(String destination) {
+        for (int i = 0; i < destination.length(); i++) {
+            if (WILDCARD_CHARS.indexOf(destination.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The session's user (from CONNECT), or the token on the SUBSCRIBE frame for
+     * sessions that connected before logging in, must own the topic
+     */
+    private boolean isOwner(StompHeaderAccessor accessor, String topicUserId) {
+        Principal principal = accessor.getUser();
+        AuthenticatedUser user = principal instanceof AuthenticatedUser authenticated
+                ? authenticated
+                : authenticate(accessor);
+        return user != null && String.valueOf(user.getUserId()).equals(topicUserId);
+    }
+
+    private AuthenticatedUser authenticate(StompHeaderAccessor accessor) {
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            Claims claims = jwtClaimsCache.resolve(authHeader.substring(7));
+            return userPrincipalCache.resolve(claims.get("userId", Long.class), claims.getSubject()).orElse(null);
+        } catch (Exception e) {
+            log.debug("STOMP authentication failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // ========== Monitoring Methods ==========
+
+    public long getRejectedSubscriptions() {
+        return rejectedSubscriptions.get();
+    }
+}
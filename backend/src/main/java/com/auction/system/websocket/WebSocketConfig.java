@@ -1,24 +1,95 @@
 package com.auction.system.websocket;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * WebSocket Configuration
  * Enables real-time bidirectional communication between server and clients
+ *
+ * Broker mode (websocket.broker.mode):
+ * - simple:  in-memory broker, single node only (default)
+ * - relay:   STOMP relay to an external broker (ActiveMQ Artemis, RabbitMQ);
+ *            every node shares the broker's subscriptions (websocket.relay.embedded
+ *            starts one in-process under mvn spring-boot:test-run for local
+ *            testing, see EmbeddedStompBroker in src/test);
+ *            SSE streams and snapshots only see the node's own events
+ * - cluster: in-memory broker on each node plus TCP fan-out of auction events
+ *            and /topic messages between nodes (see ClusterBrokerFanout)
  */
 @Configuration
 @EnableWebSocketMessageBroker
+@Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.relay.client-login:guest}")
+    private String relayClientLogin;
+
+    @Value("${websocket.relay.client-passcode:guest}")
+    private String relayClientPasscode;
+
+    @Value("${websocket.relay.system-login:guest}")
+    private String relaySystemLogin;
+
+    @Value("${websocket.relay.system-passcode:guest}")
+    private String relaySystemPasscode;
+
+    @Value("${websocket.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimit;
+
+    @Value("${websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${cors.allowed.origins:http://localhost:3000,http://localhost:3001}")
+    private String[] allowedOrigins;
+
+    private final ObjectProvider<ClusterBrokerFanout> clusterFanout;
+    private final SessionOutboundQueues sessionOutboundQueues;
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    public WebSocketConfig(ObjectProvider<ClusterBrokerFanout> clusterFanout,
+                           SessionOutboundQueues sessionOutboundQueues,
+                           StompAuthChannelInterceptor stompAuthChannelInterceptor) {
+        this.clusterFanout = clusterFanout;
+        this.sessionOutboundQueues = sessionOutboundQueues;
+        this.stompAuthChannelInterceptor = stompAuthChannelInterceptor;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable a simple in-memory message broker to send messages to clients
-        // Clients subscribe to topics with "/topic" prefix
-        config.enableSimpleBroker("/topic");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // Relay /topic to an external STOMP broker shared by all nodes
+            config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayClientLogin)
+                    .setClientPasscode(relayClientPasscode)
+                    .setSystemLogin(relaySystemLogin)
+                    .setSystemPasscode(relaySystemPasscode);
+            log.info("WebSocket broker: STOMP relay to {}:{}", relayHost, relayPort);
+        } else {
+            // Enable a simple in-memory message broker to send messages to clients
+            // Clients subscribe to topics with "/topic" prefix
+            config.enableSimpleBroker("/topic");
+            log.info("WebSocket broker: in-memory ({})", brokerMode);
+        }
 
         // Messages from clients with "/app" prefix will be routed to @MessageMapping methods
         config.setApplicationDestinationPrefixes("/app");
@@ -29,7 +100,47 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // Register STOMP endpoint for WebSocket connection
         // Clients connect to ws://localhost:8080/ws
         registry.addEndpoint("/ws")
-                .setAllowedOriginPatterns("*") // Allow all origins for development
+                .setAllowedOriginPatterns(allowedOrigins) // Same origins as the REST API (cors.allowed.origins)
                 .withSockJS(); // Enable SockJS fallback for browsers that don't support WebSocket
     }
+
+    /**
+     * Bound how long a single send may block and how much a session may buffer
+     * inside the transport; track sessions for the outbound queues
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .addDecoratorFactory(sessionOutboundQueues);
+    }
+
+    /**
+     * Authenticate STOMP sessions from the CONNECT frame's JWT and guard
+     * per-user notification topics
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);
+    }
+
+    /**
+     * Route frames for clients through bounded per-session queues
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(sessionOutboundQueues);
+    }
+
+    /**
+     * In cluster mode, tap everything sent to the local broker so it can be
+     * forwarded to the other nodes
+     */
+    @Override
+    public void configureBrokerChannel(ChannelRegistration registration) {
+        ClusterBrokerFanout fanout = clusterFanout.getIfAvailable();
+        if (fanout != null) {
+            registration.interceptors(fanout);
+        }
+    }
 }
@@ -1,15 +1,32 @@
 package com.auction.system.websocket;
 
+import com.auction.system.entity.Auction;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * WebSocket Event Service
  * Broadcasts real-time events to connected clients
+ *
+ * Bid and price updates go through the ConflatingDispatcher, which merges
+ * bursts for the same auction into a single frame. Auction events are also
+ * appended to the AuctionEventLog, which feeds the SSE streams and the
+ * subscribe-time snapshots; topic frames carry the event's sequence number.
+ * In cluster mode each event is also forwarded to the other nodes, which
+ * replay it through the same path.
+ *
+ * Calls made inside a transaction are deferred until it commits, so a bid is
+ * never announced before (or without) being saved, and the bid transaction
+ * never waits on the broker.
  */
 @Service
 @RequiredArgsConstructor
@@ -17,53 +34,96 @@ import java.util.Map;
 public class WebSocketEventService {
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final ConflatingDispatcher conflatingDispatcher;
+    private final AuctionEventLog auctionEventLog;
+    private final ObjectProvider<ClusterBrokerFanout> clusterFanout;
 
     /**
      * Broadcast new bid event to all clients watching an auction
      */
     public void broadcastNewBid(Long auctionId, Map<String, Object> bidData) {
-        String destination = "/topic/auction/" + auctionId;
-        log.info("Broadcasting new bid to {}: {}", destination, bidData);
-        messagingTemplate.convertAndSend(destination, Map.of(
-                "type", "NEW_BID",
-                "data", bidData
-        ));
+        log.debug("Broadcasting new bid to auction {}: {}", auctionId, bidData);
+        afterCommit(() -> publishAuctionEvent(auctionId, "NEW_BID", bidData, true));
     }
 
     /**
      * Broadcast auction update (price, deadline, status change)
      */
     public void broadcastAuctionUpdate(Long auctionId, Map<String, Object> auctionData) {
-        String destination = "/topic/auction/" + auctionId;
-        log.info("Broadcasting auction update to {}", destination);
-        messagingTemplate.convertAndSend(destination, Map.of(
-                "type", "AUCTION_UPDATE",
-                "data", auctionData
-        ));
+        log.debug("Broadcasting auction update to auction {}", auctionId);
+        afterCommit(() -> publishAuctionEvent(auctionId, "AUCTION_UPDATE", auctionData, true));
+    }
+
+    /**
+     * Broadcast an auction's current state after a change that did not come
+     * from a bid (edit, deadline extension, status change)
+     */
+    public void broadcastAuctionState(Auction auction) {
+        broadcastAuctionUpdate(auction.getAuctionId(), auctionState(auction));
+    }
+
+    /**
+     * Details, price, times and status of an auction as carried by AUCTION_UPDATE (nulls left out)
+     */
+    public static Map<String, Object> auctionState(Auction auction) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("itemName", auction.getItemName());
+        state.put("description", auction.getDescription());
+        state.put("imageUrl", auction.getImageUrl());
+        state.put("startingPrice", auction.getStartingPrice());
+        state.put("currentPrice", auction.getCurrentPrice());
+        state.put("startTime", auction.getStartTime());
+        state.put("currentDeadline", auction.getCurrentDeadline());
+        state.put("mandatoryEndTime", auction.getMandatoryEndTime());
+        state.put("status", auction.getStatus() != null ? auction.getStatus().toString() : null);
+        state.values().removeIf(Objects::isNull);
+        return state;
     }
 
     /**
      * Broadcast auction ended event
      */
     public void broadcastAuctionEnded(Long auctionId, Map<String, Object> resultData) {
+        log.debug("Broadcasting auction ended to auction {}", auctionId);
+        afterCommit(() -> publishAuctionEvent(auctionId, "AUCTION_ENDED", resultData, true));
+    }
+
+    /**
+     * Deliver an auction event forwarded by another cluster node to this node's
+     * log, streams and subscribers (without forwarding it again)
+     */
+    public void applyRemoteAuctionEvent(Long auctionId, String type, Map<String, Object> data) {
+        publishAuctionEvent(auctionId, type, data, false);
+    }
+
+    private void publishAuctionEvent(Long auctionId, String type, Map<String, Object> data, boolean local) {
         String destination = "/topic/auction/" + auctionId;
-        log.info("Broadcasting auction ended to {}", destination);
-        messagingTemplate.convertAndSend(destination, Map.of(
-                "type", "AUCTION_ENDED",
-                "data", resultData
-        ));
+        long seq = auctionEventLog.append(auctionId, type, data).seq();
+        if ("AUCTION_ENDED".equals(type)) {
+            conflatingDispatcher.sendNow(destination, type, data, seq);
+        } else {
+            conflatingDispatcher.submit(destination, type, data, seq);
+        }
+
+        if (local) {
+            ClusterBrokerFanout fanout = clusterFanout.getIfAvailable();
+            if (fanout != null) {
+                fanout.publishAuctionEvent(auctionId, type, data);
+            }
+        }
     }
 
     /**
      * Send personal notification to specific user
+     * (only that user may subscribe to the topic, see StompAuthChannelInterceptor)
      */
     public void sendUserNotification(Long userId, Map<String, Object> notification) {
         String destination = "/topic/user/" + userId;
-        log.info("Sending notification to user {}", userId);
-        messagingTemplate.convertAndSend(destination, Map.of(
+        log.debug("Sending notification to user {}", userId);
+        afterCommit(() -> messagingTemplate.convertAndSend(destination, Map.of(
                 "type", "NOTIFICATION",
                 "data", notification
-        ));
+        )));
     }
 
     /**
@@ -76,4 +136,20 @@ public class WebSocketEventService {
                 "message", message
         ));
     }
+
+    /**
+     * Run now, or after the current transaction commits if there is one
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 }
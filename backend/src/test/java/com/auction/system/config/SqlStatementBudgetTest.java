@@ -0,0 +1,178 @@
+package com.auction.system.config;
+
+import com.auction.system.entity.Auction;
+import com.auction.system.entity.Bid;
+import com.auction.system.entity.Notification;
+import com.auction.system.entity.Transaction;
+import com.auction.system.entity.User;
+import com.auction.system.repository.BidRepository;
+import com.auction.system.repository.NotificationRepository;
+import com.auction.system.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Holds the bid, notification and transaction listing queries to the
+ * per-request SQL statement budget (sql.statement.budget).
+ *
+ * Each listing is loaded through its repository and serialized to JSON the
+ * way the endpoint returns it (touching every association, as open-in-view
+ * does in production), against enough rows from distinct users that an N+1
+ * fetch would exceed the budget. Only repositories are wired, so the test
+ * does not depend on the services built on top of them.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(SqlStatementBudget.class)
+class SqlStatementBudgetTest {
+
+    private static final int ROWS = 15;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private BidRepository bidRepository;
+    @Autowired private NotificationRepository notificationRepository;
+    @Autowired private TransactionRepository transactionRepository;
+
+    @Value("${sql.statement.budget:10}")
+    private int budget;
+
+    private Auction auction;
+    private User seller;
+    private User firstBidder;
+
+    @BeforeEach
+    void seed() {
+        seller = entityManager.persist(user("seller"));
+        auction = entityManager.persist(auction(seller, "Budget lamp"));
+
+        List<User> bidders = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            User bidder = entityManager.persist(user("bidder" + i));
+            bidders.add(bidder);
+            entityManager.persist(Bid.builder()
+                    .auction(auction)
+                    .bidder(bidder)
+                    .bidAmount(BigDecimal.valueOf(110 + i))
+                    .status(i == ROWS - 1 ? Bid.BidStatus.WINNING : Bid.BidStatus.OUTBID)
+                    .build());
+        }
+
+        firstBidder = bidders.get(0);
+        for (int i = 0; i < ROWS; i++) {
+            Auction other = entityManager.persist(auction(bidders.get(i), "Item " + i));
+            entityManager.persist(Bid.builder()
+                    .auction(other)
+                    .bidder(firstBidder)
+                    .bidAmount(BigDecimal.valueOf(200 + i))
+                    .status(Bid.BidStatus.WINNING)
+                    .build());
+            entityManager.persist(Notification.builder()
+                    .user(seller)
+                    .auction(other)
+                    .type(Notification.NotificationType.BID_PLACED)
+                    .message("Notification " + i)
+                    .build());
+            entityManager.persist(Transaction.builder()
+                    .buyer(i % 2 == 0 ? seller : bidders.get(i))
+                    .seller(i % 2 == 0 ? bidders.get(i) : seller)
+                    .auction(other)
+                    .amount(BigDecimal.valueOf(300 + i))
+                    .status(Transaction.TransactionStatus.COMPLETED)
+                    .build());
+        }
+
+        // Start every listing from an empty persistence context, as a new request would
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void bidsForAuctionStayWithinBudget() throws Exception {
+        assertWithinBudget("bids for auction",
+                () -> bidRepository.findByAuctionOrderByBidTimeDesc(reference(Auction.class, auction.getAuctionId())));
+    }
+
+    @Test
+    void bidsByUserStayWithinBudget() throws Exception {
+        assertWithinBudget("bids by user",
+                () -> bidRepository.findByBidderOrderByBidTimeDesc(reference(User.class, firstBidder.getUserId())));
+    }
+
+    @Test
+    void userNotificationsStayWithinBudget() throws Exception {
+        assertWithinBudget("user notifications",
+                () -> notificationRepository.findByUserOrderByCreatedAtDesc(reference(User.class, seller.getUserId())));
+    }
+
+    @Test
+    void userTransactionsStayWithinBudget() throws Exception {
+        assertWithinBudget("user transactions", () -> {
+            User user = reference(User.class, seller.getUserId());
+            return transactionRepository.findByBuyerOrSeller(user, user);
+        });
+    }
+
+    @Test
+    void allTransactionsStayWithinBudget() throws Exception {
+        assertWithinBudget("all transactions", transactionRepository::findAllByOrderByTransactionTimeDesc);
+    }
+
+    private void assertWithinBudget(String listing, Supplier<List<?>> query) throws Exception {
+        List<?>[] rows = new List<?>[1];
+        int statements = SqlStatementBudget.measure(() -> {
+            rows[0] = query.get();
+            objectMapper.writeValueAsString(rows[0]);
+        });
+
+        assertThat(rows[0]).as("%s rows", listing).isNotEmpty();
+        assertThat(statements)
+                .as("SQL statements issued loading and serializing %s", listing)
+                .isPositive()
+                .isLessThanOrEqualTo(budget);
+    }
+
+    private <T> T reference(Class<T> type, Long id) {
+        return entityManager.getEntityManager().getReference(type, id);
+    }
+
+    private static User user(String name) {
+        return User.builder()
+                .username(name)
+                .email(name + "@example.com")
+                .passwordHash("x")
+                .balance(BigDecimal.valueOf(10_000))
+                .build();
+    }
+
+    private static Auction auction(User seller, String itemName) {
+        LocalDateTime now = LocalDateTime.now();
+        return Auction.builder()
+                .seller(seller)
+                .itemName(itemName)
+                .startingPrice(BigDecimal.valueOf(100))
+                .currentPrice(BigDecimal.valueOf(100))
+                .startTime(now.minusHours(1))
+                .mandatoryEndTime(now.plusHours(1))
+                .bidGapDuration(Duration.ofMinutes(5))
+                .currentDeadline(now.plusMinutes(5))
+                .status(Auction.AuctionStatus.ACTIVE)
+                .build();
+    }
+}
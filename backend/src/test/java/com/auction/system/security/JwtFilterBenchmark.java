@@ -0,0 +1,194 @@
+package com.auction.system.security;
+
+import com.auction.system.entity.User;
+import com.auction.system.repository.UserRepository;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT Filter Benchmark
+ *
+ * JMH benchmark of the per-request cost of JwtAuthenticationFilter,
+ * in-process and without a database (users come from a stub repository and
+ * stay in UserPrincipalCache). Three variants, each over the same tokens:
+ * - legacy: extractUsername + validateToken + extractRole, i.e. the three
+ *   full parses and HMAC checks the filter used to do per request
+ * - singleParse: the filter with jwt.cache.enabled=false
+ * - cached: the filter with JwtClaimsCache enabled
+ * Requests rotate over [clients] distinct tokens, so the cached run measures
+ * a realistic hit path rather than one hot entry.
+ *
+ * Not a surefire test; run it from the test classpath:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.auction.system.security.JwtFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    // Set by JMH from a generated subclass in another package, so public
+    @Param({"1000"})
+    public int clients;
+
+    private JwtUtil jwtUtil;
+    private String[] tokens;
+    private HttpServletRequest[] requests;
+    private JwtAuthenticationFilter singleParseFilter;
+    private JwtAuthenticationFilter cachedFilter;
+    private final FilterChain chain = (req, res) -> { };
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        set(jwtUtil, "secret", "mySecretKeyForAuctionSystemThatIsAtLeast256BitsLongForHS256Algorithm");
+        set(jwtUtil, "expiration", 3_600_000L);
+        jwtUtil.init();
+
+        tokens = new String[clients];
+        requests = new HttpServletRequest[clients];
+        for (int i = 0; i < clients; i++) {
+            tokens[i] = jwtUtil.generateToken(user(i + 1L));
+            requests[i] = request("Bearer " + tokens[i]);
+        }
+
+        singleParseFilter = filter(jwtUtil, false);
+        cachedFilter = filter(jwtUtil, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * The old filter's token handling: three parses and signature checks
+     */
+    @Benchmark
+    public String legacy() {
+        String token = tokens[nextIndex()];
+        String username = jwtUtil.extractUsername(token);
+        if (!jwtUtil.validateToken(token, username)) {
+            throw new IllegalStateException("Token did not validate");
+        }
+        return jwtUtil.extractRole(token);
+    }
+
+    @Benchmark
+    public Object singleParse() throws Exception {
+        return authenticate(singleParseFilter);
+    }
+
+    @Benchmark
+    public Object cached() throws Exception {
+        return authenticate(cachedFilter);
+    }
+
+    private Object authenticate(JwtAuthenticationFilter filter) throws Exception {
+        filter.doFilterInternal(requests[nextIndex()], null, chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new IllegalStateException("Request was not authenticated");
+        }
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == clients ? 0 : index + 1;
+        return index;
+    }
+
+    private static JwtAuthenticationFilter filter(JwtUtil jwtUtil, boolean cacheEnabled) {
+        JwtClaimsCache claimsCache = new JwtClaimsCache(jwtUtil);
+        set(claimsCache, "enabled", cacheEnabled);
+        set(claimsCache, "maxEntries", 10_000);
+        set(claimsCache, "ttlMillis", 300_000L);
+        claimsCache.init();
+
+        UserPrincipalCache principalCache = new UserPrincipalCache(userRepository());
+        set(principalCache, "ttlMillis", 3_600_000L);
+        set(principalCache, "maxEntries", 10_000);
+
+        return new JwtAuthenticationFilter(claimsCache, principalCache);
+    }
+
+    private static User user(Long userId) {
+        return User.builder()
+                .userId(userId)
+                .username("bench" + userId)
+                .email("bench" + userId + "@example.com")
+                .build();
+    }
+
+    /**
+     * Stub repository answering findById only; every other call fails loudly
+     */
+    private static UserRepository userRepository() {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.of(user((Long) args[0]));
+                    case "toString" -> "BenchmarkUserRepository";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Minimal request: the Authorization header plus what WebAuthenticationDetails reads
+     */
+    private static HttpServletRequest request(String authorization) {
+        return (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getHeader" -> "Authorization".equalsIgnoreCase((String) args[0]) ? authorization : null;
+                    case "getRemoteAddr" -> "127.0.0.1";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    private static void set(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalStateException("No field " + name + " on " + target.getClass().getSimpleName());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
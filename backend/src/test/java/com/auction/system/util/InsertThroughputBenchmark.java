@@ -0,0 +1,160 @@
+package com.auction.system.util;
+
+import com.auction.system.entity.SequenceIds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert Throughput Benchmark
+ *
+ * JMH benchmark comparing the two ID strategies for bid-shaped rows against
+ * a real PostgreSQL database, using temporary tables only:
+ * - identity: one INSERT ... RETURNING round trip per row (what Hibernate
+ *   must do for GenerationType.IDENTITY)
+ * - sequence: one nextval() per ALLOCATION_SIZE rows and one JDBC batch of
+ *   the same size (what Hibernate does for the pooled sequences in SequenceIds)
+ * Each invocation inserts and commits ALLOCATION_SIZE rows; scores are rows/s.
+ *
+ * Needs a reachable database, so it is not a surefire test; run it from the
+ * test classpath (the PostgreSQL driver is on it at runtime scope):
+ *   BENCH_JDBC_URL=jdbc:postgresql://localhost:5432/auctiondb?reWriteBatchedInserts=true \
+ *   BENCH_USER=postgres BENCH_PASSWORD=... \
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.auction.system.util.InsertThroughputBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InsertThroughputBenchmark {
+
+    private static final int BATCH = SequenceIds.ALLOCATION_SIZE;
+
+    private Connection connection;
+    private PreparedStatement identityInsert;
+    private PreparedStatement nextval;
+    private PreparedStatement sequenceInsert;
+    private int row;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                env("BENCH_JDBC_URL", "jdbc:postgresql://localhost:5432/auctiondb?reWriteBatchedInserts=true"),
+                env("BENCH_USER", "postgres"), env("BENCH_PASSWORD", ""));
+        connection.setAutoCommit(false);
+        createTables();
+
+        identityInsert = connection.prepareStatement(
+                "INSERT INTO bench_identity (auction_id, bidder_id, bid_amount, bid_time) " +
+                "VALUES (?, ?, ?, ?) RETURNING id");
+        nextval = connection.prepareStatement("SELECT nextval('bench_seq')");
+        sequenceInsert = connection.prepareStatement(
+                "INSERT INTO bench_sequence (id, auction_id, bidder_id, bid_amount, bid_time) " +
+                "VALUES (?, ?, ?, ?, ?)");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        // Temp tables and sequence go with the session
+        connection.close();
+    }
+
+    /**
+     * Row-at-a-time inserts, each returning its generated key
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long identity() throws SQLException {
+        long lastId = 0;
+        for (int i = 0; i < BATCH; i++) {
+            bind(identityInsert, 1, row++);
+            try (ResultSet key = identityInsert.executeQuery()) {
+                key.next();
+                lastId = key.getLong(1);
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    /**
+     * One pooled allocation (the returned value ends a block of BATCH ids)
+     * and one batched insert
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long sequence() throws SQLException {
+        long blockEnd;
+        try (ResultSet value = nextval.executeQuery()) {
+            value.next();
+            blockEnd = value.getLong(1);
+        }
+        for (long id = blockEnd - BATCH + 1; id <= blockEnd; id++) {
+            sequenceInsert.setLong(1, id);
+            bind(sequenceInsert, 2, row++);
+            sequenceInsert.addBatch();
+        }
+        sequenceInsert.executeBatch();
+        connection.commit();
+        return blockEnd;
+    }
+
+    private void createTables() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMP TABLE bench_identity (" +
+                    "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "auction_id BIGINT NOT NULL, bidder_id BIGINT NOT NULL, " +
+                    "bid_amount NUMERIC(10,2) NOT NULL, bid_time TIMESTAMP NOT NULL)");
+            statement.execute("CREATE TEMP TABLE bench_sequence (" +
+                    "id BIGINT PRIMARY KEY, " +
+                    "auction_id BIGINT NOT NULL, bidder_id BIGINT NOT NULL, " +
+                    "bid_amount NUMERIC(10,2) NOT NULL, bid_time TIMESTAMP NOT NULL)");
+            statement.execute("CREATE TEMP SEQUENCE bench_seq START WITH " + BATCH + " INCREMENT BY " + BATCH);
+        }
+        connection.commit();
+    }
+
+    private static void bind(PreparedStatement insert, int firstIndex, int i) throws SQLException {
+        insert.setLong(firstIndex, 1 + i % 100);
+        insert.setLong(firstIndex + 1, 1 + i % 1000);
+        insert.setBigDecimal(firstIndex + 2, BigDecimal.valueOf(100 + i % 5000, 0));
+        insert.setTimestamp(firstIndex + 3, new Timestamp(System.currentTimeMillis()));
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isEmpty() ? value : defaultValue;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InsertThroughputBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,219 @@
+package com.auction.system.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Multi-node load test for websocket.broker.mode=cluster.
+ *
+ * Starts three nodes in one JVM, each with its own in-memory STOMP broker,
+ * event log and conflating dispatcher (window 0, so every bid is its own
+ * frame), connected through ClusterBrokerFanout over loopback TCP. Bids are
+ * published concurrently on every node; every subscriber on every node must
+ * see every NEW_BID, and every node's event log must hold each bid once.
+ */
+class ClusterBrokerFanoutTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long AUCTION_ID = 1L;
+    private static final int NODES = 3;
+    private static final int SUBSCRIBERS_PER_NODE = 4;
+    private static final int PUBLISHERS_PER_NODE = 2;
+    private static final int BIDS_PER_PUBLISHER = 250;
+
+    private final List<Node> nodes = new ArrayList<>();
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(Node::stop);
+    }
+
+    @Test
+    void everySubscriberOnEveryNodeSeesEveryNewBid() throws Exception {
+        List<Integer> ports = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            ports.add(freePort());
+        }
+        for (int i = 0; i < NODES; i++) {
+            List<Integer> peers = new ArrayList<>(ports);
+            peers.remove(i);
+            nodes.add(new Node(ports.get(i), peers));
+        }
+        await("all nodes connected", () -> nodes.stream()
+                .allMatch(node -> node.fanout.getConnectedPeers() == NODES - 1));
+
+        for (int n = 0; n < NODES; n++) {
+            for (int s = 0; s < SUBSCRIBERS_PER_NODE; s++) {
+                nodes.get(n).subscribe("node" + n + "-session" + s);
+            }
+        }
+
+        Set<Long> expected = ConcurrentHashMap.newKeySet();
+        ExecutorService publishers = Executors.newFixedThreadPool(NODES * PUBLISHERS_PER_NODE);
+        for (int n = 0; n < NODES; n++) {
+            Node node = nodes.get(n);
+            for (int p = 0; p < PUBLISHERS_PER_NODE; p++) {
+                long firstBidId = (n * PUBLISHERS_PER_NODE + p) * 100_000L;
+                publishers.submit(() -> {
+                    for (int i = 0; i < BIDS_PER_PUBLISHER; i++) {
+                        long bidId = firstBidId + i;
+                        expected.add(bidId);
+                        Map<String, Object> bid = new LinkedHashMap<>();
+                        bid.put("bidId", bidId);
+                        bid.put("bidAmount", 100 + i);
+                        bid.put("bidderId", bidId % 50);
+                        node.events.broadcastNewBid(AUCTION_ID, bid);
+                    }
+                });
+            }
+        }
+        publishers.shutdown();
+        assertThat(publishers.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        int total = NODES * PUBLISHERS_PER_NODE * BIDS_PER_PUBLISHER;
+        assertThat(expected).hasSize(total);
+
+        await("every subscriber received every bid", () -> nodes.stream()
+                .flatMap(node -> node.bidsBySession.values().stream())
+                .allMatch(bids -> bids.size() == total));
+
+        for (Node node : nodes) {
+            assertThat(node.bidsBySession).hasSize(SUBSCRIBERS_PER_NODE);
+            node.bidsBySession.forEach((session, bids) ->
+                    assertThat(bids).as("bids seen by %s", session).isEqualTo(expected));
+            assertThat(node.loggedBids).as("bids in the event log").isEqualTo(expected);
+            assertThat(node.loggedBidCount.get()).as("each bid logged once").isEqualTo(total);
+            assertThat(node.fanout.getGapsDetected()).isZero();
+            assertThat(node.fanout.getAuthFailures()).isZero();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void await(String what, BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Timed out waiting until " + what);
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    /**
+     * One backend node: simple broker, event log, dispatcher, event service and fan-out
+     */
+    private static class Node {
+        private final ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+        private final SimpleBrokerMessageHandler broker;
+        private final WebSocketEventService events;
+        private final ClusterBrokerFanout fanout;
+        private final Map<String, Set<Long>> bidsBySession = new ConcurrentHashMap<>();
+        private final Set<Long> loggedBids = ConcurrentHashMap.newKeySet();
+        private final AtomicLong loggedBidCount = new AtomicLong();
+
+        Node(int port, List<Integer> peerPorts) throws IOException {
+            ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+            ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+            broker = new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/topic"));
+            broker.start();
+            clientOutbound.subscribe(this::onClientFrame);
+            SimpMessagingTemplate template = new SimpMessagingTemplate(brokerChannel);
+
+            AuctionEventLog eventLog = new AuctionEventLog(MAPPER);
+            ReflectionTestUtils.setField(eventLog, "ringSize", 64);
+            eventLog.addListener(event -> {
+                if ("NEW_BID".equals(event.type())) {
+                    loggedBids.add(((Number) event.data().get("bidId")).longValue());
+                    loggedBidCount.incrementAndGet();
+                }
+            });
+
+            ConflatingDispatcher dispatcher = new ConflatingDispatcher(template, MAPPER);
+            ReflectionTestUtils.setField(dispatcher, "windowMillis", 0L);
+
+            StaticListableBeanFactory beans = new StaticListableBeanFactory();
+            events = new WebSocketEventService(template, dispatcher, eventLog,
+                    beans.getBeanProvider(ClusterBrokerFanout.class));
+            fanout = new ClusterBrokerFanout(beans.getBeanProvider(SimpMessagingTemplate.class),
+                    beans.getBeanProvider(WebSocketEventService.class), mock(AuctionSnapshotCache.class), MAPPER);
+            beans.addBean("messagingTemplate", template);
+            beans.addBean("webSocketEventService", events);
+            beans.addBean("clusterBrokerFanout", fanout);
+
+            ReflectionTestUtils.setField(fanout, "bindAddress", "127.0.0.1");
+            ReflectionTestUtils.setField(fanout, "port", port);
+            ReflectionTestUtils.setField(fanout, "secret", "cluster-test-secret");
+            ReflectionTestUtils.setField(fanout, "peers", peerPorts.stream()
+                    .map(p -> "127.0.0.1:" + p)
+                    .collect(Collectors.joining(",")));
+            ReflectionTestUtils.setField(fanout, "replayBufferSize", 8192);
+            ReflectionTestUtils.setField(fanout, "reconnectMillis", 100L);
+            brokerChannel.addInterceptor(fanout);
+            fanout.initialize();
+        }
+
+        void subscribe(String sessionId) {
+            bidsBySession.put(sessionId, ConcurrentHashMap.newKeySet());
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+            accessor.setSessionId(sessionId);
+            accessor.setSubscriptionId("sub-0");
+            accessor.setDestination("/topic/auction/" + AUCTION_ID);
+            clientInbound.send(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+        }
+
+        private void onClientFrame(Message<?> message) {
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            Set<Long> bids = bidsBySession.get(sessionId);
+            if (bids == null || !(message.getPayload() instanceof byte[] payload)) {
+                return;
+            }
+            try {
+                JsonNode frame = MAPPER.readTree(payload);
+                if ("NEW_BID".equals(frame.path("type").asText())) {
+                    bids.add(frame.path("data").path("bidId").asLong());
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void stop() {
+            fanout.shutdown();
+            broker.stop();
+        }
+    }
+}
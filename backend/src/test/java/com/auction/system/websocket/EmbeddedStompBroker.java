@@ -0,0 +1,62 @@
+package com.auction.system.websocket;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Embedded STOMP Broker
+ * In-process ActiveMQ Artemis broker for running relay mode without Docker
+ * (websocket.relay.embedded=true).
+ *
+ * One node starts it on websocket.relay.port; every node (including that one)
+ * relays to it with websocket.broker.mode=relay. Non-persistent and without
+ * security, so it is meant for local multi-node testing only - use a real
+ * broker (docker-compose.broker.yml) anywhere else. It lives on the test
+ * classpath and is not packaged; start the hosting node with
+ * mvn spring-boot:test-run.
+ */
+@Component
+@ConditionalOnProperty(name = "websocket.relay.embedded", havingValue = "true")
+@Slf4j
+public class EmbeddedStompBroker {
+
+    @Value("${websocket.relay.host:localhost}")
+    private String host;
+
+    @Value("${websocket.relay.port:61613}")
+    private int port;
+
+    private EmbeddedActiveMQ broker;
+
+    /**
+     * Start the broker before the relay tries to connect
+     */
+    @PostConstruct
+    public void start() throws Exception {
+        Configuration config = new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("stomp", "tcp://" + host + ":" + port
+                        + "?protocols=STOMP;multicastPrefix=/topic/;anycastPrefix=/queue/");
+
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(config);
+        broker.start();
+        log.info("Embedded STOMP broker started on {}:{}", host, port);
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (broker != null) {
+            broker.stop();
+            log.info("Embedded STOMP broker stopped");
+        }
+    }
+}
@@ -236,7 +236,7 @@ function AuctionCard({ auction, onApprove, onCancel }: any) {
       {/* Image */}
       <div className="h-48 bg-gray-200 relative">
         {auction.imageUrl ? (
-          <img src={auction.imageUrl} alt={auction.itemName} className="w-full h-full object-cover" />
+          <img src={auction.thumbnailUrl || auction.imageUrl} alt={auction.itemName} className="w-full h-full object-cover" />
         ) : (
           <div className="w-full h-full flex items-center justify-center">
             <Gavel size={48} className="text-gray-400" />
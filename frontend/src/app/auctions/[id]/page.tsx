@@ -1,8 +1,9 @@
 'use client';
 
-import { useEffect, useState } from 'react';
+import { useEffect, useRef, useState } from 'react';
 import { useParams, useRouter } from 'next/navigation';
 import { auctionAPI, bidAPI, walletAPI } from '@/lib/api';
+import websocketService from '@/lib/websocket';
 import { useAuth } from '@/contexts/AuthContext';
 import Sidebar from '@/components/Sidebar';
 import Header from '@/components/Header';
@@ -38,13 +39,74 @@ interface Bid {
   bidId: number;
   bidAmount: number;
   bidTime: string;
-  status: string;
+  status?: string; // Not carried by snapshots; derived from the bid's position
   bidder: {
     userId: number;
     username: string;
   };
 }
 
+// Auction fields that AUCTION_UPDATE / NEW_BID events may carry
+const EVENT_FIELDS = ['itemName', 'description', 'imageUrl', 'startingPrice', 'currentPrice',
+  'currentDeadline', 'mandatoryEndTime', 'startTime', 'status'] as const;
+
+/**
+ * Auction page state from a compact /app/auction/{id}/snapshot reply
+ */
+const auctionFromSnapshot = (auctionId: number, state: any): Auction => ({
+  auctionId,
+  itemName: state.itemName,
+  description: state.description,
+  imageUrl: state.imageUrl,
+  currentPrice: state.currentPrice,
+  startingPrice: state.startingPrice,
+  status: state.status,
+  currentDeadline: state.currentDeadline,
+  mandatoryEndTime: state.mandatoryEndTime,
+  startTime: state.startTime,
+  bidGapDuration: state.bidGapSeconds,
+  seller: { userId: state.sellerId, username: state.sellerName, email: '' },
+  winner: state.winnerId ? { userId: state.winnerId, username: state.winnerName } : null,
+});
+
+const bidFromEvent = (data: any): Bid => ({
+  bidId: data.bidId,
+  bidAmount: data.bidAmount,
+  bidTime: data.bidTime,
+  bidder: { userId: data.bidderId, username: data.bidderName },
+});
+
+const applyToAuction = (auction: Auction | null, type: string, data: any): Auction | null => {
+  if (!auction) return auction;
+  const next: any = { ...auction };
+  EVENT_FIELDS.forEach((field) => {
+    if (data[field] != null) next[field] = data[field];
+  });
+  if (type === 'NEW_BID' && data.newDeadline) next.currentDeadline = data.newDeadline;
+  if (type === 'AUCTION_ENDED') {
+    next.status = 'ENDED';
+    if (data.finalPrice != null) next.currentPrice = data.finalPrice;
+    if (data.winnerId) next.winner = { userId: data.winnerId, username: data.winnerName };
+  }
+  return next;
+};
+
+const applyToBids = (bids: Bid[], type: string, data: any): Bid[] => {
+  if (type === 'NEW_BID') {
+    // A conflated frame lists every merged bid (oldest first) in data.bids
+    const incoming: any[] = data.bids ?? (data.bidId ? [data] : []);
+    const added = incoming
+      .filter((bid) => !bids.some((b) => b.bidId === bid.bidId))
+      .map(bidFromEvent)
+      .reverse();
+    return added.length > 0 ? [...added, ...bids] : bids;
+  }
+  if (data.retractedBidId) {
+    return bids.filter((b) => b.bidId !== data.retractedBidId);
+  }
+  return bids;
+};
+
 export default function AuctionDetailPage() {
   const params = useParams();
   const router = useRouter();
@@ -59,6 +121,10 @@ export default function AuctionDetailPage() {
 
   const auctionId = params.id as string;
 
+  // Event-log sequence the page is current to, and topic frames held back until the snapshot arrives
+  const seqRef = useRef<number | null>(null);
+  const bufferedRef = useRef<any[] | null>(null);
+
   useEffect(() => {
     // Wait for auth to load before redirecting
     if (authLoading) return;
@@ -67,18 +133,87 @@ export default function AuctionDetailPage() {
       router.push('/login');
       return;
     }
-    fetchAuctionDetails();
-    fetchBids();
 
-    // Poll for updates every 5 seconds
-    const interval = setInterval(() => {
+    // State comes from one socket snapshot plus the auction topic; REST is only
+    // the fallback while the socket is down
+    seqRef.current = null;
+    const subscriptionKey = `auction-${auctionId}`;
+    if (websocketService.isConnected()) {
+      startLiveUpdates();
+    } else {
       fetchAuctionDetails();
       fetchBids();
+      websocketService.connect(startLiveUpdates);
+    }
+
+    const interval = setInterval(() => {
+      if (!websocketService.isConnected()) {
+        fetchAuctionDetails();
+        fetchBids();
+      } else if (!websocketService.isSubscribed(subscriptionKey)) {
+        // Reconnected: subscribe again and catch up from the last seq seen
+        startLiveUpdates();
+      }
     }, 5000);
 
-    return () => clearInterval(interval);
+    return () => {
+      clearInterval(interval);
+      websocketService.unsubscribe(subscriptionKey);
+    };
   }, [auctionId, user, authLoading]);
 
+  const startLiveUpdates = () => {
+    bufferedRef.current = [];
+    websocketService.subscribeToAuctionUpdates(Number(auctionId), handleAuctionFrame);
+    requestSync();
+  };
+
+  /**
+   * Full snapshot on first load, otherwise only the events after the last seq seen
+   */
+  const requestSync = () => {
+    websocketService.requestAuctionSnapshot(Number(auctionId), handleSnapshot, seqRef.current ?? undefined);
+  };
+
+  const handleSnapshot = (reply: any) => {
+    if (reply.error) {
+      setAuction(null);
+      setLoading(false);
+      return;
+    }
+    if (reply.mode === 'SNAPSHOT') {
+      setAuction(auctionFromSnapshot(reply.auctionId, reply.auction));
+      setBids(reply.recentBids.map(bidFromEvent));
+      seqRef.current = reply.seq;
+    } else {
+      reply.events.forEach(applyEvent);
+      seqRef.current = Math.max(seqRef.current ?? 0, reply.seq);
+    }
+
+    const buffered = bufferedRef.current ?? [];
+    bufferedRef.current = null;
+    buffered.forEach(applyEvent);
+    setLoading(false);
+  };
+
+  const handleAuctionFrame = (frame: any) => {
+    if (bufferedRef.current) {
+      bufferedRef.current.push(frame);
+      return;
+    }
+    applyEvent(frame);
+  };
+
+  const applyEvent = (event: any) => {
+    if (event.seq != null && seqRef.current != null) {
+      if (event.seq <= seqRef.current) return; // Already in the snapshot
+      seqRef.current = event.seq;
+    }
+    const data = event.data ?? {};
+    setAuction((prev) => applyToAuction(prev, event.type, data));
+    setBids((prev) => applyToBids(prev, event.type, data));
+  };
+
   const fetchAuctionDetails = async () => {
     try {
       const response = await auctionAPI.getAuctionById(Number(auctionId));
@@ -150,9 +285,13 @@ export default function AuctionDetailPage() {
       setSuccess('Bid placed successfully!');
       setBidAmount('');
 
-      // Refresh auction and bids
-      await fetchAuctionDetails();
-      await fetchBids();
+      // Catch up right away rather than waiting for the topic frame
+      if (websocketService.isConnected()) {
+        requestSync();
+      } else {
+        await fetchAuctionDetails();
+        await fetchBids();
+      }
 
       // Clear success message after 3 seconds
       setTimeout(() => setSuccess(''), 3000);
@@ -176,6 +315,14 @@ export default function AuctionDetailPage() {
     return colors[status] || 'bg-blue-100 text-blue-800';
   };
 
+  // Snapshot bids carry no status: the newest is leading (or won), the rest were outbid
+  const getBidStatus = (bid: Bid, index: number) => {
+    if (bid.status) return bid.status;
+    const ended = auction?.status === 'ENDED';
+    if (index === 0) return ended ? 'WON' : 'WINNING';
+    return ended ? 'LOST' : 'OUTBID';
+  };
+
   const getBidStatusColor = (status: string) => {
     const colors: Record<string, string> = {
       WINNING: 'text-green-600',
@@ -324,8 +471,8 @@ export default function AuctionDetailPage() {
                           <p className="text-xl font-bold text-green-600">
                             ${bid.bidAmount.toLocaleString()}
                           </p>
-                          <p className={`text-xs font-semibold ${getBidStatusColor(bid.status)}`}>
-                            {bid.status}
+                          <p className={`text-xs font-semibold ${getBidStatusColor(getBidStatus(bid, index))}`}>
+                            {getBidStatus(bid, index)}
                           </p>
                         </div>
                       </div>
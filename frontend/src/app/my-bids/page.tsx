@@ -21,6 +21,7 @@ interface Bid {
     itemName: string;
     description: string;
     imageUrl: string;
+    thumbnailUrl?: string;
     currentPrice: number;
     status: string;
     currentDeadline: string;
@@ -200,7 +201,7 @@ export default function MyBidsPage() {
                               <div className="w-32 h-32 bg-gray-200 rounded-lg overflow-hidden flex-shrink-0 cursor-pointer hover:opacity-80">
                                 {bid.auction.imageUrl ? (
                                   <img
-                                    src={bid.auction.imageUrl}
+                                    src={bid.auction.thumbnailUrl || bid.auction.imageUrl}
                                     alt={bid.auction.itemName}
                                     className="w-full h-full object-cover"
                                   />
@@ -277,7 +278,7 @@ export default function MyBidsPage() {
                             <Link href={`/auctions/${bid.auction.auctionId}`}>
                               <div className="w-24 h-24 bg-gray-200 rounded-lg overflow-hidden flex-shrink-0 cursor-pointer hover:opacity-80">
                                 {bid.auction.imageUrl ? (
-                                  <img src={bid.auction.imageUrl} alt={bid.auction.itemName} className="w-full h-full object-cover" />
+                                  <img src={bid.auction.thumbnailUrl || bid.auction.imageUrl} alt={bid.auction.itemName} className="w-full h-full object-cover" />
                                 ) : (
                                   <div className="w-full h-full flex items-center justify-center text-gray-400">
                                     <svg className="w-8 h-8" fill="none" stroke="currentColor" viewBox="0 0 24 24">
@@ -345,7 +346,7 @@ export default function MyBidsPage() {
                               <Link href={`/auctions/${bid.auction.auctionId}`}>
                                 <div className="w-16 h-16 bg-gray-200 rounded overflow-hidden flex-shrink-0 cursor-pointer hover:opacity-80">
                                   {bid.auction.imageUrl ? (
-                                    <img src={bid.auction.imageUrl} alt={bid.auction.itemName} className="w-full h-full object-cover" />
+                                    <img src={bid.auction.thumbnailUrl || bid.auction.imageUrl} alt={bid.auction.itemName} className="w-full h-full object-cover" />
                                   ) : (
                                     <div className="w-full h-full flex items-center justify-center text-gray-400">
                                       <svg className="w-6 h-6" fill="none" stroke="currentColor" viewBox="0 0 24 24">
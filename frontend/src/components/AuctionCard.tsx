@@ -11,6 +11,7 @@ interface AuctionCardProps {
     itemName: string;
     description?: string;
     imageUrl?: string;
+    thumbnailUrl?: string;
     currentPrice: number;
     startingPrice: number;
     status: string;
@@ -64,7 +65,7 @@ export default function AuctionCard({ auction, showActions = true, onBid }: Auct
         <div className="relative h-48 bg-gray-200">
           {auction.imageUrl && !imageError ? (
             <img
-              src={auction.imageUrl}
+              src={auction.thumbnailUrl || auction.imageUrl}
               alt={auction.itemName}
               className="w-full h-full object-cover"
               onError={() => setImageError(true)}
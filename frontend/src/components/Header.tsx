@@ -4,6 +4,7 @@ import React, { useState, useEffect, useRef } from 'react';
 import { useRouter } from 'next/navigation';
 import { useAuth } from '@/contexts/AuthContext';
 import { notificationAPI } from '@/lib/api';
+import websocketService from '@/lib/websocket';
 import { Bell, Search, User, X } from 'lucide-react';
 import { formatDistanceToNow } from 'date-fns';
 
@@ -27,9 +28,18 @@ export default function Header() {
   useEffect(() => {
     if (user) {
       fetchNotifications();
-      // Poll for new notifications every 1 second for real-time updates
-      const interval = setInterval(fetchNotifications, 1000);
-      return () => clearInterval(interval);
+      // New notifications are pushed over WebSocket; the slow poll only covers missed pushes
+      const subscribe = () => websocketService.subscribeToNotifications(user.userId, handleNotificationMessage);
+      if (websocketService.isConnected()) {
+        subscribe();
+      } else {
+        websocketService.connect(subscribe);
+      }
+      const interval = setInterval(fetchNotifications, 60000);
+      return () => {
+        clearInterval(interval);
+        websocketService.unsubscribe(`notifications-${user.userId}`);
+      };
     }
   }, [user]);
 
@@ -48,14 +58,25 @@ export default function Header() {
   const fetchNotifications = async () => {
     if (!user) return;
     try {
-      const response = await notificationAPI.getUserNotifications(user.userId);
-      setNotifications(response.data);
-      setUnreadCount(response.data.filter((n: Notification) => !n.read).length);
+      const response = await notificationAPI.getNotificationPage();
+      setNotifications(response.data.notifications);
+      setUnreadCount(response.data.unreadCount);
     } catch (error) {
       console.error('Error fetching notifications:', error);
     }
   };
 
+  const handleNotificationMessage = (message: any) => {
+    if (message.type !== 'NOTIFICATION') return;
+    const notification = message.data;
+    setNotifications((prev) => [
+      { ...notification, read: false },
+      ...prev.filter((n) => n.notificationId !== notification.notificationId),
+    ]);
+    // Bulk notifications omit the count when the server has it cold
+    setUnreadCount((prev) => notification.unreadCount ?? prev + 1);
+  };
+
   const handleMarkAsRead = async (notificationId: number) => {
     try {
       await notificationAPI.markAsRead(notificationId);
@@ -143,6 +143,10 @@ export const transactionAPI = {
 // Notification API
 export const notificationAPI = {
   getUserNotifications: (userId: number) => api.get(`/notifications/user/${userId}`),
+  getNotificationPage: (before?: number, size: number = 20) =>
+    api.get('/notifications/page', { params: { before, size } }),
+  getUnreadCount: () => api.get('/notifications/unread-count'),
+  markAllAsRead: () => api.put('/notifications/read-all'),
   markAsRead: (notificationId: number) => api.put(`/notifications/${notificationId}/read`),
   deleteNotification: (notificationId: number) => api.delete(`/notifications/${notificationId}`),
   clearAllNotifications: (userId: number) => api.delete(`/notifications/user/${userId}/clear`),
@@ -150,14 +154,12 @@ export const notificationAPI = {
 
 // File Upload API
 export const fileUploadAPI = {
-  uploadAuctionImage: (file: File) => {
-    const formData = new FormData();
-    formData.append('file', file);
-    return api.post('/upload/auction-image', formData, {
+  // Sends the raw file body; the server streams it to disk without multipart buffering
+  uploadAuctionImage: (file: File) =>
+    api.post('/upload/auction-image/stream', file, {
       headers: {
-        'Content-Type': 'multipart/form-data',
+        'Content-Type': file.type || 'application/octet-stream',
       },
-    });
-  },
+    }),
   deleteAuctionImage: (filename: string) => api.delete(`/upload/auction-image/${filename}`),
 };
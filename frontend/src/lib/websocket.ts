@@ -13,11 +13,20 @@ import SockJS from 'sockjs-client';
 
 export type MessageHandler = (message: any) => void;
 
+/**
+ * STOMP headers carrying the logged-in user's JWT (empty when logged out)
+ */
+const authHeaders = (): Record<string, string> => {
+  const token = typeof window !== 'undefined' ? localStorage.getItem('token') : null;
+  return token ? { Authorization: `Bearer ${token}` } : {};
+};
+
 class WebSocketService {
   private client: Client | null = null;
   private connected: boolean = false;
   private subscriptions: Map<string, any> = new Map();
   private messageHandlers: Map<string, MessageHandler[]> = new Map();
+  private pendingConnected: Array<() => void> = [];
 
   /**
    * Connect to the WebSocket server
@@ -27,12 +36,21 @@ class WebSocketService {
       console.log('WebSocket already connected');
       return;
     }
+    if (this.client) {
+      // Another component is already connecting; run this callback when it does
+      if (onConnected) this.pendingConnected.push(onConnected);
+      return;
+    }
 
     const SOCKET_URL = process.env.NEXT_PUBLIC_WS_URL || 'http://localhost:8080/ws';
 
     this.client = new Client({
       webSocketFactory: () => new SockJS(SOCKET_URL),
       reconnectDelay: 5000,
+      // Read the token on every (re)connect so a login or refreshed token is picked up
+      beforeConnect: () => {
+        if (this.client) this.client.connectHeaders = authHeaders();
+      },
       heartbeatIncoming: 4000,
       heartbeatOutgoing: 4000,
       debug: (str) => {
@@ -42,6 +60,9 @@ class WebSocketService {
         console.log('WebSocket Connected');
         this.connected = true;
         if (onConnected) onConnected();
+        const pending = this.pendingConnected;
+        this.pendingConnected = [];
+        pending.forEach((callback) => callback());
       },
       onDisconnect: () => {
         console.log('WebSocket Disconnected');
@@ -58,6 +79,8 @@ class WebSocketService {
       this.client.activate();
     } catch (error) {
       console.error('Failed to connect WebSocket:', error);
+      this.client = null;
+      this.pendingConnected = [];
       if (onError) onError(error);
     }
   }
@@ -68,6 +91,7 @@ class WebSocketService {
   disconnect() {
     if (this.client && this.connected) {
       this.client.deactivate();
+      this.client = null;
       this.connected = false;
       this.subscriptions.clear();
       this.messageHandlers.clear();
@@ -101,6 +125,31 @@ class WebSocketService {
     return subscription;
   }
 
+  /**
+   * Fetch an auction's current state (price, deadline, status, recent bids) over the socket.
+   * Pass the last seq seen to receive only the events after it; the reply has
+   * mode 'DELTA' (events) or 'SNAPSHOT' (full state) and the seq it is current to.
+   */
+  requestAuctionSnapshot(auctionId: number, handler: MessageHandler, since?: number) {
+    if (!this.connected || !this.client) {
+      console.warn('WebSocket not connected. Cannot request auction snapshot.');
+      return null;
+    }
+
+    const headers: Record<string, string> = since !== undefined ? { since: String(since) } : {};
+
+    const subscription = this.client.subscribe(`/app/auction/${auctionId}/snapshot`, (message) => {
+      subscription.unsubscribe();
+      try {
+        handler(JSON.parse(message.body));
+      } catch (error) {
+        console.error('Error parsing auction snapshot:', error);
+      }
+    }, headers);
+
+    return subscription;
+  }
+
   /**
    * Subscribe to bid notifications
    */
@@ -136,8 +185,10 @@ class WebSocketService {
       return null;
     }
 
-    const topic = `/user/${userId}/queue/notifications`;
+    const topic = `/topic/user/${userId}`;
 
+    // The server only allows the topic's own user; the token is sent again here
+    // in case the connection was opened before login
     const subscription = this.client.subscribe(topic, (message) => {
       try {
         const data = JSON.parse(message.body);
@@ -145,7 +196,7 @@ class WebSocketService {
       } catch (error) {
         console.error('Error parsing notification:', error);
       }
-    });
+    }, authHeaders());
 
     this.subscriptions.set(`notifications-${userId}`, subscription);
     console.log(`Subscribed to notifications for user ${userId}`);
@@ -217,6 +268,13 @@ class WebSocketService {
   isConnected(): boolean {
     return this.connected;
   }
+
+  /**
+   * Whether a subscription is live (subscriptions are dropped when the connection is lost)
+   */
+  isSubscribed(subscriptionKey: string): boolean {
+    return this.subscriptions.has(subscriptionKey);
+  }
 }
 
 // Export a singleton instance